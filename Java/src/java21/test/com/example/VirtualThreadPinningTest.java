@@ -0,0 +1,318 @@
+package com.example;
+
+import com.example.models.DeliveryMode;
+import com.example.models.RawJsonPayload;
+import com.example.models.SimulateEventRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import converter.JsonAvroConverter;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingFile;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.generic.GenericData;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.stream.binder.test.OutputDestination;
+import org.springframework.cloud.stream.binder.test.TestChannelBinderConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.messaging.Message;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.util.MimeType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Modifier;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+/**
+ * Runs the request path on virtual threads under JFR: schema lookups through the production
+ * {@code CachedSchemaRegistryClient} against a registry stub served over HTTP, conversions, and sends through
+ * {@code StreamBridge} into the test binder.
+ * <p>
+ * Every {@code jdk.VirtualThreadPinned} event of the request threads, i.e. a virtual thread that blocked while holding
+ * a monitor and so kept its carrier thread, is reported. The test fails on those where our own code holds the
+ * monitor: the innermost frame outside the JDK is ours, or one of our frames is a synchronized method. Pins inside the
+ * libraries we call are only logged, with the stack that reached them.
+ */
+@Slf4j
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "app.schema-registry.cache.refresh-after=PT0.01S",
+        "app.schema-registry.cache.ttl=PT0.02S"
+})
+@ActiveProfiles({"AVRO", "hermetic"})
+@Import(TestChannelBinderConfiguration.class)
+class VirtualThreadPinningTest {
+
+    private static final String PINNED = "jdk.VirtualThreadPinned";
+    private static final String REQUEST_THREAD = "pinning-request-";
+    private static final String TOPIC = "pinning-orders";
+    private static final int SUBJECTS = 8;
+    private static final int REQUESTS = 2_000;
+    private static final Schema ORDER = SchemaBuilder.record("Order").namespace("com.example.pinning").fields()
+            .requiredString("id").optionalLong("amount").endRecord();
+    private static final StubRegistry REGISTRY = new StubRegistry();
+
+    @Autowired
+    private MessageUtils messageUtils;
+
+    @Autowired
+    private OutputDestination output;
+
+    @DynamicPropertySource
+    static void registryUrl(DynamicPropertyRegistry properties) {
+        properties.add("spring.cloud.stream.kafka.binder.producer-properties.schema.registry.url", REGISTRY::url);
+    }
+
+    @AfterAll
+    static void stopRegistry() {
+        REGISTRY.stop();
+    }
+
+    @Test
+    void testRequestPathDoesNotPin() throws Exception {
+        JsonAvroConverter converter = new JsonAvroConverter();
+        ContentTypeDispatcher dispatcher = new ContentTypeDispatcher(List.of("contentType"), dispatchTable());
+        byte[] json = "{\"id\":\"o-1\",\"amount\":42}".getBytes(StandardCharsets.UTF_8);
+
+        List<RecordedEvent> pinned = record(() -> {
+            try (ExecutorService requests = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(REQUEST_THREAD, 0).factory())) {
+                List<Future<?>> calls = new ArrayList<>();
+                for (int i = 0; i < REQUESTS; i++) {
+                    int request = i;
+                    calls.add(requests.submit(() -> {
+                        SimulateEventRequest body = SimulateEventRequest.builder()
+                                .topic(TOPIC)
+                                .avroSource("orders-" + request % SUBJECTS)
+                                .payload(RawJsonPayload.of(json))
+                                .headers(new HashMap<>())
+                                .deliveryMode(DeliveryMode.FIRE_AND_FORGET)
+                                .build();
+                        Message<GenericData.Record> message = messageUtils.constructAvroMessage(body);
+                        messageUtils.sendMessage(TOPIC, null, message, MessageUtils.MIME_AVRO, DeliveryMode.FIRE_AND_FORGET).join();
+                        Schema schema = message.getPayload().getSchema();
+                        converter.convertToJson(converter.convertToAvro(json, schema), schema);
+                        dispatcher.resolve(headers("application/vnd.v" + request % 64 + "+avro"));
+                        return null;
+                    }));
+                }
+                for (Future<?> call : calls) {
+                    call.get();
+                }
+            }
+        });
+
+        int received = 0;
+        while (output.receive(Duration.ofSeconds(1).toMillis(), TOPIC) != null) {
+            received++;
+        }
+        List<RecordedEvent> ours = pinned.stream().filter(VirtualThreadPinningTest::heldByOurCode).collect(Collectors.toList());
+        List<RecordedEvent> libraries = pinned.stream().filter(event -> !heldByOurCode(event)).collect(Collectors.toList());
+        if (!libraries.isEmpty()) {
+            log.warn("{} carrier threads pinned inside libraries on the request path:\n{}", libraries.size(), describe(libraries));
+        }
+        Assertions.assertEquals(REQUESTS, received);
+        Assertions.assertTrue(REGISTRY.requests > SUBJECTS, "the registry client was not exercised");
+        Assertions.assertTrue(ours.isEmpty(), () -> "Carrier threads pinned by our code:\n" + describe(ours));
+    }
+
+    @Test
+    void testReportsBlockingInsideSynchronized() throws Exception {
+        Object monitor = new Object();
+
+        List<RecordedEvent> pinned = record(() -> {
+            Thread thread = Thread.ofVirtual().name(REQUEST_THREAD + "self-check").start(() -> {
+                synchronized (monitor) {
+                    try {
+                        Thread.sleep(10);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            });
+            thread.join();
+        });
+
+        Assertions.assertEquals(1, pinned.size(), () -> describe(pinned));
+        Assertions.assertTrue(heldByOurCode(pinned.get(0)), () -> describe(pinned));
+    }
+
+    /**
+     * @return the pinned events of the request threads; they are matched by thread rather than by frame, as JFR
+     * truncates deep stacks such as the binder's
+     */
+    private static List<RecordedEvent> record(Workload workload) throws Exception {
+        Path file = Files.createTempFile("pinning", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(PINNED).withThreshold(Duration.ZERO).withStackTrace();
+            recording.start();
+            workload.run();
+            recording.stop();
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> PINNED.equals(event.getEventType().getName()))
+                    .filter(VirtualThreadPinningTest::onRequestThread)
+                    .collect(Collectors.toList());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static boolean onRequestThread(RecordedEvent event) {
+        RecordedThread thread = event.getThread();
+        return thread != null && thread.getJavaName() != null && thread.getJavaName().startsWith(REQUEST_THREAD);
+    }
+
+    private static boolean heldByOurCode(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return false;
+        }
+        List<RecordedFrame> frames = event.getStackTrace().getFrames();
+        for (RecordedFrame frame : frames) {
+            String type = frame.getMethod().getType().getName();
+            if (isOurs(type)) {
+                return true;
+            }
+            if (!isJdk(type)) {
+                break;
+            }
+        }
+        return frames.stream().anyMatch(frame -> isOurs(frame.getMethod().getType().getName())
+                && Modifier.isSynchronized(frame.getMethod().getModifiers()));
+    }
+
+    private static boolean isOurs(String type) {
+        return type.startsWith("com.example.") || type.startsWith("converter.");
+    }
+
+    private static boolean isJdk(String type) {
+        return type.startsWith("java.") || type.startsWith("javax.") || type.startsWith("jdk.") || type.startsWith("sun.");
+    }
+
+    private static String describe(List<RecordedEvent> events) {
+        return events.stream()
+                .map(event -> event.getDuration() + " at\n" + (event.getStackTrace() == null ? "    (no stack trace)"
+                        : event.getStackTrace().getFrames().stream()
+                        .map(VirtualThreadPinningTest::frame)
+                        .collect(Collectors.joining("\n"))))
+                .collect(Collectors.joining("\n\n"));
+    }
+
+    private static String frame(RecordedFrame frame) {
+        return "    " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+    private static Map<MimeType, Deserializer<?>> dispatchTable() {
+        Map<MimeType, Deserializer<?>> table = new LinkedHashMap<>();
+        table.put(MimeType.valueOf("application/json"), new StringDeserializer());
+        table.put(MimeType.valueOf("application/*+avro"), new ByteArrayDeserializer());
+        return table;
+    }
+
+    private static RecordHeaders headers(String contentType) {
+        RecordHeaders headers = new RecordHeaders();
+        headers.add("contentType", contentType.getBytes(StandardCharsets.UTF_8));
+        return headers;
+    }
+
+    @FunctionalInterface
+    private interface Workload {
+        void run() throws Exception;
+    }
+
+    /**
+     * Answers the two calls {@code SchemaCache} makes, latest version of {@code orders-<n>} and schema by id, over HTTP
+     * and a few milliseconds late, like a remote registry
+     */
+    private static final class StubRegistry {
+        private final HttpServer server;
+        private final ExecutorService executor = Executors.newFixedThreadPool(4);
+        private final ObjectMapper mapper = new ObjectMapper();
+        private volatile int requests;
+
+        private StubRegistry() {
+            try {
+                server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            server.createContext("/subjects/", this::latestVersion);
+            server.createContext("/schemas/ids/", this::schemaById);
+            server.setExecutor(executor);
+            server.start();
+        }
+
+        private String url() {
+            return "http://localhost:" + server.getAddress().getPort();
+        }
+
+        private void stop() {
+            server.stop(0);
+            executor.shutdownNow();
+        }
+
+        /**
+         * {@code /subjects/orders-<n>/versions/latest}, registered with id {@code n + 1}
+         */
+        private void latestVersion(HttpExchange exchange) throws IOException {
+            String subject = exchange.getRequestURI().getPath().split("/")[2];
+            int id = Integer.parseInt(subject.substring(subject.lastIndexOf('-') + 1)) + 1;
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("subject", subject);
+            body.put("version", 1);
+            body.put("id", id);
+            body.put("schema", ORDER.toString());
+            respond(exchange, body);
+        }
+
+        /**
+         * {@code /schemas/ids/<id>}
+         */
+        private void schemaById(HttpExchange exchange) throws IOException {
+            respond(exchange, Map.of("schema", ORDER.toString()));
+        }
+
+        private void respond(HttpExchange exchange, Object body) throws IOException {
+            requests++;
+            try {
+                Thread.sleep(2);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] json = mapper.writeValueAsBytes(body);
+            exchange.getResponseHeaders().add("Content-Type", "application/vnd.schemaregistry.v1+json");
+            exchange.sendResponseHeaders(200, json.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(json);
+            }
+        }
+    }
+}
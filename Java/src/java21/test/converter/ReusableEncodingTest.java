@@ -0,0 +1,45 @@
+package converter;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+class ReusableEncodingTest {
+
+    @Test
+    void testVirtualThreadsShareThePooledInstances() throws Exception {
+        Callable<ReusableEncoding> convert = () -> {
+            ReusableEncoding encoding = ReusableEncoding.acquire();
+            encoding.buffer().write(1);
+            encoding.release();
+            return encoding;
+        };
+
+        ReusableEncoding first;
+        ReusableEncoding second;
+        try (ExecutorService virtual = Executors.newVirtualThreadPerTaskExecutor()) {
+            first = virtual.submit(convert).get();
+            second = virtual.submit(convert).get();
+        }
+
+        Assertions.assertSame(first, second);
+        Assertions.assertEquals(0, second.buffer().size());
+    }
+
+    @Test
+    void testNestedConversionOnVirtualThreadGetsItsOwnInstance() throws Exception {
+        try (ExecutorService virtual = Executors.newVirtualThreadPerTaskExecutor()) {
+            virtual.submit(() -> {
+                ReusableEncoding outer = ReusableEncoding.acquire();
+                ReusableEncoding inner = ReusableEncoding.acquire();
+                Assertions.assertNotSame(outer, inner);
+                inner.release();
+                outer.release();
+                return null;
+            }).get();
+        }
+    }
+}
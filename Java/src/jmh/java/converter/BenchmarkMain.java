@@ -0,0 +1,31 @@
+package converter;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the regular JMH command line, writing JSON results to {@code -Djmh.result} and adding the
+ * GC profiler ({@code gc.alloc.rate.norm} is the bytes allocated per operation) when {@code -Djmh.gc=true}.
+ */
+public final class BenchmarkMain {
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+        String result = System.getProperty("jmh.result");
+        if (result != null && !result.isEmpty() && !commandLine.getResult().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON).result(result);
+        }
+        if (Boolean.getBoolean("jmh.gc")) {
+            options.addProfiler(GCProfiler.class);
+        }
+        new Runner(options.build()).run();
+    }
+}
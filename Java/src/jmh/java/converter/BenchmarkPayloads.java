@@ -0,0 +1,188 @@
+package converter;
+
+import bench.Collections;
+import bench.Deep;
+import bench.Flat;
+import bench.Logical;
+import bench.Nested;
+import bench.WideUnion;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.avro.specific.SpecificRecordBase;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Representative schemas, from flat to deeply nested, and a JSON payload for each of them. The schemas live in
+ * {@code src/jmh/avro} and are compiled to specific records by the {@code jmh} profile.
+ */
+final class BenchmarkPayloads {
+
+    static final String FLAT = "flat";
+    static final String NESTED = "nested";
+    static final String DEEP = "deep";
+    static final String LOGICAL = "logical";
+    static final String WIDE_UNION = "wideUnion";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private BenchmarkPayloads() {
+    }
+
+    static Class<? extends SpecificRecordBase> recordClass(String name) {
+        switch (name) {
+            case FLAT:
+                return Flat.class;
+            case NESTED:
+                return Nested.class;
+            case DEEP:
+                return Deep.class;
+            case LOGICAL:
+                return Logical.class;
+            case WIDE_UNION:
+                return WideUnion.class;
+            default:
+                throw new IllegalArgumentException("Unknown benchmark schema " + name);
+        }
+    }
+
+    static byte[] json(String name) {
+        switch (name) {
+            case FLAT:
+                return toJson(flat());
+            case NESTED:
+                return toJson(nested(5));
+            case DEEP:
+                return toJson(deep(1, 8));
+            case LOGICAL:
+                return toJson(logical());
+            case WIDE_UNION:
+                return toJson(wideUnion());
+            default:
+                throw new IllegalArgumentException("Unknown benchmark schema " + name);
+        }
+    }
+
+    /**
+     * @param size number of items in every array and map of the {@link Collections} schema
+     */
+    static byte[] collections(int size) {
+        List<Object> values = new ArrayList<>(size);
+        List<Object> names = new ArrayList<>(size);
+        Map<String, Object> counters = new LinkedHashMap<>();
+        List<Object> entries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(i * 31L);
+            names.add("name-" + i);
+            counters.put("counter-" + i, (long) i);
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("key", "key-" + i);
+            entry.put("value", i * 0.25);
+            entries.add(entry);
+        }
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("values", values);
+        json.put("names", names);
+        json.put("counters", counters);
+        json.put("entries", entries);
+        return toJson(json);
+    }
+
+    private static Map<String, Object> flat() {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("id", "4f1c2a9e-8d0b-4a43-9d1e-2f6f0c5b7a11");
+        json.put("active", true);
+        json.put("count", 42);
+        json.put("total", 1_234_567_890_123L);
+        json.put("ratio", 0.75);
+        json.put("score", 98.6);
+        json.put("name", "benchmark");
+        json.put("code", "XK-42");
+        json.put("note", "flat record");
+        json.put("kind", "UPDATED");
+        return json;
+    }
+
+    private static Map<String, Object> nested(int items) {
+        Map<String, Object> address = new LinkedHashMap<>();
+        address.put("street", "1 Main Street");
+        address.put("city", "Springfield");
+        address.put("zip", "12345");
+        address.put("country", "US");
+        Map<String, Object> customer = new LinkedHashMap<>();
+        customer.put("name", "ACME");
+        customer.put("email", "orders@acme.example");
+        customer.put("address", address);
+        List<Object> lines = new ArrayList<>();
+        for (int i = 0; i < items; i++) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("sku", "SKU-" + i);
+            item.put("quantity", i + 1);
+            item.put("price", 9.99 * (i + 1));
+            lines.add(item);
+        }
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        attributes.put("channel", "web");
+        attributes.put("priority", "high");
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("id", "order-1");
+        json.put("customer", customer);
+        json.put("items", lines);
+        json.put("attributes", attributes);
+        return json;
+    }
+
+    private static Map<String, Object> deep(int level, int depth) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("id", "level-" + level);
+        json.put("value", level * 1000L);
+        json.put("label", level % 2 == 0 ? null : "odd");
+        if (level < depth) {
+            json.put("child", deep(level + 1, depth));
+        }
+        return json;
+    }
+
+    private static Map<String, Object> logical() {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("amount", "12345678901234.5678");
+        json.put("fee", "12.5");
+        json.put("tax", "0.0000012345");
+        json.put("createdAt", "2022-05-01T12:30:45.123Z");
+        json.put("updatedAt", "2022-05-01T14:30:45+02:00");
+        json.put("expiresAt", 1_700_000_000_000L);
+        return json;
+    }
+
+    /**
+     * Every field selects a branch further down the ten branch union.
+     */
+    private static Map<String, Object> wideUnion() {
+        Map<String, Object> point = new LinkedHashMap<>();
+        point.put("x", 1.5);
+        point.put("y", -2.5);
+        Map<String, Object> label = new LinkedHashMap<>();
+        label.put("text", "hello");
+        label.put("lang", "en");
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("a", "1");
+        map.put("b", "2");
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("first", "text");
+        json.put("second", point);
+        json.put("third", label);
+        json.put("fourth", map);
+        return json;
+    }
+
+    private static byte[] toJson(Object json) {
+        try {
+            return MAPPER.writeValueAsBytes(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package converter;
+
+import bench.Collections;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Large arrays of primitives and records and large maps, see {@link BenchmarkPayloads#collections(int)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CollectionsBenchmark {
+
+    @Param({"100", "10000"})
+    public int size;
+
+    private JsonAvroConverter converter;
+    private Schema schema;
+    private byte[] json;
+    private byte[] avro;
+
+    @Setup
+    public void setUp() {
+        converter = new JsonAvroConverter();
+        schema = Collections.getClassSchema();
+        json = BenchmarkPayloads.collections(size);
+        avro = converter.convertToAvro(json, schema);
+    }
+
+    @Benchmark
+    public byte[] convertToAvro() {
+        return converter.convertToAvro(json, schema);
+    }
+
+    @Benchmark
+    public GenericData.Record convertToGenericDataRecord() {
+        return converter.convertToGenericDataRecord(json, schema);
+    }
+
+    @Benchmark
+    public Collections convertToSpecificRecord() {
+        return converter.convertToSpecificRecord(json, Collections.class, schema);
+    }
+
+    @Benchmark
+    public byte[] convertToJson() {
+        return converter.convertToJson(avro, schema);
+    }
+}
@@ -0,0 +1,106 @@
+package converter;
+
+import converter.types.AvroTypeConverter;
+import converter.types.RecordConverter;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per record cost of converting a deeply nested record with a cached {@link ConversionPlan} compared to resolving the
+ * converter of every value by scanning the converter list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConversionPlanBenchmark {
+
+    @Param({"2", "8", "16"})
+    public int depth;
+
+    private CompositeJsonToAvroReader reader;
+    private AvroTypeConverter scanningRecordConverter;
+    private Schema schema;
+    private Map<String, Object> json;
+
+    @Setup
+    public void setUp() {
+        reader = new CompositeJsonToAvroReader();
+        // a plain deque path makes the reader fall back to scanning the converters for every value
+        scanningRecordConverter = new RecordConverter(reader, null);
+        schema = nestedSchema(depth);
+        json = nestedJson(depth);
+    }
+
+    @Benchmark
+    public Object planned() {
+        return reader.read(json, schema);
+    }
+
+    @Benchmark
+    public Object scanned() {
+        return scanningRecordConverter.convert(null, schema, json, new ArrayDeque<>(), false);
+    }
+
+    private static Schema nestedSchema(int depth) {
+        Schema schema = null;
+        for (int level = depth; level > 0; level--) {
+            SchemaBuilder.FieldAssembler<Schema> fields = SchemaBuilder.record("Level" + level).namespace("bench").fields()
+                    .requiredString("id")
+                    .requiredLong("count")
+                    .requiredDouble("ratio")
+                    .optionalString("note")
+                    .name("tags").type().array().items().stringType().noDefault()
+                    .name("attributes").type().map().values().intType().noDefault();
+            if (schema != null) {
+                fields = fields.name("child").type(schema).noDefault();
+            }
+            schema = fields.endRecord();
+        }
+        return schema;
+    }
+
+    private static Map<String, Object> nestedJson(int depth) {
+        Map<String, Object> child = null;
+        for (int level = depth; level > 0; level--) {
+            Map<String, Object> record = new HashMap<>();
+            record.put("id", "level-" + level);
+            record.put("count", 42L * level);
+            record.put("ratio", 0.5 * level);
+            record.put("note", level % 2 == 0 ? null : "odd");
+            List<Object> tags = new ArrayList<>();
+            Map<String, Object> attributes = new HashMap<>();
+            for (int i = 0; i < 4; i++) {
+                tags.add("tag-" + i);
+                attributes.put("attr-" + i, i);
+            }
+            record.put("tags", tags);
+            record.put("attributes", attributes);
+            if (child != null) {
+                record.put("child", child);
+            }
+            child = record;
+        }
+        return child;
+    }
+}
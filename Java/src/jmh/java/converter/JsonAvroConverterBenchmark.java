@@ -0,0 +1,130 @@
+package converter;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.io.NoWrappingJsonEncoder;
+import org.apache.avro.specific.SpecificData;
+import org.apache.avro.specific.SpecificRecord;
+import org.apache.avro.specific.SpecificRecordBase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per record cost of the public {@link JsonAvroConverter} entry points over the {@link BenchmarkPayloads} schemas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonAvroConverterBenchmark {
+
+    @Param({BenchmarkPayloads.FLAT, BenchmarkPayloads.NESTED, BenchmarkPayloads.DEEP, BenchmarkPayloads.LOGICAL,
+            BenchmarkPayloads.WIDE_UNION})
+    public String schemaName;
+
+    private JsonAvroConverter converter;
+    private Class<? extends SpecificRecordBase> recordClass;
+    private Schema schema;
+    private byte[] json;
+    private byte[] avro;
+    private ByteBuffer target;
+    private GenericData.Record record;
+    private GenericDatumWriter<Object> jsonDatumWriter;
+    private GrowableByteArrayOutputStream out;
+
+    @Setup
+    public void setUp() {
+        converter = new JsonAvroConverter();
+        recordClass = BenchmarkPayloads.recordClass(schemaName);
+        schema = SpecificData.get().getSchema(recordClass);
+        json = BenchmarkPayloads.json(schemaName);
+        avro = converter.convertToAvro(json, schema);
+        record = converter.convertToGenericDataRecord(json, schema);
+        jsonDatumWriter = new GenericDatumWriter<>(schema);
+        target = ByteBuffer.allocate(64 * 1024);
+        out = new GrowableByteArrayOutputStream(64 * 1024);
+    }
+
+    @Benchmark
+    public byte[] convertToAvro() {
+        return converter.convertToAvro(json, schema);
+    }
+
+    @Benchmark
+    public int convertToAvroByteBuffer() {
+        target.clear();
+        return converter.convertToAvro(json, schema, target);
+    }
+
+    @Benchmark
+    public int convertToJsonOutputStream() {
+        out.reset();
+        converter.convertToJson(avro, schema, out);
+        return out.size();
+    }
+
+    @Benchmark
+    public GenericData.Record convertToGenericDataRecord() {
+        return converter.convertToGenericDataRecord(json, schema);
+    }
+
+    @Benchmark
+    public SpecificRecord convertToSpecificRecord() {
+        return toSpecific(recordClass);
+    }
+
+    /**
+     * the binary round trip {@link #convertToSpecificRecord()} used to take
+     */
+    @Benchmark
+    public SpecificRecord convertToSpecificRecordRoundTrip() {
+        return roundTrip(recordClass);
+    }
+
+    @Benchmark
+    public byte[] convertToJson() {
+        return converter.convertToJson(avro, schema);
+    }
+
+    @Benchmark
+    public byte[] convertRecordToJson() {
+        return converter.convertToJson(record);
+    }
+
+    /**
+     * the {@link NoWrappingJsonEncoder} path {@link #convertRecordToJson()} replaced
+     */
+    @Benchmark
+    public byte[] convertRecordToJsonWithEncoder() throws IOException {
+        ByteArrayOutputStream json = new ByteArrayOutputStream();
+        NoWrappingJsonEncoder encoder = new NoWrappingJsonEncoder(schema, json);
+        jsonDatumWriter.write(record, encoder);
+        encoder.flush();
+        return json.toByteArray();
+    }
+
+    private <T extends SpecificRecordBase & SpecificRecord> T toSpecific(Class<T> type) {
+        return converter.convertToSpecificRecord(json, type, schema);
+    }
+
+    private <T extends SpecificRecordBase & SpecificRecord> T roundTrip(Class<T> type) {
+        return converter.readSpecificRecord(converter.convertToGenericDataRecord(json, schema), type, schema);
+    }
+}
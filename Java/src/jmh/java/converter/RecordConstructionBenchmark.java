@@ -0,0 +1,128 @@
+package converter;
+
+import converter.types.AvroTypeConverterWithStrictJavaTypeCheck;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.generic.GenericRecordBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per record cost of building nested records whose JSON leaves out fields with defaults, writing them by position as
+ * {@code RecordConverter} does compared to the {@link GenericRecordBuilder} it used before.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecordConstructionBenchmark {
+
+    @Param({"2", "8"})
+    public int depth;
+
+    private CompositeJsonToAvroReader reader;
+    private CompositeJsonToAvroReader builderReader;
+    private BuilderRecordConverter builderConverter;
+    private Schema schema;
+    private Map<String, Object> json;
+
+    @Setup
+    public void setUp() {
+        reader = new CompositeJsonToAvroReader();
+        builderConverter = new BuilderRecordConverter();
+        builderReader = new CompositeJsonToAvroReader(builderConverter);
+        builderConverter.jsonToAvroReader = builderReader;
+        schema = nestedSchema(depth);
+        json = nestedJson(depth);
+    }
+
+    @Benchmark
+    public Object positional() {
+        return reader.read(json, schema);
+    }
+
+    @Benchmark
+    public Object builder() {
+        ConversionPlan plan = builderReader.plan(schema);
+        return builderConverter.convert(null, schema, json, new PlannedPath(plan.root()), false);
+    }
+
+    private static Schema nestedSchema(int depth) {
+        Schema schema = null;
+        for (int level = depth; level > 0; level--) {
+            SchemaBuilder.FieldAssembler<Schema> fields = SchemaBuilder.record("Level" + level).namespace("bench").fields()
+                    .requiredString("id")
+                    .requiredLong("count")
+                    .optionalString("note")
+                    .name("status").type().stringType().stringDefault("active")
+                    .name("retries").type().intType().intDefault(3)
+                    .name("tags").type().array().items().stringType().arrayDefault(Collections.emptyList())
+                    .name("attributes").type().map().values().longType().mapDefault(Collections.emptyMap());
+            if (schema != null) {
+                fields = fields.name("child").type(schema).noDefault();
+            }
+            schema = fields.endRecord();
+        }
+        return schema;
+    }
+
+    private static Map<String, Object> nestedJson(int depth) {
+        Map<String, Object> child = null;
+        for (int level = depth; level > 0; level--) {
+            Map<String, Object> record = new LinkedHashMap<>();
+            record.put("id", "level-" + level);
+            record.put("count", 42L * level);
+            if (child != null) {
+                record.put("child", child);
+            }
+            child = record;
+        }
+        return child;
+    }
+
+    /**
+     * Records as they were built before, through {@link GenericRecordBuilder} and {@link Schema#getField}
+     */
+    private static final class BuilderRecordConverter extends AvroTypeConverterWithStrictJavaTypeCheck<Map> {
+        private JsonToAvroReader jsonToAvroReader;
+
+        private BuilderRecordConverter() {
+            super(Map.class);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public Object convertValue(Schema.Field field, Schema schema, Map jsonValue, Deque<String> path, boolean silently) {
+            GenericRecordBuilder record = new GenericRecordBuilder(schema);
+            ((Map<String, Object>) jsonValue).forEach((key, value) -> {
+                Schema.Field subField = schema.getField(key);
+                if (subField != null) {
+                    record.set(subField, jsonToAvroReader.read(subField, subField.schema(), value, path, false));
+                }
+            });
+            return record.build();
+        }
+
+        @Override
+        public boolean canManage(Schema schema, Deque<String> path) {
+            return schema.getType().equals(Schema.Type.RECORD);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package converter;
+
+import org.apache.avro.Schema;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON to Avro binary through the Map and GenericRecord intermediates compared to the streaming encoder, for payloads
+ * carrying a growing array of line items whose fields arrive out of schema order.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StreamingEncoderBenchmark {
+
+    private static final Schema SCHEMA = new Schema.Parser().parse("{"
+            + "\"type\":\"record\",\"name\":\"Invoice\",\"namespace\":\"bench\",\"fields\":["
+            + "{\"name\":\"id\",\"type\":\"string\"},"
+            + "{\"name\":\"customer\",\"type\":[\"null\",\"string\"],\"default\":null},"
+            + "{\"name\":\"lines\",\"type\":{\"type\":\"array\",\"items\":{\"type\":\"record\",\"name\":\"Line\",\"fields\":["
+            + "{\"name\":\"sku\",\"type\":\"string\"},"
+            + "{\"name\":\"quantity\",\"type\":\"int\"},"
+            + "{\"name\":\"price\",\"type\":\"double\"},"
+            + "{\"name\":\"comment\",\"type\":[\"null\",\"string\"],\"default\":null}"
+            + "]}}}]}");
+
+    @Param({"10", "1000", "10000"})
+    public int lines;
+
+    private JsonAvroConverter converter;
+    private byte[] json;
+
+    @Setup
+    public void setUp() {
+        converter = new JsonAvroConverter();
+        StringBuilder builder = new StringBuilder("{\"lines\":[");
+        for (int i = 0; i < lines; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append("{\"price\":").append(i * 1.25)
+                    .append(",\"quantity\":").append(i % 7)
+                    .append(",\"sku\":\"SKU-").append(i).append("\"")
+                    .append(i % 3 == 0 ? ",\"comment\":\"fragile\"" : "")
+                    .append('}');
+        }
+        builder.append("],\"id\":\"invoice-1\",\"customer\":\"ACME\"}");
+        json = builder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] tree() {
+        return converter.convertToAvro(json, SCHEMA);
+    }
+
+    @Benchmark
+    public byte[] streaming() {
+        return converter.convertToAvroStreaming(json, SCHEMA);
+    }
+}
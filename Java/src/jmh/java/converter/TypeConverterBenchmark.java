@@ -0,0 +1,229 @@
+package converter;
+
+import bench.Logical;
+import converter.types.BytesDecimalConverter;
+import converter.types.EnumConverter;
+import converter.types.FixedDecimalConverter;
+import converter.types.LongTimestampMillisConverter;
+import converter.types.TemporalConverter;
+import converter.types.UuidConverter;
+import org.apache.avro.Conversions;
+import org.apache.avro.LogicalTypes;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.data.TimeConversions;
+import org.apache.avro.generic.GenericData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoField;
+import java.util.ArrayDeque;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single value cost of the logical type and enum converters, see {@link UnionBranchBenchmark} for unions. Every
+ * converter is paired with a {@code naive} baseline doing the same conversion through {@link BigDecimal},
+ * {@code java.time}, Avro's own {@link Conversions} or a linear symbol scan.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TypeConverterBenchmark {
+
+    private static final Schema TYPES = new Schema.Parser().parse("{\"type\":\"record\",\"name\":\"Types\",\"namespace\":\"bench\",\"fields\":["
+            + "{\"name\":\"fixedAmount\",\"type\":{\"type\":\"fixed\",\"name\":\"Amount\",\"size\":16,\"logicalType\":\"decimal\",\"precision\":18,\"scale\":4}},"
+            + "{\"name\":\"day\",\"type\":{\"type\":\"int\",\"logicalType\":\"date\"}},"
+            + "{\"name\":\"time\",\"type\":{\"type\":\"int\",\"logicalType\":\"time-millis\"}},"
+            + "{\"name\":\"occurredAt\",\"type\":{\"type\":\"long\",\"logicalType\":\"timestamp-micros\"}},"
+            + "{\"name\":\"localAt\",\"type\":{\"type\":\"long\",\"logicalType\":\"local-timestamp-millis\"}},"
+            + "{\"name\":\"id\",\"type\":{\"type\":\"string\",\"logicalType\":\"uuid\"}}]}");
+    private static final int ENUM_SYMBOLS = 300;
+    private static final Schema ENUM = SchemaBuilder.enumeration("Code").namespace("bench").symbols(symbols(ENUM_SYMBOLS));
+    private static final String DECIMAL = "12345678901234.5678";
+    private static final String WIDE_DECIMAL = "1234567890123456789012345678.0000012345";
+    private static final String DATE = "2022-05-01";
+    private static final String TIME = "12:30:45.123";
+    private static final String TIMESTAMP = "2022-05-01T12:30:45.123456Z";
+    private static final String LOCAL_TIMESTAMP = "2022-05-01T12:30:45.123";
+    private static final String UUID_STRING = "123e4567-e89b-12d3-a456-426614174000";
+
+    private final Conversions.DecimalConversion decimalConversion = new Conversions.DecimalConversion();
+    private final TimeConversions.DateConversion dateConversion = new TimeConversions.DateConversion();
+    private final TimeConversions.TimeMillisConversion timeConversion = new TimeConversions.TimeMillisConversion();
+    private final TimeConversions.TimestampMicrosConversion timestampConversion = new TimeConversions.TimestampMicrosConversion();
+    private final TimeConversions.LocalTimestampMillisConversion localTimestampConversion = new TimeConversions.LocalTimestampMillisConversion();
+
+    private Schema.Field decimalField;
+    private Schema.Field wideDecimalField;
+    private Schema.Field timestampField;
+    private Schema.Field fixedDecimalField;
+    private Schema.Field dateField;
+    private Schema.Field timeField;
+    private Schema.Field timestampMicrosField;
+    private Schema.Field localTimestampField;
+    private Schema.Field uuidField;
+
+    @Setup
+    public void setUp() {
+        decimalField = Logical.getClassSchema().getField("amount");
+        wideDecimalField = Logical.getClassSchema().getField("tax");
+        timestampField = Logical.getClassSchema().getField("createdAt");
+        fixedDecimalField = TYPES.getField("fixedAmount");
+        dateField = TYPES.getField("day");
+        timeField = TYPES.getField("time");
+        timestampMicrosField = TYPES.getField("occurredAt");
+        localTimestampField = TYPES.getField("localAt");
+        uuidField = TYPES.getField("id");
+    }
+
+    @Benchmark
+    public Object bytesDecimal() {
+        return BytesDecimalConverter.INSTANCE.convert(decimalField, decimalField.schema(), DECIMAL,
+                new ArrayDeque<>(), false);
+    }
+
+    @Benchmark
+    public Object timestampMillisString() {
+        return LongTimestampMillisConverter.INSTANCE.convert(timestampField, timestampField.schema(),
+                "2022-05-01T12:30:45.123Z", new ArrayDeque<>(), false);
+    }
+
+    @Benchmark
+    public Object timestampMillisOffset() {
+        return LongTimestampMillisConverter.INSTANCE.convert(timestampField, timestampField.schema(),
+                "2022-05-01T14:30:45.123+02:00", new ArrayDeque<>(), false);
+    }
+
+    @Benchmark
+    public Object timestampMillisFormatter() {
+        // the converter before the ISO-8601 fast path, which also dropped the milliseconds
+        return DateTimeFormatter.ISO_DATE_TIME.parse("2022-05-01T12:30:45.123Z").getLong(ChronoField.INSTANT_SECONDS) * 1000;
+    }
+
+    @Benchmark
+    public Object timestampMillisNumber() {
+        return LongTimestampMillisConverter.INSTANCE.convert(timestampField, timestampField.schema(),
+                1_651_408_245_123L, new ArrayDeque<>(), false);
+    }
+
+    @Benchmark
+    public Object bytesDecimalNaive() {
+        // scale from the schema properties and scaling through BigDecimal, as the converter used to
+        Schema schema = decimalField.schema();
+        int scale = (int) schema.getObjectProp("scale");
+        BigDecimal value = new BigDecimal(DECIMAL);
+        return ByteBuffer.wrap(value.multiply(BigDecimal.TEN.pow(scale - value.scale())).unscaledValue().toByteArray());
+    }
+
+    @Benchmark
+    public Object bytesDecimalWide() {
+        return BytesDecimalConverter.INSTANCE.convert(wideDecimalField, wideDecimalField.schema(), WIDE_DECIMAL,
+                new ArrayDeque<>(), false);
+    }
+
+    @Benchmark
+    public Object fixedDecimal() {
+        return FixedDecimalConverter.INSTANCE.convert(fixedDecimalField, fixedDecimalField.schema(), DECIMAL,
+                new ArrayDeque<>(), false);
+    }
+
+    @Benchmark
+    public Object fixedDecimalNaive() {
+        Schema schema = fixedDecimalField.schema();
+        LogicalTypes.Decimal decimal = (LogicalTypes.Decimal) schema.getLogicalType();
+        return decimalConversion.toFixed(new BigDecimal(DECIMAL).setScale(decimal.getScale()), schema, decimal);
+    }
+
+    @Benchmark
+    public Object date() {
+        return TemporalConverter.DATE.convert(dateField, dateField.schema(), DATE, new ArrayDeque<>(), false);
+    }
+
+    @Benchmark
+    public Object dateNaive() {
+        return dateConversion.toInt(LocalDate.parse(DATE), dateField.schema(), dateField.schema().getLogicalType());
+    }
+
+    @Benchmark
+    public Object timeMillis() {
+        return TemporalConverter.TIME_MILLIS.convert(timeField, timeField.schema(), TIME, new ArrayDeque<>(), false);
+    }
+
+    @Benchmark
+    public Object timeMillisNaive() {
+        return timeConversion.toInt(LocalTime.parse(TIME), timeField.schema(), timeField.schema().getLogicalType());
+    }
+
+    @Benchmark
+    public Object timestampMicros() {
+        return TemporalConverter.TIMESTAMP_MICROS.convert(timestampMicrosField, timestampMicrosField.schema(), TIMESTAMP,
+                new ArrayDeque<>(), false);
+    }
+
+    @Benchmark
+    public Object timestampMicrosNaive() {
+        return timestampConversion.toLong(Instant.from(DateTimeFormatter.ISO_DATE_TIME.parse(TIMESTAMP)),
+                timestampMicrosField.schema(), timestampMicrosField.schema().getLogicalType());
+    }
+
+    @Benchmark
+    public Object localTimestampMillis() {
+        return TemporalConverter.LOCAL_TIMESTAMP_MILLIS.convert(localTimestampField, localTimestampField.schema(),
+                LOCAL_TIMESTAMP, new ArrayDeque<>(), false);
+    }
+
+    @Benchmark
+    public Object localTimestampMillisNaive() {
+        return localTimestampConversion.toLong(LocalDateTime.parse(LOCAL_TIMESTAMP), localTimestampField.schema(),
+                localTimestampField.schema().getLogicalType());
+    }
+
+    @Benchmark
+    public Object uuid() {
+        return UuidConverter.INSTANCE.convert(uuidField, uuidField.schema(), UUID_STRING, new ArrayDeque<>(), false);
+    }
+
+    @Benchmark
+    public Object uuidNaive() {
+        return UUID.fromString(UUID_STRING).toString();
+    }
+
+    @Benchmark
+    public Object enumSymbol() {
+        return EnumConverter.INSTANCE.convert(null, ENUM, "CODE_" + (ENUM_SYMBOLS - 1), new ArrayDeque<>(), false);
+    }
+
+    @Benchmark
+    public Object enumSymbolNaive() {
+        // linear scan and a new symbol per value, as the converter used to
+        String value = "CODE_" + (ENUM_SYMBOLS - 1);
+        return ENUM.getEnumSymbols().contains(value) ? new GenericData.EnumSymbol(ENUM, value) : null;
+    }
+
+    private static String[] symbols(int count) {
+        String[] symbols = new String[count];
+        for (int i = 0; i < count; i++) {
+            symbols[i] = "CODE_" + i;
+        }
+        return symbols;
+    }
+}
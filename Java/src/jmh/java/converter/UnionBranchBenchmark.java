@@ -0,0 +1,95 @@
+package converter;
+
+import bench.WideUnion;
+import converter.types.AvroTypeConverter;
+import converter.types.UnionConverter;
+import org.apache.avro.Schema;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Branch selection in the ten branch unions of {@link WideUnion}: the branches indexed by kind of JSON value compared
+ * to trying every branch in order.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UnionBranchBenchmark {
+
+    /**
+     * JSON value of the union, from the sixth branch ({@code string}) to the last one ({@code map}); {@code label}
+     * is the second of two record branches.
+     */
+    @Param({"null", "string", "point", "label", "array", "map"})
+    public String unionValue;
+
+    private CompositeJsonToAvroReader reader;
+    private AvroTypeConverter trialConverter;
+    private ConversionPlan.Node root;
+    private Schema.Field field;
+    private Object json;
+
+    @Setup
+    public void setUp() {
+        reader = new CompositeJsonToAvroReader();
+        trialConverter = new UnionConverter(reader);
+        root = reader.plan(WideUnion.getClassSchema()).root();
+        field = WideUnion.getClassSchema().getField("first");
+        json = unionValue(unionValue);
+    }
+
+    @Benchmark
+    public Object indexed() {
+        return reader.read(field, field.schema(), json, new PlannedPath(root), false);
+    }
+
+    @Benchmark
+    public Object trial() {
+        // a plain deque has no plan node, so every branch is tried in order
+        return trialConverter.convert(field, field.schema(), json, new ArrayDeque<>(), false);
+    }
+
+    private static Object unionValue(String kind) {
+        Map<String, Object> value = new LinkedHashMap<>();
+        switch (kind) {
+            case "null":
+                return null;
+            case "string":
+                return "text";
+            case "point":
+                value.put("x", 1.5);
+                value.put("y", -2.5);
+                return value;
+            case "label":
+                value.put("text", "hello");
+                value.put("lang", "en");
+                return value;
+            case "array":
+                return Arrays.asList("a", "b", "c");
+            case "map":
+                value.put("a", "1");
+                value.put("b", "2");
+                return value;
+            default:
+                throw new IllegalArgumentException("Unknown union value " + kind);
+        }
+    }
+}
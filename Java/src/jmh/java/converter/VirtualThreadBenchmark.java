@@ -0,0 +1,88 @@
+package converter;
+
+import org.apache.avro.Schema;
+import org.apache.avro.specific.SpecificData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to serve {@code concurrency} simultaneous requests that each convert a record and then block for
+ * {@code blockMillis}, standing in for the producer send, on Tomcat's default pool of 200 platform threads versus one
+ * virtual thread per request.
+ * <p>
+ * The {@code virtual} executor needs a Java 21 runtime, build with {@code -P jmh,java21}. With {@code -Djmh.gc=true}
+ * {@code gc.alloc.rate.norm} includes the heap allocated for the virtual thread stacks; the platform threads' stacks
+ * are reserved outside the heap and do not show up there.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class VirtualThreadBenchmark {
+    private static final int PLATFORM_THREADS = 200;
+
+    @Param({"platform", "virtual"})
+    public String executor;
+
+    @Param({"1000", "10000"})
+    public int concurrency;
+
+    @Param({"5"})
+    public int blockMillis;
+
+    private ExecutorService requests;
+    private JsonAvroConverter converter;
+    private Schema schema;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        requests = "virtual".equals(executor)
+                ? (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null)
+                : Executors.newFixedThreadPool(PLATFORM_THREADS);
+        converter = new JsonAvroConverter();
+        schema = SpecificData.get().getSchema(BenchmarkPayloads.recordClass(BenchmarkPayloads.NESTED));
+        json = BenchmarkPayloads.json(BenchmarkPayloads.NESTED);
+    }
+
+    @TearDown
+    public void tearDown() {
+        requests.shutdownNow();
+    }
+
+    @Benchmark
+    public long serveRequests() throws Exception {
+        List<Future<Integer>> responses = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            responses.add(requests.submit(() -> {
+                byte[] avro = converter.convertToAvro(json, schema);
+                Thread.sleep(blockMillis);
+                return avro.length;
+            }));
+        }
+        long bytes = 0;
+        for (Future<Integer> response : responses) {
+            bytes += response.get();
+        }
+        return bytes;
+    }
+}
@@ -3,36 +3,67 @@ package com.example;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.confluent.kafka.serializers.KafkaAvroDeserializer;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.kafka.common.errors.UnsupportedForMessageFormatException;
-import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.config.ConfigException;
 import org.apache.kafka.common.header.Headers;
 import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.utils.Utils;
 import org.springframework.http.MediaType;
 import org.springframework.kafka.support.serializer.DeserializationException;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 import org.springframework.util.MimeType;
+import org.springframework.util.StringUtils;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @Slf4j
 public class AvroJsonDeserializer implements Deserializer<Object> {
 
+    /**
+     * Header keys that may hold the content type, comma separated, in order of preference
+     */
+    public static final String CONTENT_TYPE_HEADERS_CONFIG = "avro.json.content.type.headers";
+
+    /**
+     * Dispatch table as comma separated {@code <mime type>=<deserializer>} entries, checked in order. The deserializer
+     * is {@code json}, {@code avro} or the class name of a {@link Deserializer}, which is configured with the same
+     * configs as this one.
+     */
+    public static final String CONTENT_TYPE_DESERIALIZERS_CONFIG = "avro.json.content.type.deserializers";
+
+    /**
+     * Top level fields the consumer reads, comma separated. When set, AVRO payloads come back as a
+     * {@link LazyAvroRecord} and JSON payloads as a {@link LazyJsonObject}, both limited to these fields and decoded
+     * as they are read.
+     */
+    public static final String PROJECTION_CONFIG = "avro.json.projection";
+
     /**
      * List of potential values for the header key specifying the MediaType of the content
      */
     private static final List<String> CONTENT_TYPE_HEADER_VALUES = List.of("contentType", "content-type","Content-Type");
 
     private static final MimeType APPLICATION_AVRO = MimeType.valueOf("application/*+avro");
+    private static final String JSON = "json";
+    private static final String AVRO = "avro";
     private final KafkaAvroDeserializer kafkaAvroDeserializer;
     private final JsonDeserializer<Object> jsonDeserializer;
+    private final List<Deserializer<?>> configuredDeserializers = new ArrayList<>();
+    private Deserializer<Object> lazyJsonDeserializer;
+    private ContentTypeDispatcher dispatcher;
     /**
      * Default constructor initializes the {@link KafkaAvroDeserializer} instance which is then configured
      * on call to configure method
      */
     public AvroJsonDeserializer() {
-        kafkaAvroDeserializer = new KafkaAvroDeserializer();
+        kafkaAvroDeserializer = new LazyAvroDeserializer();
         jsonDeserializer = new JsonDeserializer<>(new ObjectMapper());
+        dispatcher = new ContentTypeDispatcher(CONTENT_TYPE_HEADER_VALUES, defaultDispatchTable());
     }
 
     /**
@@ -46,20 +77,11 @@ public class AvroJsonDeserializer implements Deserializer<Object> {
      */
     @Override
     public Object deserialize(String topic, Headers headers, byte[] data) {
-        MimeType contentType = this.extractContentTypeHeader(headers);
-        if(MediaType.APPLICATION_JSON.isCompatibleWith(contentType)) {
-            log.debug("JSON DESERIALIZER TRIGGERED");
-            return jsonDeserializer.deserialize(topic, headers, data);
-//            try {
-//                return new ObjectMapper().readValue(data, Object.class);
-//            } catch (IOException e) {
-//                throw new DeserializationException("Failed to parse message as JSON", data, false, e);
-//            }
-        } else if (APPLICATION_AVRO.isCompatibleWith(contentType)) {
-            log.debug("AVRO DESERIALIZER TRIGGERED");
-            return kafkaAvroDeserializer.deserialize(topic, data);
+        Deserializer<?> deserializer = dispatcher.resolve(headers);
+        if (log.isDebugEnabled()) {
+            log.debug("{} DESERIALIZER TRIGGERED", deserializer.getClass().getSimpleName());
         }
-        throw new UnsupportedForMessageFormatException("Content type not supported: " + contentType);
+        return deserializer.deserialize(topic, headers, data);
     }
 
     /**
@@ -70,6 +92,7 @@ public class AvroJsonDeserializer implements Deserializer<Object> {
         Deserializer.super.close();
         kafkaAvroDeserializer.close();
         jsonDeserializer.close();
+        configuredDeserializers.forEach(Deserializer::close);
     }
 
     /**
@@ -82,6 +105,12 @@ public class AvroJsonDeserializer implements Deserializer<Object> {
         kafkaAvroDeserializer.configure(configs, isKey);
         Map<String, ?> mappy = Map.of("spring.json.trusted.packages", "*");
         jsonDeserializer.configure(mappy, isKey);
+        List<String> projection = listConfig(configs, PROJECTION_CONFIG);
+        if (!projection.isEmpty()) {
+            Set<String> fields = new HashSet<>(projection);
+            lazyJsonDeserializer = (topic, data) -> data == null ? null : new LazyJsonObject(data, fields);
+        }
+        dispatcher = new ContentTypeDispatcher(headerNames(configs), dispatchTable(configs, isKey));
     }
 
     /**
@@ -98,21 +127,79 @@ public class AvroJsonDeserializer implements Deserializer<Object> {
         return null;
     }
 
+    private Map<MimeType, Deserializer<?>> defaultDispatchTable() {
+        Map<MimeType, Deserializer<?>> table = new LinkedHashMap<>();
+        table.put(MediaType.APPLICATION_JSON, json());
+        table.put(APPLICATION_AVRO, kafkaAvroDeserializer);
+        return table;
+    }
+
+    private Deserializer<?> json() {
+        return lazyJsonDeserializer != null ? lazyJsonDeserializer : jsonDeserializer;
+    }
+
+    private static List<String> headerNames(Map<String, ?> configs) {
+        List<String> headerNames = listConfig(configs, CONTENT_TYPE_HEADERS_CONFIG);
+        return headerNames.isEmpty() ? CONTENT_TYPE_HEADER_VALUES : headerNames;
+    }
+
     /**
-     * Helper method to extract and parse the content type header
-     * @param headers headers associated with the record; may be empty.
-     * @return content type header converted to MimeType
-     * @throws MissingEventHeaderException if content type header not found
+     * Helper method to build the dispatch table from {@link #CONTENT_TYPE_DESERIALIZERS_CONFIG}
+     * @param configs configs in key/value pairs
+     * @param isKey whether is for key or value
+     * @return content type patterns and their deserializer, JSON then AVRO when not configured
+     * @throws ConfigException if an entry is malformed or its deserializer cannot be created
      */
-    private MimeType extractContentTypeHeader(Headers headers) {
-        Header contentType;
-        for(String headerValue: CONTENT_TYPE_HEADER_VALUES) {
-            contentType = headers.lastHeader(headerValue);
-            if (contentType != null) {
-                return MimeType.valueOf(new String(contentType.value()).replace("\"", ""));
+    private Map<MimeType, Deserializer<?>> dispatchTable(Map<String, ?> configs, boolean isKey) {
+        List<String> entries = listConfig(configs, CONTENT_TYPE_DESERIALIZERS_CONFIG);
+        if (entries.isEmpty()) {
+            return defaultDispatchTable();
+        }
+        Map<MimeType, Deserializer<?>> table = new LinkedHashMap<>();
+        for (String entry : entries) {
+            int separator = entry.lastIndexOf('=');
+            if (separator < 1) {
+                throw new ConfigException(CONTENT_TYPE_DESERIALIZERS_CONFIG, entry, "Expected <mime type>=<deserializer>");
+            }
+            MimeType mimeType;
+            try {
+                mimeType = MimeType.valueOf(entry.substring(0, separator).trim());
+            } catch (IllegalArgumentException e) {
+                throw new ConfigException(CONTENT_TYPE_DESERIALIZERS_CONFIG, entry, e.getMessage());
             }
+            table.put(mimeType, deserializer(entry.substring(separator + 1).trim(), configs, isKey));
+        }
+        return table;
+    }
+
+    private Deserializer<?> deserializer(String name, Map<String, ?> configs, boolean isKey) {
+        if (JSON.equals(name)) {
+            return json();
+        }
+        if (AVRO.equals(name)) {
+            return kafkaAvroDeserializer;
+        }
+        try {
+            Deserializer<?> deserializer = Utils.newInstance(name, Deserializer.class);
+            deserializer.configure(configs, isKey);
+            configuredDeserializers.add(deserializer);
+            return deserializer;
+        } catch (ClassNotFoundException e) {
+            throw new ConfigException(CONTENT_TYPE_DESERIALIZERS_CONFIG, name, "Deserializer class not found");
+        }
+    }
+
+    static List<String> listConfig(Map<String, ?> configs, String name) {
+        Object value = configs.get(name);
+        if (value instanceof List) {
+            List<String> values = new ArrayList<>();
+            ((List<?>) value).forEach(item -> values.add(item.toString().trim()));
+            return values;
+        }
+        if (value instanceof String) {
+            return Arrays.asList(StringUtils.tokenizeToStringArray((String) value, ","));
         }
-        throw new MissingEventHeaderException("Content Type header missing");
+        return List.of();
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,176 @@
+package com.example;
+
+import com.example.models.BatchPublishResult;
+import com.example.models.DeliveryMode;
+import com.example.models.PublishResult;
+import com.example.models.SimulateEventRequest;
+import com.example.models.ValidatorGroups;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.Schema;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.stereotype.Service;
+import org.springframework.util.MimeType;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+
+import static com.example.MessageUtils.MIME_AVRO;
+import static com.example.MessageUtils.MIME_JSON;
+
+/**
+ * Publishes a newline delimited stream of {@link SimulateEventRequest}s.
+ * <p>
+ * Records are read one line at a time and handed to the producer as soon as they are converted, without waiting for
+ * the broker to acknowledge the previous ones; records sent with {@link DeliveryMode#WAIT_FOR_ACK} are reported once
+ * all of them were acknowledged. A failing record does not stop the batch; its reason is reported in
+ * the {@link BatchPublishResult}. Schemas are looked up once per {@code avroSource} per batch.
+ */
+@Slf4j
+@Service
+public class BatchPublisher {
+
+    public enum Format {
+        AVRO,
+        JSON
+    }
+
+    private final MessageUtils messageUtils;
+    private final ObjectReader requestReader;
+    private final Validator validator;
+
+    public BatchPublisher(MessageUtils messageUtils, ObjectMapper objectMapper, Validator validator) {
+        this.messageUtils = messageUtils;
+        this.requestReader = objectMapper.readerFor(SimulateEventRequest.class);
+        this.validator = validator;
+    }
+
+    /**
+     * @param body newline delimited JSON, one {@link SimulateEventRequest} per line; blank lines are skipped
+     * @param format how the payloads are published
+     * @param binder binder to publish with, null for the default binder
+     * @return status of every record of the batch, completed once every {@link DeliveryMode#WAIT_FOR_ACK} record
+     * was acknowledged or failed
+     * @throws IOException if the body can not be read
+     */
+    public CompletableFuture<BatchPublishResult> publish(InputStream body, Format format, @Nullable String binder) throws IOException {
+        Class<?> group = format == Format.AVRO ? ValidatorGroups.AvroValidator.class : ValidatorGroups.JsonValidator.class;
+        Map<String, Object> schemas = new HashMap<>();
+        List<Integer> lines = new ArrayList<>();
+        List<CompletableFuture<PublishResult>> sends = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                lines.add(lineNumber);
+                sends.add(publishLine(line, format, binder, group, schemas));
+            }
+        }
+        return CompletableFuture.allOf(sends.toArray(new CompletableFuture[0]))
+                .handle((ignored, e) -> collect(lines, sends));
+    }
+
+    private static BatchPublishResult collect(List<Integer> lines, List<CompletableFuture<PublishResult>> sends) {
+        List<BatchPublishResult.RecordResult> results = new ArrayList<>(sends.size());
+        int accepted = 0;
+        for (int i = 0; i < sends.size(); i++) {
+            BatchPublishResult.RecordResult.RecordResultBuilder result = BatchPublishResult.RecordResult.builder()
+                    .line(lines.get(i));
+            try {
+                result.status(BatchPublishResult.Status.ACCEPTED).ack(sends.get(i).join());
+                accepted++;
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                result.status(BatchPublishResult.Status.FAILED)
+                        .error(cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName());
+            }
+            results.add(result.build());
+        }
+        return BatchPublishResult.builder()
+                .accepted(accepted)
+                .failed(results.size() - accepted)
+                .results(results)
+                .build();
+    }
+
+    /**
+     * @return a future completed once the record was handed to the producer or, for {@link DeliveryMode#WAIT_FOR_ACK},
+     * acknowledged by the broker; completed exceptionally with the failure reason otherwise
+     */
+    private CompletableFuture<PublishResult> publishLine(String line, Format format, @Nullable String binder, Class<?> group, Map<String, Object> schemas) {
+        SimulateEventRequest request;
+        try {
+            request = requestReader.readValue(line);
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Invalid JSON: " + e.getOriginalMessage()));
+        }
+        Set<ConstraintViolation<SimulateEventRequest>> violations = validator.validate(request, group);
+        if (!violations.isEmpty()) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException(
+                    violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; "))));
+        }
+        try {
+            Message<?> message;
+            MimeType mimeType;
+            if (format == Format.AVRO) {
+                message = messageUtils.constructAvroMessage(request, schemaFor(request.getAvroSource(), schemas));
+                mimeType = MIME_AVRO;
+            } else {
+                byte[] payload = request.getPayload() == null ? new byte[0] : request.getPayload().toBytes();
+                message = messageUtils.createMessage(payload, request.getHeaders(), MIME_JSON);
+                mimeType = MIME_JSON;
+            }
+            if (request.getDeliveryMode() == DeliveryMode.WAIT_FOR_ACK) {
+                return messageUtils.sendMessageAsync(request.getTopic(), binder, message, mimeType);
+            }
+            HttpStatus status = messageUtils.sendMessage(request.getTopic(), binder, message, mimeType);
+            if (!status.is2xxSuccessful()) {
+                return CompletableFuture.failedFuture(new MessageDeliveryException(message, "Send failed: " + status.getReasonPhrase()));
+            }
+            return CompletableFuture.completedFuture(null);
+        } catch (RuntimeException e) {
+            log.debug("Failed to publish batch record", e);
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Resolves every subject once per batch; a failed lookup fails the remaining records of that subject without
+     * asking the registry again.
+     */
+    private Schema schemaFor(String subject, Map<String, Object> schemas) {
+        Object schema = schemas.computeIfAbsent(subject, s -> {
+            try {
+                return messageUtils.getSchemaForType(s);
+            } catch (RuntimeException e) {
+                return e;
+            }
+        });
+        if (schema instanceof RuntimeException) {
+            throw (RuntimeException) schema;
+        }
+        return (Schema) schema;
+    }
+}
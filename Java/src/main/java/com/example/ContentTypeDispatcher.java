@@ -0,0 +1,103 @@
+package com.example;
+
+import org.apache.kafka.common.errors.UnsupportedForMessageFormatException;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.util.MimeType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Picks the deserializer of a record from its content type header.
+ * <p>
+ * Header values are compared as raw bytes with the values resolved before, so the common case neither decodes nor
+ * parses anything. A new value is parsed as a {@link MimeType} and checked against the dispatch table in order; the
+ * choice is remembered for up to {@link #MAX_CACHED_VALUES} distinct values.
+ */
+public class ContentTypeDispatcher {
+    static final int MAX_CACHED_VALUES = 32;
+
+    private final String[] headerNames;
+    private final Map<MimeType, Deserializer<?>> dispatchTable;
+    private volatile Resolved[] resolved = new Resolved[0];
+
+    /**
+     * @param headerNames   header keys that may hold the content type, in order of preference
+     * @param dispatchTable content type patterns and their deserializer, checked in iteration order
+     */
+    public ContentTypeDispatcher(List<String> headerNames, Map<MimeType, Deserializer<?>> dispatchTable) {
+        this.headerNames = headerNames.toArray(new String[0]);
+        this.dispatchTable = new LinkedHashMap<>(dispatchTable);
+    }
+
+    /**
+     * @param headers headers of the record
+     * @return the deserializer for the record's content type
+     * @throws MissingEventHeaderException if none of the header keys is present
+     * @throws UnsupportedForMessageFormatException if no entry of the dispatch table matches the content type
+     */
+    public Deserializer<?> resolve(Headers headers) {
+        byte[] contentType = contentType(headers);
+        for (Resolved entry : resolved) {
+            if (Arrays.equals(entry.contentType, contentType)) {
+                return entry.deserializer;
+            }
+        }
+        return resolveAndCache(contentType);
+    }
+
+    private byte[] contentType(Headers headers) {
+        for (String headerName : headerNames) {
+            Header header = headers.lastHeader(headerName);
+            if (header != null && header.value() != null) {
+                return header.value();
+            }
+        }
+        throw new MissingEventHeaderException("Content Type header missing");
+    }
+
+    private Deserializer<?> resolveAndCache(byte[] contentType) {
+        // header values may be JSON encoded strings, quotes included
+        MimeType mimeType = MimeType.valueOf(new String(contentType, StandardCharsets.UTF_8).replace("\"", ""));
+        for (Map.Entry<MimeType, Deserializer<?>> entry : dispatchTable.entrySet()) {
+            if (entry.getKey().isCompatibleWith(mimeType)) {
+                cache(contentType, entry.getValue());
+                return entry.getValue();
+            }
+        }
+        throw new UnsupportedForMessageFormatException("Content type not supported: " + mimeType);
+    }
+
+    private synchronized void cache(byte[] contentType, Deserializer<?> deserializer) {
+        Resolved[] current = resolved;
+        for (Resolved entry : current) {
+            if (Arrays.equals(entry.contentType, contentType)) {
+                return;
+            }
+        }
+        if (current.length < MAX_CACHED_VALUES) {
+            Resolved[] next = Arrays.copyOf(current, current.length + 1);
+            next[current.length] = new Resolved(contentType.clone(), deserializer);
+            resolved = next;
+        }
+    }
+
+    int cachedValues() {
+        return resolved.length;
+    }
+
+    private static final class Resolved {
+        private final byte[] contentType;
+        private final Deserializer<?> deserializer;
+
+        private Resolved(byte[] contentType, Deserializer<?> deserializer) {
+            this.contentType = contentType;
+            this.deserializer = deserializer;
+        }
+    }
+}
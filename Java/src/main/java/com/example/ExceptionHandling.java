@@ -4,6 +4,7 @@ import lombok.Builder;
 import lombok.Data;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -19,8 +20,10 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeoutException;
 
 @ControllerAdvice
+@Profile("!REACTIVE")
 public class ExceptionHandling extends ResponseEntityExceptionHandler {
 
     private static final Logger LOG = LoggerFactory.getLogger(ExceptionHandling.class);
@@ -35,6 +38,15 @@ public class ExceptionHandling extends ResponseEntityExceptionHandler {
         return ResponseEntity.badRequest().body(ret);
     }
 
+    @ExceptionHandler(TimeoutException.class)
+    protected ResponseEntity<Object> handleAckTimeout(TimeoutException ex, WebRequest request) {
+        Map<String, Object> ret = new HashMap<>();
+        ret.put("code", HttpStatus.GATEWAY_TIMEOUT.getReasonPhrase());
+        ret.put("path", request.getDescription(false));
+        ret.put("message", "Broker did not acknowledge the message in time");
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(ret);
+    }
+
     @Override
     @NonNull
     protected ResponseEntity<Object> handleMethodArgumentNotValid(MethodArgumentNotValidException ex,
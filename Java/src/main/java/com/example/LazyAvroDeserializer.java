@@ -0,0 +1,61 @@
+package com.example;
+
+import converter.SchemaKeyedCache;
+import io.confluent.kafka.schemaregistry.avro.AvroSchema;
+import io.confluent.kafka.schemaregistry.client.rest.exceptions.RestClientException;
+import io.confluent.kafka.serializers.KafkaAvroDeserializer;
+import org.apache.avro.Schema;
+import org.apache.kafka.common.errors.SerializationException;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@link KafkaAvroDeserializer} that, once {@link AvroJsonDeserializer#PROJECTION_CONFIG} is set, returns a
+ * {@link LazyAvroRecord} limited to the projected fields instead of decoding the whole record. Without a projection,
+ * or for writer schemas that are not records, it behaves exactly like {@link KafkaAvroDeserializer}.
+ */
+public class LazyAvroDeserializer extends KafkaAvroDeserializer {
+    private static final int HEADER_SIZE = 1 + 4;
+
+    private final SchemaKeyedCache<LazyAvroRecord.Layout> layouts = new SchemaKeyedCache<>(256);
+    private Set<String> projection;
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        super.configure(configs, isKey);
+        List<String> fields = AvroJsonDeserializer.listConfig(configs, AvroJsonDeserializer.PROJECTION_CONFIG);
+        projection = fields.isEmpty() ? null : new HashSet<>(fields);
+    }
+
+    @Override
+    public Object deserialize(String topic, byte[] bytes) {
+        if (projection == null || bytes == null) {
+            return super.deserialize(topic, bytes);
+        }
+        if (bytes.length < HEADER_SIZE || bytes[0] != MAGIC_BYTE) {
+            throw new SerializationException("Unknown magic byte!");
+        }
+        Schema writerSchema = writerSchema(schemaId(bytes));
+        if (writerSchema.getType() != Schema.Type.RECORD) {
+            return super.deserialize(topic, bytes);
+        }
+        return new LazyAvroRecord(layouts.get(writerSchema, s -> LazyAvroRecord.Layout.of(s, projection)), bytes, HEADER_SIZE);
+    }
+
+    private static int schemaId(byte[] bytes) {
+        return (bytes[1] & 0xff) << 24 | (bytes[2] & 0xff) << 16 | (bytes[3] & 0xff) << 8 | bytes[4] & 0xff;
+    }
+
+    private Schema writerSchema(int id) {
+        try {
+            // the registry client keeps schemas by id, only the first record of a schema goes remote
+            return ((AvroSchema) schemaRegistry.getSchemaById(id)).rawSchema();
+        } catch (IOException | RestClientException e) {
+            throw new SerializationException("Error retrieving Avro schema for id " + id, e);
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package com.example;
+
+import converter.SchemaKeyedCache;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.kafka.common.errors.SerializationException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * {@link GenericRecord} over Avro binary data that decodes a field the first time it is read.
+ * <p>
+ * The first access walks the encoded fields up to the last one of the record's schema, skipping the bytes of
+ * everything else, and remembers where each field starts. Nested records are again lazy, any other value is decoded
+ * with a {@link GenericDatumReader} like {@link io.confluent.kafka.serializers.KafkaAvroDeserializer} would. The
+ * schema may be a projection of the writer schema, see {@link Layout#of(Schema, Set)}. Malformed data is only
+ * detected, as a {@link SerializationException}, when reaching it.
+ */
+public class LazyAvroRecord implements GenericRecord {
+    private static final SchemaKeyedCache<Layout> LAYOUTS = new SchemaKeyedCache<>(256);
+    private static final SchemaKeyedCache<GenericDatumReader<Object>> READERS = new SchemaKeyedCache<>(256);
+
+    private final Layout layout;
+    private final byte[] data;
+    private final int offset;
+    private final Object[] values;
+    private final boolean[] decoded;
+    private int[] positions;
+
+    /**
+     * @param layout fields to expose and how to reach them
+     * @param data   Avro binary data
+     * @param offset where the encoded record starts in {@code data}
+     */
+    public LazyAvroRecord(Layout layout, byte[] data, int offset) {
+        this.layout = layout;
+        this.data = data;
+        this.offset = offset;
+        int fields = layout.schema.getFields().size();
+        this.values = new Object[fields];
+        this.decoded = new boolean[fields];
+    }
+
+    @Override
+    public Schema getSchema() {
+        return layout.schema;
+    }
+
+    @Override
+    public Object get(int i) {
+        if (!decoded[i]) {
+            values[i] = decode(layout.schema.getFields().get(i).schema(), positions()[i]);
+            decoded[i] = true;
+        }
+        return values[i];
+    }
+
+    @Override
+    public Object get(String key) {
+        Schema.Field field = layout.schema.getField(key);
+        return field == null ? null : get(field.pos());
+    }
+
+    @Override
+    public void put(int i, Object v) {
+        values[i] = v;
+        decoded[i] = true;
+    }
+
+    @Override
+    public void put(String key, Object v) {
+        Schema.Field field = layout.schema.getField(key);
+        if (field == null) {
+            throw new IllegalArgumentException("Not a valid schema field: " + key);
+        }
+        put(field.pos(), v);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof GenericRecord) || !layout.schema.equals(((GenericRecord) o).getSchema())) {
+            return false;
+        }
+        return GenericData.get().compare(this, o, layout.schema, true) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return GenericData.get().hashCode(this, layout.schema);
+    }
+
+    @Override
+    public String toString() {
+        return GenericData.get().toString(this);
+    }
+
+    private int[] positions() {
+        if (positions == null) {
+            int[] found = new int[values.length];
+            Cursor cursor = new Cursor(data, offset);
+            List<Schema.Field> writerFields = layout.writerSchema.getFields();
+            for (int w = 0; w < layout.scanUntil; w++) {
+                int view = layout.viewPositions[w];
+                if (view >= 0) {
+                    found[view] = cursor.position;
+                }
+                cursor.skip(writerFields.get(w).schema());
+            }
+            positions = found;
+        }
+        return positions;
+    }
+
+    private Object decode(Schema schema, int position) {
+        switch (schema.getType()) {
+            case RECORD:
+                return new LazyAvroRecord(LAYOUTS.get(schema, s -> Layout.of(s, null)), data, position);
+            case UNION:
+                Cursor cursor = new Cursor(data, position);
+                Schema branch = cursor.readBranch(schema);
+                return decode(branch, cursor.position);
+            default:
+                try {
+                    return READERS.get(schema, GenericDatumReader::new)
+                            .read(null, DecoderFactory.get().binaryDecoder(data, position, data.length - position, null));
+                } catch (IOException | RuntimeException e) {
+                    throw new SerializationException("Error deserializing Avro field of type " + schema.getType(), e);
+                }
+        }
+    }
+
+    /**
+     * Which fields of a writer schema a {@link LazyAvroRecord} exposes.
+     */
+    public static final class Layout {
+        private final Schema writerSchema;
+        private final Schema schema;
+        private final int[] viewPositions;
+        private final int scanUntil;
+
+        private Layout(Schema writerSchema, Schema schema, int[] viewPositions, int scanUntil) {
+            this.writerSchema = writerSchema;
+            this.schema = schema;
+            this.viewPositions = viewPositions;
+            this.scanUntil = scanUntil;
+        }
+
+        /**
+         * @param writerSchema record schema the data was written with
+         * @param projection   top level field names to expose, {@code null} for all; names the writer schema does not
+         *                     have are ignored
+         * @return the layout, whose schema keeps the writer's field order
+         */
+        public static Layout of(Schema writerSchema, Set<String> projection) {
+            List<Schema.Field> writerFields = writerSchema.getFields();
+            int[] viewPositions = new int[writerFields.size()];
+            Arrays.fill(viewPositions, -1);
+            List<Schema.Field> fields = new ArrayList<>();
+            int scanUntil = 0;
+            for (Schema.Field field : writerFields) {
+                if (projection == null || projection.contains(field.name())) {
+                    viewPositions[field.pos()] = fields.size();
+                    fields.add(new Schema.Field(field, field.schema()));
+                    scanUntil = field.pos() + 1;
+                }
+            }
+            Schema schema = projection == null ? writerSchema : Schema.createRecord(writerSchema.getName(),
+                    writerSchema.getDoc(), writerSchema.getNamespace(), writerSchema.isError(), fields);
+            return new Layout(writerSchema, schema, viewPositions, scanUntil);
+        }
+
+        public Schema schema() {
+            return schema;
+        }
+    }
+
+    /**
+     * Walks Avro binary data without decoding it.
+     */
+    private static final class Cursor {
+        private final byte[] data;
+        private int position;
+
+        private Cursor(byte[] data, int position) {
+            this.data = data;
+            this.position = position;
+        }
+
+        private long readLong() {
+            long value = 0;
+            int shift = 0;
+            int b;
+            do {
+                if (position >= data.length || shift > 63) {
+                    throw new SerializationException("Malformed Avro data at byte " + position);
+                }
+                b = data[position++] & 0xff;
+                value |= (long) (b & 0x7f) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        private Schema readBranch(Schema union) {
+            long branch = readLong();
+            if (branch < 0 || branch >= union.getTypes().size()) {
+                throw new SerializationException("Malformed Avro data, union branch " + branch + " at byte " + position);
+            }
+            return union.getTypes().get((int) branch);
+        }
+
+        private void advance(long bytes) {
+            if (bytes < 0 || bytes > data.length - position) {
+                throw new SerializationException("Malformed Avro data at byte " + position);
+            }
+            position += (int) bytes;
+        }
+
+        private void skip(Schema schema) {
+            switch (schema.getType()) {
+                case NULL:
+                    break;
+                case BOOLEAN:
+                    advance(1);
+                    break;
+                case INT:
+                case LONG:
+                case ENUM:
+                    readLong();
+                    break;
+                case FLOAT:
+                    advance(4);
+                    break;
+                case DOUBLE:
+                    advance(8);
+                    break;
+                case STRING:
+                case BYTES:
+                    advance(readLong());
+                    break;
+                case FIXED:
+                    advance(schema.getFixedSize());
+                    break;
+                case UNION:
+                    skip(readBranch(schema));
+                    break;
+                case RECORD:
+                    for (Schema.Field field : schema.getFields()) {
+                        skip(field.schema());
+                    }
+                    break;
+                case ARRAY:
+                    skipBlocks(schema.getElementType(), false);
+                    break;
+                case MAP:
+                    skipBlocks(schema.getValueType(), true);
+                    break;
+                default:
+                    throw new SerializationException("Cannot skip Avro type " + schema.getType());
+            }
+        }
+
+        /**
+         * arrays and maps are a sequence of blocks ending with an empty one; a negative count is followed by the
+         * block's size in bytes
+         */
+        private void skipBlocks(Schema items, boolean keyed) {
+            for (long count = readLong(); count != 0; count = readLong()) {
+                if (count < 0) {
+                    advance(readLong());
+                    continue;
+                }
+                for (long i = 0; i < count; i++) {
+                    if (keyed) {
+                        advance(readLong());
+                    }
+                    skip(items);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.example;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import org.apache.kafka.common.errors.SerializationException;
+
+import java.io.IOException;
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Read-only view of a JSON object that is only parsed when first read.
+ * <p>
+ * The first access walks the top level fields once with a streaming parser, skipping those outside the projection.
+ * Scalars are kept as read; objects and arrays are kept as tokens and only bound to maps and lists when their field is
+ * read, so no tree is built for fields that are never looked at.
+ */
+public class LazyJsonObject extends AbstractMap<String, Object> {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final byte[] data;
+    private final Set<String> projection;
+    private Map<String, Object> fields;
+
+    /**
+     * @param data       UTF-8 encoded JSON object
+     * @param projection top level field names to expose, {@code null} for all
+     */
+    public LazyJsonObject(byte[] data, Set<String> projection) {
+        this.data = data;
+        this.projection = projection;
+    }
+
+    @Override
+    public Object get(Object key) {
+        Map<String, Object> indexed = fields();
+        Object value = indexed.get(key);
+        if (value instanceof Deferred) {
+            value = ((Deferred) value).bind();
+            indexed.put((String) key, value);
+        }
+        return value;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return fields().containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return fields().size();
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        Map<String, Object> indexed = fields();
+        indexed.replaceAll((key, value) -> value instanceof Deferred ? ((Deferred) value).bind() : value);
+        return Collections.unmodifiableMap(indexed).entrySet();
+    }
+
+    private Map<String, Object> fields() {
+        if (fields == null) {
+            fields = index();
+        }
+        return fields;
+    }
+
+    private Map<String, Object> index() {
+        try (JsonParser parser = MAPPER.getFactory().createParser(data)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new SerializationException("JSON payload is not an object");
+            }
+            Map<String, Object> indexed = new LinkedHashMap<>();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                JsonToken token = parser.nextToken();
+                if (projection != null && !projection.contains(name)) {
+                    parser.skipChildren();
+                } else if (token.isStructStart()) {
+                    indexed.put(name, new Deferred(TokenBuffer.asCopyOfValue(parser)));
+                } else {
+                    indexed.put(name, scalar(parser, token));
+                }
+            }
+            return indexed;
+        } catch (IOException e) {
+            throw new SerializationException("Failed to parse JSON payload", e);
+        }
+    }
+
+    /**
+     * same values as binding to {@code Object} with a default {@link ObjectMapper}
+     */
+    private static Object scalar(JsonParser parser, JsonToken token) throws IOException {
+        switch (token) {
+            case VALUE_STRING:
+                return parser.getText();
+            case VALUE_NUMBER_INT:
+                return parser.getNumberValue();
+            case VALUE_NUMBER_FLOAT:
+                return parser.getDoubleValue();
+            case VALUE_TRUE:
+                return Boolean.TRUE;
+            case VALUE_FALSE:
+                return Boolean.FALSE;
+            case VALUE_EMBEDDED_OBJECT:
+                return parser.getEmbeddedObject();
+            default:
+                return null;
+        }
+    }
+
+    private static final class Deferred {
+        private final TokenBuffer tokens;
+
+        private Deferred(TokenBuffer tokens) {
+            this.tokens = tokens;
+        }
+
+        private Object bind() {
+            try (JsonParser parser = tokens.asParser(MAPPER)) {
+                return MAPPER.readValue(parser, Object.class);
+            } catch (IOException e) {
+                throw new SerializationException("Failed to parse JSON payload", e);
+            }
+        }
+    }
+}
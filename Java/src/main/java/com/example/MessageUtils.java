@@ -1,26 +1,27 @@
 package com.example;
 
+import com.example.models.DeliveryMode;
+import com.example.models.PublishResult;
+import com.example.models.RawJsonPayload;
 import com.example.models.SimulateEventRequest;
 import converter.JsonAvroConverter;
-import converter.ProcessingException;
-import io.confluent.kafka.schemaregistry.client.CachedSchemaRegistryClient;
-import io.confluent.kafka.schemaregistry.client.SchemaMetadata;
-import io.confluent.kafka.schemaregistry.client.rest.RestService;
-import io.confluent.kafka.schemaregistry.client.rest.exceptions.RestClientException;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericData;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.cloud.stream.function.StreamOperations;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.integration.IntegrationMessageHeaderAccessor;
 import org.springframework.integration.support.MessageBuilder;
 import org.springframework.lang.Nullable;
 import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageDeliveryException;
 import org.springframework.stereotype.Service;
 import org.springframework.util.MimeType;
 
-import java.io.IOException;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Service
@@ -30,47 +31,131 @@ public class MessageUtils {
     public static final MimeType MIME_AVRO = new MimeType("application", "*+avro");
     public static final String CONTENT_TYPE = "content-type";
 
-    private final StreamBridge streamBridge;
-    private final String schemaUrl;
+    private final StreamOperations streamBridge;
+    private final SchemaCache schemaCache;
+    private final PublishTracker publishTracker;
+    private final PublishMetrics metrics;
+    private final JsonAvroConverter avroConverter = new JsonAvroConverter();
 
-    public MessageUtils(StreamBridge streamBridge,
-                        @Value("${spring.cloud.stream.kafka.binder.producer-properties.schema.registry.url}")
-                        String schemaUrl) {
+    public MessageUtils(StreamOperations streamBridge, SchemaCache schemaCache, PublishTracker publishTracker,
+                        PublishMetrics metrics) {
         this.streamBridge = streamBridge;
-        this.schemaUrl = schemaUrl;
+        this.schemaCache = schemaCache;
+        this.publishTracker = publishTracker;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Sends the message with the given {@link DeliveryMode}, the returned future completes with the response once the
+     * record is handed to the producer or, for {@link DeliveryMode#WAIT_FOR_ACK}, once the broker acknowledged it.
+     */
+    public CompletableFuture<ResponseEntity<?>> sendMessage(String topic, @Nullable String binding, Message<?> body,
+                                                            MimeType mimeType, DeliveryMode deliveryMode) {
+        if (deliveryMode == DeliveryMode.WAIT_FOR_ACK) {
+            return sendMessageAsync(topic, binding, body, mimeType).thenApply(ack -> ResponseEntity.ok(ack));
+        }
+        return CompletableFuture.completedFuture(new ResponseEntity<>(sendMessage(topic, binding, body, mimeType)));
+    }
+
+    /**
+     * @return a future completed with the partition and offset of the record once the broker acknowledged it
+     */
+    public CompletableFuture<PublishResult> sendMessageAsync(String topic, @Nullable String binding, Message<?> body, MimeType mimeType) {
+        String correlationId = publishTracker.newCorrelationId();
+        CompletableFuture<PublishResult> result = publishTracker.track(correlationId);
+        Message<?> tracked = MessageBuilder.fromMessage(body)
+                .setHeader(IntegrationMessageHeaderAccessor.CORRELATION_ID, correlationId)
+                .build();
+        try {
+            if (!send(topic, binding, tracked, mimeType)) {
+                publishTracker.fail(correlationId, new MessageDeliveryException(tracked, "Failed to send message to " + topic));
+            }
+        } catch (RuntimeException e) {
+            publishTracker.fail(correlationId, e);
+        }
+        return result;
     }
 
     public HttpStatus sendMessage(String topic, @Nullable String binding, Message<?> body, MimeType mimeType) {
-        boolean sent = streamBridge.send(topic, binding, body, mimeType);
+        boolean sent = send(topic, binding, body, mimeType);
         if (sent) {
             return HttpStatus.ACCEPTED;
         }
         return HttpStatus.INTERNAL_SERVER_ERROR;
     }
 
+    private boolean send(String topic, @Nullable String binding, Message<?> body, MimeType mimeType) {
+        long start = System.nanoTime();
+        boolean sent = false;
+        try {
+            sent = streamBridge.send(topic, binding, body, mimeType);
+            return sent;
+        } finally {
+            metrics.send(topic, mimeType.toString(), sent).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
     public <T> Message<T> createMessage(final T event, Map<String, String> headers, MimeType mimeType) {
-        return MessageBuilder.withPayload(event)
-                .copyHeaders(headers)
-                .setHeaderIfAbsent(CONTENT_TYPE, mimeType.toString())
-                .build();
+        String contentType = mimeType.toString();
+        if (event instanceof byte[]) {
+            metrics.payloadSize(contentType).record(((byte[]) event).length);
+        }
+        long start = System.nanoTime();
+        try {
+            return MessageBuilder.withPayload(event)
+                    .copyHeaders(headers)
+                    .setHeaderIfAbsent(CONTENT_TYPE, contentType)
+                    .build();
+        } finally {
+            metrics.messageCreation(contentType).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
     }
 
     public Message<GenericData.Record> constructAvroMessage(SimulateEventRequest request) {
-        JsonAvroConverter avroConverter = new JsonAvroConverter();
-        GenericData.Record record = avroConverter.convertToGenericDataRecord((request.getPayload()).getBytes(), getSchemaForType(request.getAvroSource()));
+        return constructAvroMessage(request, getSchemaForType(request.getAvroSource()));
+    }
+
+    public Message<GenericData.Record> constructAvroMessage(SimulateEventRequest request, Schema schema) {
+        String subject = request.getAvroSource();
+        RawJsonPayload payload = request.getPayload();
+        if (payload.size() >= 0) {
+            metrics.payloadSize(MIME_AVRO.toString()).record(payload.size());
+        }
+        long start = System.nanoTime();
+        GenericData.Record record;
+        try {
+            record = avroConverter.convertToGenericDataRecord(payload.asParser(), schema);
+        } catch (RuntimeException e) {
+            metrics.conversionFailed(subject, e);
+            throw e;
+        } finally {
+            metrics.conversion(subject, request.getTopic(), MIME_AVRO.toString()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        metrics.fieldCount(subject).record(presentFields(record));
         return createMessage(record, request.getHeaders(), MIME_AVRO);
     }
 
-    private Schema getSchemaForType(String type) {
-        RestService restService = new RestService(schemaUrl);
-        CachedSchemaRegistryClient cachedSchemaRegistryClient = new CachedSchemaRegistryClient(restService, 1);
+    JsonAvroConverter avroConverter() {
+        return avroConverter;
+    }
+
+    public Schema getSchemaForType(String type) {
+        long start = System.nanoTime();
         try {
-            SchemaMetadata metadata = cachedSchemaRegistryClient.getLatestSchemaMetadata(type);
-            return (Schema) cachedSchemaRegistryClient.getSchemaById(metadata.getId()).rawSchema();
-        } catch (IOException | RestClientException e) {
-            log.error("Exception while parsing schema", e);
-            throw new ProcessingException(e.getMessage());
+            return schemaCache.getSchema(type);
+        } finally {
+            metrics.schemaLookup(type).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static int presentFields(GenericData.Record record) {
+        int present = 0;
+        for (int i = 0; i < record.getSchema().getFields().size(); i++) {
+            if (record.get(i) != null) {
+                present++;
+            }
         }
+        return present;
     }
 
 }
\ No newline at end of file
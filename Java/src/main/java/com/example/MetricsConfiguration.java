@@ -0,0 +1,23 @@
+package com.example;
+
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfiguration {
+
+    /**
+     * Topics and subjects come from the requests, meters for values past the limit are not registered.
+     */
+    @Bean
+    public MeterFilter publisherTopicLimit(@Value("${app.metrics.max-tag-values:200}") int maxTagValues) {
+        return MeterFilter.maximumAllowableTags(PublishMetrics.PREFIX, PublishMetrics.TAG_TOPIC, maxTagValues, MeterFilter.deny());
+    }
+
+    @Bean
+    public MeterFilter publisherSubjectLimit(@Value("${app.metrics.max-tag-values:200}") int maxTagValues) {
+        return MeterFilter.maximumAllowableTags(PublishMetrics.PREFIX, PublishMetrics.TAG_SUBJECT, maxTagValues, MeterFilter.deny());
+    }
+}
@@ -0,0 +1,19 @@
+package com.example;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.integration.channel.DirectChannel;
+import org.springframework.messaging.MessageChannel;
+
+@Configuration
+public class PublishConfiguration {
+
+    /**
+     * Receives the record metadata of every acknowledged send, see
+     * {@code spring.cloud.stream.kafka.default.producer.record-metadata-channel}.
+     */
+    @Bean(name = PublishTracker.RESULTS_CHANNEL)
+    public MessageChannel publishResults() {
+        return new DirectChannel();
+    }
+}
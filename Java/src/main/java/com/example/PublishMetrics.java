@@ -0,0 +1,145 @@
+package com.example;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Meters of the publish stages. Meters are cached per tag values so recording on the request path is a map lookup and
+ * an atomic update; the number of distinct topics and subjects is capped by {@link MetricsConfiguration}.
+ * <p>
+ * Topics and subjects come from the requests, so each cache is bounded as well, to a few entries per allowed tag
+ * value. Past that bound meters are looked up in the registry on every call, which returns the registered meter, or a
+ * no-op one once the filters deny new tag values.
+ */
+@Component
+public class PublishMetrics {
+
+    static final String PREFIX = "publisher.";
+    static final String TAG_TOPIC = "topic";
+    static final String TAG_SUBJECT = "subject";
+    static final String TAG_CONTENT_TYPE = "content.type";
+    static final String TAG_OUTCOME = "outcome";
+    static final String TAG_EXCEPTION = "exception";
+    /**
+     * room for a few content types, outcomes or exceptions per topic or subject
+     */
+    static final int CACHED_METERS_PER_TAG_VALUE = 4;
+
+    private final MeterRegistry registry;
+    private final int maxCachedMeters;
+    private final Map<String, Timer> schemaLookups = new ConcurrentHashMap<>();
+    private final Map<String, Timer> conversions = new ConcurrentHashMap<>();
+    private final Map<String, Timer> messageCreations = new ConcurrentHashMap<>();
+    private final Map<String, Timer> sends = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> payloadSizes = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> fieldCounts = new ConcurrentHashMap<>();
+    private final Map<String, Counter> conversionFailures = new ConcurrentHashMap<>();
+
+    public PublishMetrics(MeterRegistry registry, @Value("${app.metrics.max-tag-values:200}") int maxTagValues) {
+        this.registry = registry;
+        this.maxCachedMeters = maxTagValues * CACHED_METERS_PER_TAG_VALUE;
+    }
+
+    public Timer schemaLookup(String subject) {
+        return cached(schemaLookups, subject, s -> Timer.builder(PREFIX + "schema.lookup")
+                .description("Time to resolve the schema of a subject")
+                .tag(TAG_SUBJECT, s)
+                .register(registry));
+    }
+
+    public Timer conversion(String subject, String topic, String contentType) {
+        return cached(conversions, subject + '\n' + topic + '\n' + contentType, k -> Timer.builder(PREFIX + "conversion")
+                .description("Time to convert a JSON payload to an Avro record")
+                .tag(TAG_SUBJECT, subject)
+                .tag(TAG_TOPIC, topic)
+                .tag(TAG_CONTENT_TYPE, contentType)
+                .register(registry));
+    }
+
+    public Timer messageCreation(String contentType) {
+        return cached(messageCreations, contentType, c -> Timer.builder(PREFIX + "message.creation")
+                .description("Time to build the message handed to the binder")
+                .tag(TAG_CONTENT_TYPE, c)
+                .register(registry));
+    }
+
+    public Timer send(String topic, String contentType, boolean success) {
+        String outcome = success ? "success" : "failure";
+        return cached(sends, topic + '\n' + contentType + '\n' + outcome, k -> Timer.builder(PREFIX + "send")
+                .description("Time to hand a message to the producer")
+                .tag(TAG_TOPIC, topic)
+                .tag(TAG_CONTENT_TYPE, contentType)
+                .tag(TAG_OUTCOME, outcome)
+                .register(registry));
+    }
+
+    public DistributionSummary payloadSize(String contentType) {
+        return cached(payloadSizes, contentType, c -> DistributionSummary.builder(PREFIX + "payload.size")
+                .description("Size of the JSON payload of a request")
+                .baseUnit("bytes")
+                .tag(TAG_CONTENT_TYPE, c)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(64.0)
+                .maximumExpectedValue(16.0 * 1024 * 1024)
+                .register(registry));
+    }
+
+    public DistributionSummary fieldCount(String subject) {
+        return cached(fieldCounts, subject, s -> DistributionSummary.builder(PREFIX + "record.fields")
+                .description("Number of non null top level fields of a converted record")
+                .tag(TAG_SUBJECT, s)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1.0)
+                .maximumExpectedValue(1024.0)
+                .register(registry));
+    }
+
+    /**
+     * Counts a failed conversion by the root cause of {@code failure}, as the converter wraps every failure in the
+     * same {@code AvroConversionException}
+     */
+    public void conversionFailed(String subject, Throwable failure) {
+        String exception = rootCause(failure).getClass().getSimpleName();
+        cached(conversionFailures, subject + '\n' + exception, k -> Counter.builder(PREFIX + "conversion.failures")
+                .description("JSON payloads that could not be converted to Avro")
+                .tag(TAG_SUBJECT, subject)
+                .tag(TAG_EXCEPTION, exception)
+                .register(registry))
+                .increment();
+    }
+
+    /**
+     * @return number of meters held by the caches
+     */
+    int cachedMeters() {
+        return schemaLookups.size() + conversions.size() + messageCreations.size() + sends.size() + payloadSizes.size()
+                + fieldCounts.size() + conversionFailures.size();
+    }
+
+    private <M> M cached(Map<String, M> meters, String key, Function<String, M> register) {
+        M meter = meters.get(key);
+        if (meter != null) {
+            return meter;
+        }
+        if (meters.size() >= maxCachedMeters) {
+            return register.apply(key);
+        }
+        return meters.computeIfAbsent(key, register);
+    }
+
+    private static Throwable rootCause(Throwable failure) {
+        Throwable cause = failure;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
@@ -0,0 +1,115 @@
+package com.example;
+
+import com.example.models.PublishResult;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.integration.IntegrationMessageHeaderAccessor;
+import org.springframework.integration.annotation.ServiceActivator;
+import org.springframework.integration.context.IntegrationContextUtils;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessagingException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Completes the futures of sends that wait for the broker acknowledgement.
+ * <p>
+ * The Kafka binder publishes every acknowledged record on the {@code record-metadata-channel} and every failed send on
+ * the error channel; both carry the headers of the sent message, so pending sends are matched by their
+ * {@link IntegrationMessageHeaderAccessor#CORRELATION_ID}.
+ */
+@Slf4j
+@Component
+public class PublishTracker {
+
+    public static final String RESULTS_CHANNEL = "publishResults";
+
+    private final Map<Object, CompletableFuture<PublishResult>> pending = new ConcurrentHashMap<>();
+    private final long ackTimeoutNanos;
+
+    public PublishTracker(@Value("${app.publish.ack-timeout:PT10S}") Duration ackTimeout) {
+        this.ackTimeoutNanos = ackTimeout.toNanos();
+    }
+
+    /**
+     * @return a new correlation id to send the message with
+     */
+    public String newCorrelationId() {
+        return UUID.randomUUID().toString();
+    }
+
+    /**
+     * @return a future completed with the acknowledgement of the message sent with {@code correlationId}, or
+     * exceptionally with a {@link java.util.concurrent.TimeoutException} after {@code app.publish.ack-timeout}
+     */
+    public CompletableFuture<PublishResult> track(String correlationId) {
+        CompletableFuture<PublishResult> result = new CompletableFuture<>();
+        pending.put(correlationId, result);
+        result.orTimeout(ackTimeoutNanos, TimeUnit.NANOSECONDS)
+                .whenComplete((ack, e) -> pending.remove(correlationId, result));
+        return result;
+    }
+
+    public void fail(String correlationId, Throwable cause) {
+        CompletableFuture<PublishResult> result = pending.remove(correlationId);
+        if (result != null) {
+            result.completeExceptionally(cause);
+        }
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    @ServiceActivator(inputChannel = RESULTS_CHANNEL)
+    public void onAcknowledged(Message<?> message) {
+        Object correlationId = message.getHeaders().get(IntegrationMessageHeaderAccessor.CORRELATION_ID);
+        if (correlationId == null) {
+            // fire and forget send
+            return;
+        }
+        RecordMetadata metadata = message.getHeaders().get(KafkaHeaders.RECORD_METADATA, RecordMetadata.class);
+        if (metadata == null) {
+            // not an acknowledgement, leave the send to its ack or its timeout
+            return;
+        }
+        CompletableFuture<PublishResult> result = pending.remove(correlationId);
+        if (result == null) {
+            return;
+        }
+        result.complete(PublishResult.builder()
+                .topic(metadata.topic())
+                .partition(metadata.partition())
+                .offset(metadata.offset())
+                .timestamp(metadata.timestamp())
+                .build());
+    }
+
+    @ServiceActivator(inputChannel = IntegrationContextUtils.ERROR_CHANNEL_BEAN_NAME)
+    public void onFailed(Message<?> message) {
+        if (!(message.getPayload() instanceof MessagingException)) {
+            return;
+        }
+        MessagingException failure = (MessagingException) message.getPayload();
+        Message<?> failed = failure.getFailedMessage();
+        if (failed == null) {
+            return;
+        }
+        Object correlationId = failed.getHeaders().get(IntegrationMessageHeaderAccessor.CORRELATION_ID);
+        if (correlationId != null) {
+            CompletableFuture<PublishResult> result = pending.remove(correlationId);
+            if (result != null) {
+                log.debug("Send failed for correlation id {}", correlationId, failure);
+                result.completeExceptionally(failure.getCause() != null ? failure.getCause() : failure);
+            }
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.example;
+
+import converter.ProcessingException;
+import io.confluent.kafka.schemaregistry.client.SchemaMetadata;
+import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import io.confluent.kafka.schemaregistry.client.rest.exceptions.RestClientException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.Schema;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Process wide, bounded cache of the latest {@link Schema} registered under a subject.
+ * <p>
+ * Entries older than {@code refreshAfter} are refreshed in the background while the cached schema keeps being served,
+ * so the registry is out of the request path in the steady state. Concurrent misses for a subject share a single
+ * fetch. Once an entry is older than {@code ttl} callers wait up to {@code staleWait} for the refresh and fall back to
+ * the last known schema if the registry has not answered by then.
+ */
+@Slf4j
+public class SchemaCache {
+
+    private final SchemaRegistryClient client;
+    private final Executor refreshExecutor;
+    private final long refreshAfterNanos;
+    private final long ttlNanos;
+    private final Duration staleWait;
+    private final int maxEntries;
+    private final LongSupplier nanoClock;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public SchemaCache(SchemaRegistryClient client, Executor refreshExecutor, Duration refreshAfter, Duration ttl,
+                       Duration staleWait, int maxEntries) {
+        this(client, refreshExecutor, refreshAfter, ttl, staleWait, maxEntries, System::nanoTime);
+    }
+
+    SchemaCache(SchemaRegistryClient client, Executor refreshExecutor, Duration refreshAfter, Duration ttl,
+                Duration staleWait, int maxEntries, LongSupplier nanoClock) {
+        if (refreshAfter.compareTo(ttl) > 0) {
+            throw new IllegalArgumentException("refreshAfter must not be longer than ttl");
+        }
+        this.client = client;
+        this.refreshExecutor = refreshExecutor;
+        this.refreshAfterNanos = refreshAfter.toNanos();
+        this.ttlNanos = ttl.toNanos();
+        this.staleWait = staleWait;
+        this.maxEntries = maxEntries;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * @param subject the subject the schema is registered under
+     * @return the latest schema known for the subject
+     * @throws ProcessingException if the schema was never fetched successfully
+     */
+    public Schema getSchema(String subject) {
+        Entry entry = entries.get(subject);
+        if (entry == null) {
+            entry = load(subject);
+        }
+        long now = nanoClock.getAsLong();
+        entry.lastAccess = now;
+        Loaded loaded = entry.loaded;
+        if (loaded == null) {
+            return awaitFirstLoad(subject, entry);
+        }
+        long age = now - loaded.loadedAt;
+        if (age < refreshAfterNanos) {
+            return loaded.schema;
+        }
+        if (now - entry.nextRefreshAt >= 0) {
+            refresh(subject, entry);
+        }
+        CompletableFuture<Loaded> running = entry.inFlight.get();
+        if (age < ttlNanos || running == null) {
+            return loaded.schema;
+        }
+        try {
+            return running.get(staleWait.toNanos(), TimeUnit.NANOSECONDS).schema;
+        } catch (TimeoutException | ExecutionException e) {
+            log.warn("Serving stale schema for subject {}, registry did not answer in time", subject);
+            return loaded.schema;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return loaded.schema;
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private Entry load(String subject) {
+        Entry created = new Entry();
+        Entry existing = entries.putIfAbsent(subject, created);
+        if (existing != null) {
+            return existing;
+        }
+        evictIfFull();
+        // the thread that created the entry fetches it, everybody else waits on the same future
+        CompletableFuture<Loaded> first = created.inFlight.get();
+        try {
+            Loaded loaded = fetch(subject);
+            created.nextRefreshAt = loaded.loadedAt + refreshAfterNanos;
+            created.loaded = loaded;
+            first.complete(loaded);
+        } catch (RuntimeException e) {
+            entries.remove(subject, created);
+            first.completeExceptionally(e);
+            throw e;
+        } finally {
+            created.inFlight.set(null);
+        }
+        return created;
+    }
+
+    private Schema awaitFirstLoad(String subject, Entry entry) {
+        CompletableFuture<Loaded> first = entry.inFlight.get();
+        if (first == null) {
+            Loaded loaded = entry.loaded;
+            if (loaded != null) {
+                return loaded.schema;
+            }
+            // the first fetch failed and the entry was dropped, try again
+            return getSchema(subject);
+        }
+        try {
+            return first.join().schema;
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof ProcessingException) {
+                throw (ProcessingException) e.getCause();
+            }
+            throw new ProcessingException(e.getMessage(), e.getCause());
+        }
+    }
+
+    private void refresh(String subject, Entry entry) {
+        CompletableFuture<Loaded> refresh = new CompletableFuture<>();
+        if (!entry.inFlight.compareAndSet(null, refresh)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    Loaded loaded = fetch(subject);
+                    entry.nextRefreshAt = loaded.loadedAt + refreshAfterNanos;
+                    entry.loaded = loaded;
+                    refresh.complete(loaded);
+                } catch (RuntimeException e) {
+                    log.warn("Failed to refresh schema for subject {}, keeping the last known version", subject, e);
+                    entry.nextRefreshAt = nanoClock.getAsLong() + refreshAfterNanos;
+                    refresh.completeExceptionally(e);
+                } finally {
+                    entry.inFlight.set(null);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("Could not schedule schema refresh for subject {}", subject, e);
+            entry.nextRefreshAt = nanoClock.getAsLong() + refreshAfterNanos;
+            entry.inFlight.set(null);
+            refresh.completeExceptionally(e);
+        }
+    }
+
+    private Loaded fetch(String subject) {
+        try {
+            SchemaMetadata metadata = client.getLatestSchemaMetadata(subject);
+            Schema schema = (Schema) client.getSchemaById(metadata.getId()).rawSchema();
+            return new Loaded(schema, nanoClock.getAsLong());
+        } catch (IOException | RestClientException e) {
+            log.error("Exception while parsing schema", e);
+            throw new ProcessingException(e.getMessage(), e);
+        }
+    }
+
+    private void evictIfFull() {
+        if (entries.size() <= maxEntries) {
+            return;
+        }
+        String eldest = null;
+        long eldestAccess = 0;
+        for (Map.Entry<String, Entry> candidate : entries.entrySet()) {
+            Entry entry = candidate.getValue();
+            if (entry.loaded != null && (eldest == null || entry.lastAccess - eldestAccess < 0)) {
+                eldest = candidate.getKey();
+                eldestAccess = entry.lastAccess;
+            }
+        }
+        if (eldest != null) {
+            entries.remove(eldest);
+        }
+    }
+
+    private static final class Entry {
+        private final AtomicReference<CompletableFuture<Loaded>> inFlight = new AtomicReference<>(new CompletableFuture<>());
+        private volatile Loaded loaded;
+        private volatile long nextRefreshAt;
+        private volatile long lastAccess;
+    }
+
+    private static final class Loaded {
+        private final Schema schema;
+        private final long loadedAt;
+
+        private Loaded(Schema schema, long loadedAt) {
+            this.schema = schema;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
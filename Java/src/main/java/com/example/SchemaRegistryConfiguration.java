@@ -0,0 +1,48 @@
+package com.example;
+
+import io.confluent.kafka.schemaregistry.client.CachedSchemaRegistryClient;
+import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import io.confluent.kafka.schemaregistry.testutil.MockSchemaRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class SchemaRegistryConfiguration {
+    private static final String MOCK_URL_PREFIX = "mock://";
+
+    /**
+     * A {@code mock://<scope>} URL gives the in-memory registry the Confluent serializers use for the same URL.
+     */
+    @Bean
+    public SchemaRegistryClient schemaRegistryClient(
+            @Value("${spring.cloud.stream.kafka.binder.producer-properties.schema.registry.url}") String schemaUrl,
+            @Value("${app.schema-registry.client-capacity:1000}") int capacity) {
+        if (schemaUrl.startsWith(MOCK_URL_PREFIX)) {
+            return MockSchemaRegistry.getClientForScope(schemaUrl.substring(MOCK_URL_PREFIX.length()));
+        }
+        return new CachedSchemaRegistryClient(schemaUrl, capacity);
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService schemaRefreshExecutor(@Value("${app.schema-registry.cache.refresh-threads:2}") int threads) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("schema-refresh-");
+        threadFactory.setDaemon(true);
+        return Executors.newFixedThreadPool(threads, threadFactory);
+    }
+
+    @Bean
+    public SchemaCache schemaCache(SchemaRegistryClient schemaRegistryClient,
+                                   ExecutorService schemaRefreshExecutor,
+                                   @Value("${app.schema-registry.cache.refresh-after:PT4M}") Duration refreshAfter,
+                                   @Value("${app.schema-registry.cache.ttl:PT5M}") Duration ttl,
+                                   @Value("${app.schema-registry.cache.stale-wait:PT0.2S}") Duration staleWait,
+                                   @Value("${app.schema-registry.cache.max-entries:1000}") int maxEntries) {
+        return new SchemaCache(schemaRegistryClient, schemaRefreshExecutor, refreshAfter, ttl, staleWait, maxEntries);
+    }
+}
@@ -0,0 +1,179 @@
+package com.example;
+
+import com.example.load.RandomPayloads;
+import com.example.load.SizeDistribution;
+import com.example.models.SimulateEventRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import converter.JsonAvroConverter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.Schema;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Takes the first-request costs before the application reports ready: fetches the schemas of
+ * {@code app.warm-up.subjects} and converts a random payload of every schema, drawn from a fixed seed, until the JIT
+ * stops compiling.
+ * <p>
+ * Topics are bound by declaring them in {@code spring.cloud.stream.output-bindings}, which creates their producers when
+ * the context starts, before this runs; {@code StreamBridge} then sends to those bindings instead of binding on the
+ * first request.
+ * <p>
+ * Application runners complete before the readiness state changes to accepting traffic, and this indicator reports
+ * {@code OUT_OF_SERVICE} with its progress until then. Failures are logged and counted, they never hold the application
+ * back; neither does a warm-up running longer than {@code app.warm-up.timeout}.
+ */
+@Slf4j
+@Component("warmUp")
+@ConditionalOnProperty(name = "app.warm-up.enabled", havingValue = "true")
+public class WarmUp implements ApplicationRunner, HealthIndicator {
+    static final int ITERATIONS_PER_ROUND = 500;
+    /**
+     * Same sample payloads on every start, so warm-up failures can be reproduced
+     */
+    static final long SAMPLE_SEED = 42;
+
+    private final MessageUtils messageUtils;
+    private final ObjectMapper objectMapper;
+    private final List<String> subjects;
+    private final int maxRounds;
+    private final Duration timeout;
+
+    private volatile Phase phase = Phase.PENDING;
+    private final AtomicInteger schemasFetched = new AtomicInteger();
+    private final AtomicInteger failures = new AtomicInteger();
+    private final AtomicInteger rounds = new AtomicInteger();
+    private final AtomicLong conversions = new AtomicLong();
+
+    public WarmUp(MessageUtils messageUtils, ObjectMapper objectMapper,
+                  @Value("${app.warm-up.subjects:}") List<String> subjects,
+                  @Value("${app.warm-up.max-rounds:20}") int maxRounds,
+                  @Value("${app.warm-up.timeout:PT2M}") Duration timeout) {
+        this.messageUtils = messageUtils;
+        this.objectMapper = objectMapper;
+        this.subjects = subjects;
+        this.maxRounds = maxRounds;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+
+        phase = Phase.SCHEMAS;
+        Map<String, Schema> schemas = new LinkedHashMap<>();
+        for (String subject : subjects) {
+            if (System.nanoTime() - deadline >= 0) {
+                break;
+            }
+            try {
+                schemas.put(subject, messageUtils.getSchemaForType(subject));
+                schemasFetched.incrementAndGet();
+            } catch (RuntimeException e) {
+                failures.incrementAndGet();
+                log.warn("Warm-up could not fetch the schema of subject {}", subject, e);
+            }
+        }
+
+        phase = Phase.CONVERSIONS;
+        convert(schemas, deadline);
+
+        phase = System.nanoTime() - deadline >= 0 ? Phase.TIMED_OUT : Phase.DONE;
+        log.info("Warm-up {} after {} ms: {} schemas, {} conversions in {} rounds, {} failures",
+                phase, Duration.ofNanos(System.nanoTime() - start).toMillis(), schemasFetched, conversions, rounds,
+                failures);
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder health = phase == Phase.DONE || phase == Phase.TIMED_OUT ? Health.up() : Health.outOfService();
+        return health.withDetail("phase", phase)
+                .withDetail("schemas", schemasFetched.get() + "/" + subjects.size())
+                .withDetail("conversions", conversions.get())
+                .withDetail("rounds", rounds.get())
+                .withDetail("failures", failures.get())
+                .build();
+    }
+
+    /**
+     * Runs rounds of the request path's parsing and conversion over every schema until a round triggers no JIT
+     * compilation, at most {@code maxRounds}.
+     */
+    private void convert(Map<String, Schema> schemas, long deadline) {
+        JsonAvroConverter converter = messageUtils.avroConverter();
+        ObjectReader requestReader = objectMapper.readerFor(SimulateEventRequest.class);
+        Map<Schema, byte[]> requests = new LinkedHashMap<>();
+        Map<Schema, byte[]> payloads = new LinkedHashMap<>();
+        RandomPayloads samples = new RandomPayloads(new Random(SAMPLE_SEED), SizeDistribution.uniform(1, 3), SizeDistribution.uniform(1, 16));
+        for (Map.Entry<String, Schema> subject : schemas.entrySet()) {
+            Schema schema = subject.getValue();
+            try {
+                Object payload = samples.payload(schema);
+                Map<String, Object> request = new LinkedHashMap<>();
+                request.put("topic", "warm-up");
+                request.put("avroSource", subject.getKey());
+                request.put("payload", payload);
+                byte[] json = objectMapper.writeValueAsBytes(payload);
+                // fail here rather than in every round
+                converter.convertToAvro(json, schema);
+                requests.put(schema, objectMapper.writeValueAsBytes(request));
+                payloads.put(schema, json);
+            } catch (Exception e) {
+                failures.incrementAndGet();
+                log.warn("Warm-up cannot build a sample payload for subject {}", subject.getKey(), e);
+            }
+        }
+        if (requests.isEmpty()) {
+            return;
+        }
+
+        CompilationMXBean jit = ManagementFactory.getCompilationMXBean();
+        boolean monitored = jit != null && jit.isCompilationTimeMonitoringSupported();
+        long compiled = monitored ? jit.getTotalCompilationTime() : 0;
+        while (rounds.get() < maxRounds && System.nanoTime() - deadline < 0) {
+            for (int i = 0; i < ITERATIONS_PER_ROUND; i++) {
+                for (Map.Entry<Schema, byte[]> request : requests.entrySet()) {
+                    Schema schema = request.getKey();
+                    try {
+                        SimulateEventRequest parsed = requestReader.readValue(request.getValue());
+                        converter.convertToGenericDataRecord(parsed.getPayload().asParser(), schema);
+                        converter.convertToAvro(payloads.get(schema), schema);
+                    } catch (Exception e) {
+                        failures.incrementAndGet();
+                        log.debug("Warm-up conversion failed", e);
+                    }
+                    conversions.incrementAndGet();
+                }
+            }
+            rounds.incrementAndGet();
+            if (monitored) {
+                long compiledNow = jit.getTotalCompilationTime();
+                if (compiledNow == compiled) {
+                    return;
+                }
+                compiled = compiledNow;
+            }
+        }
+    }
+
+    enum Phase {
+        PENDING, SCHEMAS, CONVERSIONS, DONE, TIMED_OUT
+    }
+}
@@ -1,14 +1,22 @@
 package com.example.controllers;
 
+import com.example.BatchPublisher;
 import com.example.MessageUtils;
+import com.example.models.BatchPublishResult;
 import com.example.models.SimulateEventRequest;
 import com.example.models.ValidatorGroups;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+
 import static com.example.MessageUtils.MIME_AVRO;
 
 @RestController
@@ -18,11 +26,17 @@ import static com.example.MessageUtils.MIME_AVRO;
 public class ControllerAvro {
 
     private final MessageUtils messageUtils;
+    private final BatchPublisher batchPublisher;
 
     @PostMapping("/avro")
-    public ResponseEntity<?> postAVRO(@Validated(value = ValidatorGroups.AvroValidator.class) @RequestBody SimulateEventRequest body) {
-        return new ResponseEntity<>(messageUtils.sendMessage(body.getTopic(), null, messageUtils.constructAvroMessage(body), MIME_AVRO));
+    public CompletableFuture<ResponseEntity<?>> postAVRO(@Validated(value = ValidatorGroups.AvroValidator.class) @RequestBody SimulateEventRequest body) {
+        return messageUtils.sendMessage(body.getTopic(), null, messageUtils.constructAvroMessage(body), MIME_AVRO, body.getDeliveryMode());
     }
 
+    @PostMapping(value = "/avro/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public CompletableFuture<ResponseEntity<BatchPublishResult>> postAVROBatch(InputStream body) throws IOException {
+        return batchPublisher.publish(body, BatchPublisher.Format.AVRO, null)
+                .thenApply(result -> new ResponseEntity<>(result, HttpStatus.ACCEPTED));
+    }
 
 }
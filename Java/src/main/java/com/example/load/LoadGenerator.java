@@ -0,0 +1,108 @@
+package com.example.load;
+
+import com.example.models.LoadReport;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends messages on an open-loop schedule and reports the throughput and latencies it achieved.
+ * <p>
+ * With a target rate message {@code i} is due at {@code start + i / rate}, whether or not earlier messages completed,
+ * and its latency is measured from that due time. A slow publish path therefore shows up as latency rather than as a
+ * lower send rate hiding it. Without a target rate every message is due as soon as the previous one was handed off.
+ * At most {@code maxInFlight} messages are outstanding; once that many are, the schedule waits and the wait counts
+ * into the latency of the messages falling behind.
+ */
+@Slf4j
+public class LoadGenerator {
+    private static final long MAX_TRACKABLE_LATENCY = TimeUnit.MINUTES.toNanos(10);
+
+    private final ExecutorService workers;
+    private final int maxInFlight;
+
+    /**
+     * @param workers     runs the sends, the calling thread only keeps the schedule
+     * @param maxInFlight messages sent and not yet completed at most
+     */
+    public LoadGenerator(ExecutorService workers, int maxInFlight) {
+        this.workers = workers;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * @param sender      sends message {@code sequence}, the future completes once it is published
+     * @param rate        messages per second, 0 to send as fast as possible
+     * @param duration    how long to send for
+     * @param maxMessages messages to send at most, 0 for no limit
+     */
+    public LoadReport run(Sender sender, double rate, Duration duration, long maxMessages) throws InterruptedException {
+        Histogram latencies = new ConcurrentHistogram(MAX_TRACKABLE_LATENCY, 3);
+        AtomicLong failed = new AtomicLong();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        long interval = rate > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / rate) : 0;
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        long sent = 0;
+        while (maxMessages <= 0 || sent < maxMessages) {
+            long due = interval > 0 ? start + sent * interval : System.nanoTime();
+            if (due - end >= 0) {
+                break;
+            }
+            for (long wait = due - System.nanoTime(); wait > 0; wait = due - System.nanoTime()) {
+                LockSupport.parkNanos(wait);
+            }
+            inFlight.acquire();
+            long sequence = sent++;
+            workers.execute(() -> send(sender, sequence, due, latencies, failed, inFlight));
+        }
+        inFlight.acquire(maxInFlight);
+        long elapsed = System.nanoTime() - start;
+        return LoadReport.builder()
+                .sent(sent)
+                .failed(failed.get())
+                .elapsed(Duration.ofNanos(elapsed))
+                .targetRate(rate)
+                .achievedRate(sent * (double) TimeUnit.SECONDS.toNanos(1) / elapsed)
+                .p50Millis(millis(latencies.getValueAtPercentile(50)))
+                .p90Millis(millis(latencies.getValueAtPercentile(90)))
+                .p99Millis(millis(latencies.getValueAtPercentile(99)))
+                .p999Millis(millis(latencies.getValueAtPercentile(99.9)))
+                .maxMillis(millis(latencies.getMaxValue()))
+                .build();
+    }
+
+    private static void send(Sender sender, long sequence, long due, Histogram latencies, AtomicLong failed, Semaphore inFlight) {
+        CompletableFuture<?> published;
+        try {
+            published = sender.send(sequence);
+        } catch (Exception e) {
+            published = CompletableFuture.failedFuture(e);
+        }
+        published.whenComplete((result, e) -> {
+            latencies.recordValue(Math.min(System.nanoTime() - due, MAX_TRACKABLE_LATENCY));
+            if (e != null) {
+                failed.incrementAndGet();
+                log.debug("Load generator message {} failed", sequence, e);
+            }
+            inFlight.release();
+        });
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000d;
+    }
+
+    @FunctionalInterface
+    public interface Sender {
+        CompletableFuture<?> send(long sequence) throws Exception;
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.load;
+
+import com.example.BatchPublisher;
+import com.example.MessageUtils;
+import com.example.models.DeliveryMode;
+import com.example.models.LoadReport;
+import com.example.models.RawJsonPayload;
+import com.example.models.SimulateEventRequest;
+import io.confluent.kafka.schemaregistry.avro.AvroSchema;
+import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import io.confluent.kafka.schemaregistry.client.rest.exceptions.RestClientException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.Schema;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.example.MessageUtils.MIME_AVRO;
+import static com.example.MessageUtils.MIME_JSON;
+
+/**
+ * Load generation mode, enabled with {@code app.load.enabled}: publishes random payloads valid for the schema of
+ * {@code app.load.subject} through {@link MessageUtils}, the same path the controllers take, and logs the achieved
+ * {@link LoadReport}.
+ * <p>
+ * {@code app.load.schema-file} registers a schema under the subject first, which together with a {@code mock://}
+ * registry URL runs without any registry.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.load.enabled", havingValue = "true")
+public class LoadRunner implements ApplicationRunner {
+
+    private final MessageUtils messageUtils;
+    private final SchemaRegistryClient schemaRegistryClient;
+    private final BatchPublisher.Format format;
+    private final String subject;
+    private final Resource schemaFile;
+    private final String topic;
+    private final String binding;
+    private final DeliveryMode deliveryMode;
+    private final double rate;
+    private final Duration duration;
+    private final long maxMessages;
+    private final int workers;
+    private final int maxInFlight;
+    private final int distinctPayloads;
+    private final SizeDistribution collectionSize;
+    private final SizeDistribution stringLength;
+    private final long seed;
+    private volatile LoadReport lastReport;
+
+    public LoadRunner(MessageUtils messageUtils, SchemaRegistryClient schemaRegistryClient,
+                      @Value("${app.load.format:AVRO}") BatchPublisher.Format format,
+                      @Value("${app.load.subject}") String subject,
+                      @Value("${app.load.schema-file:#{null}}") @Nullable Resource schemaFile,
+                      @Value("${app.load.topic}") String topic,
+                      @Value("${app.load.binding:#{null}}") @Nullable String binding,
+                      @Value("${app.load.delivery-mode:FIRE_AND_FORGET}") DeliveryMode deliveryMode,
+                      @Value("${app.load.rate:0}") double rate,
+                      @Value("${app.load.duration:PT1M}") Duration duration,
+                      @Value("${app.load.max-messages:0}") long maxMessages,
+                      @Value("${app.load.workers:8}") int workers,
+                      @Value("${app.load.max-in-flight:1000}") int maxInFlight,
+                      @Value("${app.load.distinct-payloads:1000}") int distinctPayloads,
+                      @Value("${app.load.collection-size:0..5}") String collectionSize,
+                      @Value("${app.load.string-length:1..32}") String stringLength,
+                      @Value("${app.load.seed:0}") long seed) {
+        this.messageUtils = messageUtils;
+        this.schemaRegistryClient = schemaRegistryClient;
+        this.format = format;
+        this.subject = subject;
+        this.schemaFile = schemaFile;
+        this.topic = topic;
+        this.binding = StringUtils.hasText(binding) ? binding : null;
+        this.deliveryMode = deliveryMode;
+        this.rate = rate;
+        this.duration = duration;
+        this.maxMessages = maxMessages;
+        this.workers = workers;
+        this.maxInFlight = maxInFlight;
+        this.distinctPayloads = distinctPayloads;
+        this.collectionSize = SizeDistribution.parse(collectionSize);
+        this.stringLength = SizeDistribution.parse(stringLength);
+        this.seed = seed;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (schemaFile != null) {
+            register();
+        }
+        Schema schema = messageUtils.getSchemaForType(subject);
+        // generated up front so the generator's own cost stays out of the measurement
+        RandomPayloads payloads = new RandomPayloads(new Random(seed), collectionSize, stringLength);
+        byte[][] json = new byte[distinctPayloads][];
+        for (int i = 0; i < json.length; i++) {
+            json[i] = payloads.json(schema);
+        }
+        log.info("Load generator sending {} payloads of {} to {} at {} for {}", format, subject, topic,
+                rate > 0 ? rate + " msg/s" : "full speed", duration);
+
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        try {
+            LoadGenerator generator = new LoadGenerator(executor, maxInFlight);
+            lastReport = generator.run(sequence -> send(json[(int) (sequence % json.length)], schema), rate, duration, maxMessages);
+        } finally {
+            executor.shutdown();
+        }
+        log.info("Load generator finished: {}", lastReport);
+    }
+
+    @Nullable
+    public LoadReport lastReport() {
+        return lastReport;
+    }
+
+    private CompletableFuture<?> send(byte[] json, Schema schema) {
+        Message<?> message;
+        MimeType mimeType;
+        if (format == BatchPublisher.Format.AVRO) {
+            SimulateEventRequest request = SimulateEventRequest.builder()
+                    .topic(topic)
+                    .avroSource(subject)
+                    .payload(RawJsonPayload.of(json))
+                    .headers(new HashMap<>())
+                    .deliveryMode(deliveryMode)
+                    .build();
+            message = messageUtils.constructAvroMessage(request, schema);
+            mimeType = MIME_AVRO;
+        } else {
+            message = messageUtils.createMessage(json, new HashMap<>(), MIME_JSON);
+            mimeType = MIME_JSON;
+        }
+        return messageUtils.sendMessage(topic, binding, message, mimeType, deliveryMode).thenApply(response -> {
+            if (!response.getStatusCode().is2xxSuccessful()) {
+                throw new MessageDeliveryException(message, "Send failed: " + response.getStatusCode());
+            }
+            return response;
+        });
+    }
+
+    private void register() throws IOException, RestClientException {
+        try (InputStream in = schemaFile.getInputStream()) {
+            schemaRegistryClient.register(subject, new AvroSchema(new Schema.Parser().parse(in)));
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import converter.JsonAvroConverter;
+import org.apache.avro.LogicalType;
+import org.apache.avro.LogicalTypes;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Generates random payloads that are valid for an Avro schema, as the JSON the API receives or as the
+ * {@link GenericData.Record} it is converted to.
+ * <p>
+ * Enums take a random symbol and unions a random branch. Decimals get random digits within the schema's precision and
+ * scale, {@code timestamp-millis} an ISO-8601 instant, {@code date} and {@code time-millis} values in range and
+ * {@code uuid} strings a random UUID. String lengths and array and map sizes follow the given distributions. Past
+ * {@link #MAX_DEPTH} nested levels unions take their null branch and collections stay empty, so recursive schemas end.
+ * <p>
+ * Not thread safe, the sequence is determined by the {@link Random} passed in.
+ */
+public class RandomPayloads {
+    static final int MAX_DEPTH = 8;
+    private static final char[] ALPHABET = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789".toCharArray();
+    private static final long MIN_TIMESTAMP = Instant.parse("2000-01-01T00:00:00Z").toEpochMilli();
+    private static final long MAX_TIMESTAMP = Instant.parse("2030-01-01T00:00:00Z").toEpochMilli();
+    private static final int MAX_DATE = (int) LocalDate.of(2030, 1, 1).toEpochDay();
+
+    private final Random random;
+    private final SizeDistribution collectionSize;
+    private final SizeDistribution stringLength;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final JsonAvroConverter converter = new JsonAvroConverter();
+
+    public RandomPayloads(Random random, SizeDistribution collectionSize, SizeDistribution stringLength) {
+        this.random = random;
+        this.collectionSize = collectionSize;
+        this.stringLength = stringLength;
+    }
+
+    /**
+     * @return the payload as maps, lists, strings, numbers and booleans
+     */
+    public Object payload(Schema schema) {
+        return value(schema, 0);
+    }
+
+    /**
+     * @return the payload as UTF-8 encoded JSON
+     */
+    public byte[] json(Schema schema) {
+        try {
+            return mapper.writeValueAsBytes(payload(schema));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public GenericData.Record record(Schema schema) {
+        return converter.convertToGenericDataRecord(json(schema), schema);
+    }
+
+    private Object value(Schema schema, int depth) {
+        LogicalType logicalType = schema.getLogicalType();
+        switch (schema.getType()) {
+            case RECORD:
+                Map<String, Object> record = new LinkedHashMap<>();
+                for (Schema.Field field : schema.getFields()) {
+                    record.put(field.name(), value(field.schema(), depth + 1));
+                }
+                return record;
+            case UNION:
+                return value(branch(schema, depth), depth);
+            case ARRAY:
+                int items = depth < MAX_DEPTH ? collectionSize.next(random) : 0;
+                List<Object> array = new ArrayList<>(items);
+                for (int i = 0; i < items; i++) {
+                    array.add(value(schema.getElementType(), depth + 1));
+                }
+                return array;
+            case MAP:
+                int entries = depth < MAX_DEPTH ? collectionSize.next(random) : 0;
+                Map<String, Object> map = new LinkedHashMap<>();
+                for (int i = 0; i < entries; i++) {
+                    map.put(i + "-" + string(stringLength.next(random)), value(schema.getValueType(), depth + 1));
+                }
+                return map;
+            case ENUM:
+                return schema.getEnumSymbols().get(random.nextInt(schema.getEnumSymbols().size()));
+            case STRING:
+                return logicalType != null && "uuid".equals(logicalType.getName())
+                        ? new UUID(random.nextLong(), random.nextLong()).toString() : string(stringLength.next(random));
+            case BYTES:
+            case FIXED:
+                if (logicalType instanceof LogicalTypes.Decimal) {
+                    return decimal((LogicalTypes.Decimal) logicalType);
+                }
+                return string(schema.getType() == Schema.Type.FIXED ? schema.getFixedSize() : stringLength.next(random));
+            case INT:
+                if (logicalType instanceof LogicalTypes.Date) {
+                    return random.nextInt(MAX_DATE);
+                }
+                if (logicalType instanceof LogicalTypes.TimeMillis) {
+                    return random.nextInt(86_400_000);
+                }
+                return random.nextInt();
+            case LONG:
+                if (logicalType instanceof LogicalTypes.TimestampMillis) {
+                    return Instant.ofEpochMilli(timestamp()).toString();
+                }
+                if (logicalType instanceof LogicalTypes.TimestampMicros) {
+                    return timestamp() * 1000 + random.nextInt(1000);
+                }
+                if (logicalType instanceof LogicalTypes.TimeMicros) {
+                    return (long) (random.nextDouble() * 86_400_000_000L);
+                }
+                return random.nextLong();
+            case FLOAT:
+                return random.nextFloat() * 1_000;
+            case DOUBLE:
+                return random.nextDouble() * 1_000_000;
+            case BOOLEAN:
+                return random.nextBoolean();
+            default:
+                return null;
+        }
+    }
+
+    private Schema branch(Schema union, int depth) {
+        List<Schema> types = union.getTypes();
+        if (depth >= MAX_DEPTH) {
+            for (Schema type : types) {
+                if (type.getType() == Schema.Type.NULL) {
+                    return type;
+                }
+            }
+        }
+        return types.get(random.nextInt(types.size()));
+    }
+
+    /**
+     * as a string, a JSON number would lose digits on the way through a {@code double}
+     */
+    private String decimal(LogicalTypes.Decimal decimal) {
+        int digits = 1 + random.nextInt(decimal.getPrecision());
+        StringBuilder unscaled = new StringBuilder(digits + 1);
+        if (random.nextBoolean()) {
+            unscaled.append('-');
+        }
+        unscaled.append((char) ('1' + random.nextInt(9)));
+        for (int i = 1; i < digits; i++) {
+            unscaled.append((char) ('0' + random.nextInt(10)));
+        }
+        return new BigDecimal(new BigInteger(unscaled.toString()), decimal.getScale()).toPlainString();
+    }
+
+    private long timestamp() {
+        return MIN_TIMESTAMP + (long) (random.nextDouble() * (MAX_TIMESTAMP - MIN_TIMESTAMP));
+    }
+
+    private String string(int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = ALPHABET[random.nextInt(ALPHABET.length)];
+        }
+        return new String(chars);
+    }
+}
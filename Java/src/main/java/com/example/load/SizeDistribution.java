@@ -0,0 +1,72 @@
+package com.example.load;
+
+import java.util.Random;
+
+/**
+ * Lengths of generated strings and sizes of generated collections.
+ * <p>
+ * Parsed from {@code <n>} for a fixed size, {@code <min>..<max>} for sizes uniformly distributed between both bounds,
+ * inclusive, or {@code exp(<mean>)} for exponentially distributed sizes with the given mean, capped at
+ * {@link #MAX_EXPONENTIAL} times the mean.
+ */
+public abstract class SizeDistribution {
+    static final int MAX_EXPONENTIAL = 16;
+
+    public abstract int next(Random random);
+
+    public static SizeDistribution fixed(int size) {
+        return uniform(size, size);
+    }
+
+    public static SizeDistribution uniform(int min, int max) {
+        if (min < 0 || max < min) {
+            throw new IllegalArgumentException("Invalid size range " + min + ".." + max);
+        }
+        return new SizeDistribution() {
+            @Override
+            public int next(Random random) {
+                return min + random.nextInt(max - min + 1);
+            }
+
+            @Override
+            public String toString() {
+                return min + ".." + max;
+            }
+        };
+    }
+
+    public static SizeDistribution exponential(double mean) {
+        if (mean <= 0) {
+            throw new IllegalArgumentException("Invalid mean size " + mean);
+        }
+        int max = (int) Math.min(Integer.MAX_VALUE, Math.ceil(mean * MAX_EXPONENTIAL));
+        return new SizeDistribution() {
+            @Override
+            public int next(Random random) {
+                return (int) Math.min(max, Math.floor(-mean * Math.log(1 - random.nextDouble())));
+            }
+
+            @Override
+            public String toString() {
+                return "exp(" + mean + ")";
+            }
+        };
+    }
+
+    public static SizeDistribution parse(String spec) {
+        String trimmed = spec.trim();
+        try {
+            if (trimmed.startsWith("exp(") && trimmed.endsWith(")")) {
+                return exponential(Double.parseDouble(trimmed.substring(4, trimmed.length() - 1)));
+            }
+            int range = trimmed.indexOf("..");
+            if (range >= 0) {
+                return uniform(Integer.parseInt(trimmed.substring(0, range).trim()),
+                        Integer.parseInt(trimmed.substring(range + 2).trim()));
+            }
+            return fixed(Integer.parseInt(trimmed));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid size distribution '" + spec + "', expected <n>, <min>..<max> or exp(<mean>)", e);
+        }
+    }
+}
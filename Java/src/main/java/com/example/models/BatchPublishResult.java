@@ -0,0 +1,56 @@
+package com.example.models;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchPublishResult {
+    /**
+     * Number of records handed to the producer.
+     */
+    private int accepted;
+
+    /**
+     * Number of records that could not be parsed, validated, converted or sent.
+     */
+    private int failed;
+
+    /**
+     * One entry per non-blank line of the request body, in order.
+     */
+    private List<RecordResult> results;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class RecordResult {
+        /**
+         * 1-based line number of the record in the request body.
+         */
+        private int line;
+        private Status status;
+        /**
+         * Failure reason, only present for failed records.
+         */
+        private String error;
+        /**
+         * Broker acknowledgement, only present for records sent with {@link DeliveryMode#WAIT_FOR_ACK}.
+         */
+        private PublishResult ack;
+    }
+
+    public enum Status {
+        ACCEPTED,
+        FAILED
+    }
+}
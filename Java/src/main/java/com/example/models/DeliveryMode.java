@@ -0,0 +1,12 @@
+package com.example.models;
+
+public enum DeliveryMode {
+    /**
+     * Respond as soon as the record is handed to the producer.
+     */
+    FIRE_AND_FORGET,
+    /**
+     * Respond once the broker acknowledged the record, with its partition and offset.
+     */
+    WAIT_FOR_ACK
+}
@@ -0,0 +1,45 @@
+package com.example.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoadReport {
+    /**
+     * Messages handed to the publish path.
+     */
+    private long sent;
+
+    /**
+     * Messages that could not be converted or sent.
+     */
+    private long failed;
+
+    private Duration elapsed;
+
+    /**
+     * Messages per second asked for, 0 for as fast as possible.
+     */
+    private double targetRate;
+
+    /**
+     * Messages per second sent.
+     */
+    private double achievedRate;
+
+    /**
+     * Latency percentiles, measured from the time a message was due to the time it was published.
+     */
+    private double p50Millis;
+    private double p90Millis;
+    private double p99Millis;
+    private double p999Millis;
+    private double maxMillis;
+}
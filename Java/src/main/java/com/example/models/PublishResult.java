@@ -0,0 +1,21 @@
+package com.example.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PublishResult {
+    private String topic;
+    private int partition;
+    private long offset;
+    /**
+     * Timestamp the broker stored for the record, the create time or the log append time depending on the topic's
+     * {@code message.timestamp.type}.
+     */
+    private long timestamp;
+}
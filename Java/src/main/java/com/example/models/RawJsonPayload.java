@@ -0,0 +1,130 @@
+package com.example.models;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * The {@code payload} of a {@link SimulateEventRequest} as the tokens read while parsing the request body.
+ * <p>
+ * The tokens are replayed into the Avro converter or written out as UTF-8 JSON, so the payload is parsed only once and
+ * never turned into a tree or a {@link String} on the way.
+ */
+@JsonDeserialize(using = RawJsonPayload.Deserializer.class)
+@JsonSerialize(using = RawJsonPayload.Serializer.class)
+public final class RawJsonPayload {
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private final TokenBuffer tokens;
+    private final int size;
+
+    /**
+     * @param tokens the payload value
+     * @param size   bytes, or characters for text sources, the payload took in the request body, -1 if unknown
+     */
+    public RawJsonPayload(TokenBuffer tokens, int size) {
+        this.tokens = tokens;
+        this.size = size;
+    }
+
+    /**
+     * @param json a single JSON value, UTF-8 encoded
+     */
+    public static RawJsonPayload of(byte[] json) {
+        try (JsonParser parser = JSON.createParser(json)) {
+            parser.nextToken();
+            TokenBuffer tokens = new TokenBuffer(parser);
+            tokens.copyCurrentStructure(parser);
+            return new RawJsonPayload(tokens, json.length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return a parser positioned before the payload value
+     */
+    public JsonParser asParser() {
+        return tokens.asParser();
+    }
+
+    /**
+     * @return the payload as compact UTF-8 encoded JSON
+     */
+    public byte[] toBytes() {
+        ByteArrayBuilder out = new ByteArrayBuilder(size > 0 ? size : 500);
+        try (JsonGenerator generator = JSON.createGenerator(out)) {
+            tokens.serialize(generator);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * @return the size of the payload in the request body, -1 if unknown
+     */
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o == this || o instanceof RawJsonPayload && Arrays.equals(toBytes(), ((RawJsonPayload) o).toBytes());
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(toBytes());
+    }
+
+    @Override
+    public String toString() {
+        return new String(toBytes(), StandardCharsets.UTF_8);
+    }
+
+    public static class Serializer extends StdSerializer<RawJsonPayload> {
+
+        public Serializer() {
+            super(RawJsonPayload.class);
+        }
+
+        @Override
+        public void serialize(RawJsonPayload value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            value.tokens.serialize(gen);
+        }
+    }
+
+    public static class Deserializer extends StdDeserializer<RawJsonPayload> {
+
+        public Deserializer() {
+            super(RawJsonPayload.class);
+        }
+
+        @Override
+        public RawJsonPayload deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            long start = offset(p.getTokenLocation());
+            TokenBuffer tokens = ctxt.bufferAsCopyOfValue(p);
+            long end = offset(p.getCurrentLocation());
+            return new RawJsonPayload(tokens, start < 0 || end < 0 ? -1 : (int) (end - start));
+        }
+
+        private static long offset(JsonLocation location) {
+            return location.getByteOffset() >= 0 ? location.getByteOffset() : location.getCharOffset();
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package com.example.models;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -36,7 +35,8 @@ public class SimulateEventRequest {
     /**
      * A payload specified as a JSON object
      */
-    private JsonNode payload;
+    @NotNull(message = "payload json is required. It can't be null or blank.", groups = ValidatorGroups.AvroValidator.class)
+    private RawJsonPayload payload;
 
     /**
      * A non-mandatory map of headers.
@@ -44,14 +44,9 @@ public class SimulateEventRequest {
     private Map<@NotBlank(message = "Header key name is required. It can't be empty", groups = {ValidatorGroups.JsonValidator.class, ValidatorGroups.AvroValidator.class}) String,
             @NotBlank(message = "Header value is required. It can't be empty", groups = {ValidatorGroups.JsonValidator.class, ValidatorGroups.AvroValidator.class}) String> headers;
 
-    @NotNull(message = "payload json is required. It can't be null or blank.", groups = ValidatorGroups.AvroValidator.class)
-    public String getPayload() {
-        System.out.println("Payload: " + this.payload);
-        if (this.payload == null || this.payload.isNull()) {
-            System.out.println("Payload Inner: " + this.payload);
-            return null;
-        }
-        return this.payload.toString();
-    }
+    /**
+     * A non-mandatory delivery mode, defaults to {@link DeliveryMode#FIRE_AND_FORGET}.
+     */
+    private DeliveryMode deliveryMode;
 
 }
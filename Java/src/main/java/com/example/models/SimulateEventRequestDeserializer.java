@@ -10,6 +10,9 @@ public class SimulateEventRequestDeserializer extends StdConverter<SimulateEvent
         if (simulateEventRequest.getHeaders() == null) {
             simulateEventRequest.setHeaders(new HashMap<>());
         }
+        if (simulateEventRequest.getDeliveryMode() == null) {
+            simulateEventRequest.setDeliveryMode(DeliveryMode.FIRE_AND_FORGET);
+        }
         return simulateEventRequest;
     }
 }
@@ -0,0 +1,446 @@
+package converter;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import org.apache.avro.AvroTypeException;
+import org.apache.avro.Conversion;
+import org.apache.avro.Conversions;
+import org.apache.avro.LogicalType;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericFixed;
+import org.apache.avro.generic.IndexedRecord;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.specific.SpecificData;
+import org.apache.avro.specific.SpecificRecordBase;
+import org.apache.avro.util.Utf8;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes Avro data as JSON straight to a {@link JsonGenerator}, with the output of
+ * {@link org.apache.avro.io.NoWrappingJsonEncoder}: union values are not wrapped in an object naming their branch,
+ * bytes and fixed are written as ISO-8859-1 strings.
+ * <p>
+ * Each schema is compiled once into a tree of writers, with field names and enum symbols serialized ahead, so no
+ * grammar is interpreted per value. {@link #write(IndexedRecord, GenericData, JsonGenerator)} walks a record the way
+ * {@link org.apache.avro.generic.GenericDatumWriter} or {@link org.apache.avro.specific.SpecificDatumWriter} would,
+ * logical type conversions of the given model included. {@link #transcode(Schema, BinaryDecoder, JsonGenerator)}
+ * turns Avro binary into the JSON of the record {@link org.apache.avro.generic.GenericDatumReader} would read, without
+ * building it.
+ * <p>
+ * Values the datum writers would reject, with a {@link ClassCastException} or {@link NullPointerException} among others,
+ * fail {@code write} with an {@link org.apache.avro.AvroRuntimeException} and leave the generator halfway, so any other
+ * exception is a bug of this class rather than of the datum. Malformed binary fails {@code transcode} with an
+ * {@link org.apache.avro.AvroRuntimeException}, or with the {@link IOException}, {@link IndexOutOfBoundsException} or
+ * {@link UnsupportedOperationException} of the decoder. Callers that need the writers' error take their path on failure.
+ */
+public class AvroJsonWriter {
+    private final SchemaKeyedCache<Node> plans = new SchemaKeyedCache<>(CompositeJsonToAvroReader.DEFAULT_PLAN_CACHE_SIZE);
+
+    /**
+     * @param record the record to write
+     * @param model  {@link GenericData#get()} for the generic writer's output, the record's {@link SpecificData} for
+     *               the specific writer's
+     * @param out    receives the JSON object, it is not flushed
+     */
+    public void write(IndexedRecord record, GenericData model, JsonGenerator out) throws IOException {
+        plan(record.getSchema()).write(record, model, out);
+    }
+
+    /**
+     * @param schema the schema the data was written with
+     * @param in     positioned at the start of a datum
+     * @param out    receives the JSON value, it is not flushed
+     */
+    public void transcode(Schema schema, BinaryDecoder in, JsonGenerator out) throws IOException {
+        plan(schema).transcode(in, out, new Scratch());
+    }
+
+    private Node plan(Schema schema) {
+        return plans.get(schema, s -> new Planner().plan(s));
+    }
+
+    private static final class Planner {
+        private final Map<Schema, RecordNode> records = new IdentityHashMap<>();
+
+        private Node plan(Schema schema) {
+            switch (schema.getType()) {
+                case RECORD:
+                    RecordNode record = records.get(schema);
+                    if (record == null) {
+                        record = new RecordNode(schema);
+                        records.put(schema, record);
+                        List<Schema.Field> fields = schema.getFields();
+                        for (int i = 0; i < fields.size(); i++) {
+                            record.fields[i] = plan(fields.get(i).schema());
+                        }
+                    }
+                    return record;
+                case ARRAY:
+                    return new ArrayNode(schema, plan(schema.getElementType()));
+                case MAP:
+                    return new MapNode(schema, plan(schema.getValueType()));
+                case UNION:
+                    List<Schema> types = schema.getTypes();
+                    Node[] branches = new Node[types.size()];
+                    for (int i = 0; i < branches.length; i++) {
+                        branches[i] = plan(types.get(i));
+                    }
+                    return new UnionNode(schema, branches);
+                case ENUM:
+                    return new EnumNode(schema);
+                default:
+                    return new PrimitiveNode(schema);
+            }
+        }
+    }
+
+    private abstract static class Node {
+        final Schema schema;
+        private final LogicalType logicalType;
+
+        Node(Schema schema) {
+            this.schema = schema;
+            this.logicalType = schema.getLogicalType();
+        }
+
+        /**
+         * GenericDatumWriter.write: logical values are turned into their raw type first
+         */
+        void write(Object datum, GenericData model, JsonGenerator out) throws IOException {
+            if (datum != null && logicalType != null) {
+                Conversion<?> conversion = model.getConversionByClass(datum.getClass(), logicalType);
+                if (conversion != null) {
+                    datum = Conversions.convertToRawType(datum, schema, logicalType, conversion);
+                }
+            }
+            writeRaw(datum, model, out);
+        }
+
+        /**
+         * @return {@code datum} as a {@code type}
+         * @throws AvroTypeException where the datum writers would fail the cast, or dereference null
+         */
+        <T> T expect(Class<T> type, Object datum) {
+            if (!type.isInstance(datum)) {
+                throw new AvroTypeException("Not a " + schema.getType().getName() + ": " + datum);
+            }
+            return type.cast(datum);
+        }
+
+        abstract void writeRaw(Object datum, GenericData model, JsonGenerator out) throws IOException;
+
+        abstract void transcode(BinaryDecoder in, JsonGenerator out, Scratch scratch) throws IOException;
+    }
+
+    private static final class RecordNode extends Node {
+        private final SerializableString[] names;
+        private final Node[] fields;
+
+        private RecordNode(Schema schema) {
+            super(schema);
+            List<Schema.Field> schemaFields = schema.getFields();
+            this.names = new SerializableString[schemaFields.size()];
+            this.fields = new Node[schemaFields.size()];
+            for (int i = 0; i < names.length; i++) {
+                names[i] = new SerializedString(schemaFields.get(i).name());
+            }
+        }
+
+        @Override
+        void writeRaw(Object datum, GenericData model, JsonGenerator out) throws IOException {
+            IndexedRecord record = expect(IndexedRecord.class, datum);
+            if (record.getSchema().getFields().size() < fields.length) {
+                throw new AvroTypeException("Not a " + schema.getFullName() + ": " + record.getSchema().getFullName());
+            }
+            // SpecificDatumWriter.writeField: a specific record names the conversion of each of its fields
+            SpecificRecordBase specific = model instanceof SpecificData && record instanceof SpecificRecordBase ?
+                    (SpecificRecordBase) record : null;
+            out.writeStartObject();
+            for (int i = 0; i < fields.length; i++) {
+                out.writeFieldName(names[i]);
+                Object value = record.get(i);
+                if (specific == null) {
+                    fields[i].write(value, model, out);
+                    continue;
+                }
+                Conversion<?> conversion = specific.getConversion(i);
+                LogicalType logicalType = fields[i].logicalType;
+                if (conversion != null && logicalType != null && value != null) {
+                    value = Conversions.convertToRawType(value, fields[i].schema, logicalType, conversion);
+                }
+                fields[i].writeRaw(value, model, out);
+            }
+            out.writeEndObject();
+        }
+
+        @Override
+        void transcode(BinaryDecoder in, JsonGenerator out, Scratch scratch) throws IOException {
+            out.writeStartObject();
+            for (int i = 0; i < fields.length; i++) {
+                out.writeFieldName(names[i]);
+                fields[i].transcode(in, out, scratch);
+            }
+            out.writeEndObject();
+        }
+    }
+
+    private static final class ArrayNode extends Node {
+        private final Node elements;
+
+        private ArrayNode(Schema schema, Node elements) {
+            super(schema);
+            this.elements = elements;
+        }
+
+        @Override
+        void writeRaw(Object datum, GenericData model, JsonGenerator out) throws IOException {
+            out.writeStartArray();
+            for (Object element : expect(Collection.class, datum)) {
+                elements.write(element, model, out);
+            }
+            out.writeEndArray();
+        }
+
+        @Override
+        void transcode(BinaryDecoder in, JsonGenerator out, Scratch scratch) throws IOException {
+            out.writeStartArray();
+            for (long block = in.readArrayStart(); block != 0; block = in.arrayNext()) {
+                for (long i = 0; i < block; i++) {
+                    elements.transcode(in, out, scratch);
+                }
+            }
+            out.writeEndArray();
+        }
+    }
+
+    private static final class MapNode extends Node {
+        private final Node values;
+
+        private MapNode(Schema schema, Node values) {
+            super(schema);
+            this.values = values;
+        }
+
+        @Override
+        void writeRaw(Object datum, GenericData model, JsonGenerator out) throws IOException {
+            out.writeStartObject();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) expect(Map.class, datum)).entrySet()) {
+                if (entry.getKey() == null) {
+                    throw new AvroTypeException("Null key in map " + schema);
+                }
+                out.writeFieldName(entry.getKey().toString());
+                values.write(entry.getValue(), model, out);
+            }
+            out.writeEndObject();
+        }
+
+        @Override
+        void transcode(BinaryDecoder in, JsonGenerator out, Scratch scratch) throws IOException {
+            out.writeStartObject();
+            for (long block = in.readMapStart(); block != 0; block = in.mapNext()) {
+                for (long i = 0; i < block; i++) {
+                    scratch.utf8 = in.readString(scratch.utf8);
+                    out.writeFieldName(scratch.utf8.toString());
+                    values.transcode(in, out, scratch);
+                }
+            }
+            out.writeEndObject();
+        }
+    }
+
+    private static final class UnionNode extends Node {
+        private final Node[] branches;
+
+        private UnionNode(Schema schema, Node[] branches) {
+            super(schema);
+            this.branches = branches;
+        }
+
+        @Override
+        void writeRaw(Object datum, GenericData model, JsonGenerator out) throws IOException {
+            branches[model.resolveUnion(schema, datum)].write(datum, model, out);
+        }
+
+        @Override
+        void transcode(BinaryDecoder in, JsonGenerator out, Scratch scratch) throws IOException {
+            int branch = in.readIndex();
+            if (branch < 0 || branch >= branches.length) {
+                throw new AvroTypeException("Union index " + branch + " out of bounds for " + schema);
+            }
+            branches[branch].transcode(in, out, scratch);
+        }
+    }
+
+    private static final class EnumNode extends Node {
+        private final SerializableString[] symbols;
+
+        private EnumNode(Schema schema) {
+            super(schema);
+            List<String> enumSymbols = schema.getEnumSymbols();
+            this.symbols = new SerializableString[enumSymbols.size()];
+            for (int i = 0; i < symbols.length; i++) {
+                symbols[i] = new SerializedString(enumSymbols.get(i));
+            }
+        }
+
+        @Override
+        void writeRaw(Object datum, GenericData model, JsonGenerator out) throws IOException {
+            int ordinal;
+            if (datum instanceof Enum && model instanceof SpecificData) {
+                ordinal = ((Enum<?>) datum).ordinal();
+            } else if (model.isEnum(datum) && schema.hasEnumSymbol(datum.toString())) {
+                ordinal = schema.getEnumOrdinal(datum.toString());
+            } else {
+                throw new AvroTypeException("Not an enum: " + datum + " for schema: " + schema);
+            }
+            out.writeString(symbols[ordinal]);
+        }
+
+        @Override
+        void transcode(BinaryDecoder in, JsonGenerator out, Scratch scratch) throws IOException {
+            out.writeString(symbols[in.readEnum()]);
+        }
+    }
+
+    private static final class PrimitiveNode extends Node {
+        private final Schema.Type type;
+
+        private PrimitiveNode(Schema schema) {
+            super(schema);
+            this.type = schema.getType();
+        }
+
+        @Override
+        void writeRaw(Object datum, GenericData model, JsonGenerator out) throws IOException {
+            switch (type) {
+                case STRING:
+                    if (!(datum instanceof CharSequence) && !(model instanceof SpecificData && datum != null)) {
+                        throw new AvroTypeException("Not a string: " + datum);
+                    }
+                    out.writeString(datum.toString());
+                    break;
+                case BYTES:
+                    ByteBuffer bytes = expect(ByteBuffer.class, datum).duplicate();
+                    char[] chars = new char[bytes.remaining()];
+                    for (int i = 0; i < chars.length; i++) {
+                        chars[i] = (char) (bytes.get() & 0xff);
+                    }
+                    out.writeString(chars, 0, chars.length);
+                    break;
+                case FIXED:
+                    byte[] fixed = expect(GenericFixed.class, datum).bytes();
+                    if (fixed.length < schema.getFixedSize()) {
+                        throw new AvroTypeException("Not a " + schema.getFullName() + ": " + fixed.length + " bytes");
+                    }
+                    writeLatin1(fixed, schema.getFixedSize(), out, new char[schema.getFixedSize()]);
+                    break;
+                case INT:
+                    out.writeNumber(expect(Number.class, datum).intValue());
+                    break;
+                case LONG:
+                    out.writeNumber(expect(Number.class, datum).longValue());
+                    break;
+                case FLOAT:
+                    // JsonEncoder.writeFloat widens to double before writing
+                    out.writeNumber(expect(Number.class, datum).floatValue() + 0d);
+                    break;
+                case DOUBLE:
+                    out.writeNumber(expect(Number.class, datum).doubleValue());
+                    break;
+                case BOOLEAN:
+                    out.writeBoolean(expect(Boolean.class, datum));
+                    break;
+                case NULL:
+                    out.writeNull();
+                    break;
+                default:
+                    throw new AvroTypeException("Unsupported type " + type);
+            }
+        }
+
+        @Override
+        void transcode(BinaryDecoder in, JsonGenerator out, Scratch scratch) throws IOException {
+            switch (type) {
+                case STRING:
+                    scratch.utf8 = in.readString(scratch.utf8);
+                    out.writeString(scratch.utf8.toString());
+                    break;
+                case BYTES:
+                    scratch.bytes = in.readBytes(scratch.bytes);
+                    int length = scratch.bytes.remaining();
+                    writeLatin1(scratch.bytes.array(), scratch.bytes.arrayOffset() + scratch.bytes.position(), length, out, scratch.chars(length));
+                    break;
+                case FIXED:
+                    int size = schema.getFixedSize();
+                    byte[] fixed = scratch.fixed(size);
+                    in.readFixed(fixed, 0, size);
+                    writeLatin1(fixed, size, out, scratch.chars(size));
+                    break;
+                case INT:
+                    out.writeNumber(in.readInt());
+                    break;
+                case LONG:
+                    out.writeNumber(in.readLong());
+                    break;
+                case FLOAT:
+                    out.writeNumber(in.readFloat() + 0d);
+                    break;
+                case DOUBLE:
+                    out.writeNumber(in.readDouble());
+                    break;
+                case BOOLEAN:
+                    out.writeBoolean(in.readBoolean());
+                    break;
+                case NULL:
+                    in.readNull();
+                    out.writeNull();
+                    break;
+                default:
+                    throw new AvroTypeException("Unsupported type " + type);
+            }
+        }
+
+        private static void writeLatin1(byte[] bytes, int length, JsonGenerator out, char[] chars) throws IOException {
+            writeLatin1(bytes, 0, length, out, chars);
+        }
+
+        private static void writeLatin1(byte[] bytes, int offset, int length, JsonGenerator out, char[] chars) throws IOException {
+            for (int i = 0; i < length; i++) {
+                chars[i] = (char) (bytes[offset + i] & 0xff);
+            }
+            out.writeString(chars, 0, length);
+        }
+    }
+
+    /**
+     * buffers reused while transcoding one datum
+     */
+    private static final class Scratch {
+        private Utf8 utf8;
+        private ByteBuffer bytes;
+        private byte[] fixed = new byte[0];
+        private char[] chars = new char[64];
+
+        private byte[] fixed(int size) {
+            if (fixed.length < size) {
+                fixed = new byte[size];
+            }
+            return fixed;
+        }
+
+        private char[] chars(int size) {
+            if (chars.length < size) {
+                chars = new char[Math.max(size, chars.length << 1)];
+            }
+            return chars;
+        }
+    }
+}
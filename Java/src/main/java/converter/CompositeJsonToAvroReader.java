@@ -6,10 +6,18 @@ import org.apache.avro.generic.GenericData;
 import converter.types.*;
 
 import java.util.*;
+import java.util.function.Function;
 
 public class CompositeJsonToAvroReader implements JsonToAvroReader {
+    /**
+     * Number of record schemas for which a {@link ConversionPlan} is kept
+     */
+    public static final int DEFAULT_PLAN_CACHE_SIZE = 256;
+
     private final List<AvroTypeConverter> converters;
     private final AvroTypeConverter mainRecordConverter;
+    private final SchemaKeyedCache<ConversionPlan> plans = new SchemaKeyedCache<>(DEFAULT_PLAN_CACHE_SIZE);
+    private final Function<Schema, ConversionPlan> planFactory;
 
     public CompositeJsonToAvroReader() {
         this(Collections.emptyList(), null);
@@ -44,7 +52,15 @@ public class CompositeJsonToAvroReader implements JsonToAvroReader {
         this.converters = new ArrayList<>();
         this.converters.addAll(additionalConverters);
         this.converters.add(BytesDecimalConverter.INSTANCE);
+        this.converters.add(FixedDecimalConverter.INSTANCE);
         this.converters.add(LongTimestampMillisConverter.INSTANCE);
+        this.converters.add(TemporalConverter.TIMESTAMP_MICROS);
+        this.converters.add(TemporalConverter.LOCAL_TIMESTAMP_MILLIS);
+        this.converters.add(TemporalConverter.LOCAL_TIMESTAMP_MICROS);
+        this.converters.add(TemporalConverter.DATE);
+        this.converters.add(TemporalConverter.TIME_MILLIS);
+        this.converters.add(TemporalConverter.TIME_MICROS);
+        this.converters.add(UuidConverter.INSTANCE);
         this.converters.add(PrimitiveConverter.BOOLEAN);
         this.converters.add(PrimitiveConverter.STRING);
         this.converters.add(PrimitiveConverter.INT);
@@ -58,24 +74,30 @@ public class CompositeJsonToAvroReader implements JsonToAvroReader {
         this.converters.add(new ArrayConverter(this));
         this.converters.add(new MapConverter(this));
         this.converters.add(new UnionConverter(this));
+        this.planFactory = schema -> new ConversionPlan(schema, this.mainRecordConverter, this::resolve);
     }
 
     @Override
     public GenericData.Record read(Map<String, Object> json, Schema schema) {
-        return (GenericData.Record) this.mainRecordConverter.convert(null, schema, json, new ArrayDeque<>(), false);
+        ConversionPlan plan = plan(schema);
+        return (GenericData.Record) this.mainRecordConverter.convert(null, schema, json, new PlannedPath(plan.root()), false);
     }
 
     @Override
     public Object read(Schema.Field field, Schema schema, Object jsonValue, Deque<String> path, boolean silently) {
+        if (path instanceof PlannedPath) {
+            return readPlanned(field, schema, jsonValue, (PlannedPath) path, silently);
+        }
+
         boolean pushed = !field.name().equals(path.peekLast());
         if (pushed) {
             path.addLast(field.name());
         }
 
-        AvroTypeConverter converter = this.converters.stream()
-                .filter(c -> c.canManage(schema, path))
-                .findFirst()
-                .orElseThrow(() -> new AvroTypeException("Unsupported type: " + field.schema().getType()));
+        AvroTypeConverter converter = resolve(schema, path);
+        if (converter == null) {
+            throw new AvroTypeException("Unsupported type: " + field.schema().getType());
+        }
         Object result = converter.convert(field, schema, jsonValue, path, silently);
 
         if (pushed) {
@@ -83,4 +105,41 @@ public class CompositeJsonToAvroReader implements JsonToAvroReader {
         }
         return result;
     }
+
+    @Override
+    public UnionBranches unionBranches(Schema union, Deque<String> path) {
+        if (path instanceof PlannedPath) {
+            ConversionPlan.Node node = ((PlannedPath) path).current();
+            if (node.schema == union || node.schema.equals(union)) {
+                return node.unionBranches();
+            }
+        }
+        return null;
+    }
+
+    ConversionPlan plan(Schema schema) {
+        return plans.get(schema, planFactory);
+    }
+
+    private Object readPlanned(Schema.Field field, Schema schema, Object jsonValue, PlannedPath path, boolean silently) {
+        ConversionPlan.Node node = path.current().child(field, schema);
+        if (node.converter == null) {
+            throw new AvroTypeException("Unsupported type: " + field.schema().getType());
+        }
+        path.enter(node);
+        try {
+            return node.converter.convert(field, schema, jsonValue, path, silently);
+        } finally {
+            path.exit(node);
+        }
+    }
+
+    private AvroTypeConverter resolve(Schema schema, Deque<String> path) {
+        for (AvroTypeConverter converter : this.converters) {
+            if (converter.canManage(schema, path)) {
+                return converter;
+            }
+        }
+        return null;
+    }
 }
@@ -0,0 +1,180 @@
+package converter;
+
+import converter.types.AvroTypeConverter;
+import converter.types.UnionBranches;
+import org.apache.avro.Schema;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * Tree of {@link AvroTypeConverter}s resolved for every position of a record schema.
+ * <p>
+ * Each node knows the converter for its schema and the path under which it is reached, so converters whose
+ * {@link AvroTypeConverter#canManage(Schema, Deque)} depends on the path resolve exactly as they would at read time.
+ * Children are resolved on first visit and kept, which keeps recursive schemas finite and leaves hot requests with
+ * nothing but array lookups.
+ */
+class ConversionPlan {
+    private final Node root;
+    private final BiFunction<Schema, Deque<String>, AvroTypeConverter> resolver;
+
+    /**
+     * @param schema the record schema the plan is built for
+     * @param rootConverter the converter used for the top level record
+     * @param resolver picks the converter for a schema reached under a path, or returns null if none can manage it
+     */
+    ConversionPlan(Schema schema, AvroTypeConverter rootConverter, BiFunction<Schema, Deque<String>, AvroTypeConverter> resolver) {
+        this.resolver = resolver;
+        this.root = new Node(this, null, null, schema, rootConverter);
+    }
+
+    Node root() {
+        return root;
+    }
+
+    private Node build(Node parent, Schema.Field field, Schema schema) {
+        String segment = field == null || field.name().equals(parent.lastSegment) ? null : field.name();
+        Deque<String> path = parent.path();
+        if (segment != null) {
+            path.addLast(segment);
+        }
+        return new Node(this, parent, segment, schema, resolver.apply(schema, path));
+    }
+
+    static final class Node {
+        final Node parent;
+        /**
+         * path segment added by this node, null when it is reached under the same field name as its parent
+         * (array elements, map values and union branches)
+         */
+        final String segment;
+        final String lastSegment;
+        /**
+         * number of segments on the path of this node
+         */
+        final int depth;
+        final Schema schema;
+        /**
+         * null when no converter can manage the schema under this path
+         */
+        final AvroTypeConverter converter;
+        private final ConversionPlan plan;
+        private final Node[] children;
+        private UnionBranches unionBranches;
+
+        private Node(ConversionPlan plan, Node parent, String segment, Schema schema, AvroTypeConverter converter) {
+            this.plan = plan;
+            this.parent = parent;
+            this.segment = segment;
+            this.lastSegment = segment != null ? segment : parent != null ? parent.lastSegment : null;
+            this.depth = (parent != null ? parent.depth : 0) + (segment != null ? 1 : 0);
+            this.schema = schema;
+            this.converter = converter;
+            this.children = new Node[slotCount(schema)];
+        }
+
+        /**
+         * @return the node reached when a converter of this node reads {@code field} with {@code childSchema}
+         */
+        Node child(Schema.Field field, Schema childSchema) {
+            int slot = slotOf(field, childSchema);
+            if (slot < 0) {
+                // a custom converter walked somewhere the schema does not lead, resolve without keeping the node
+                return plan.build(this, field, childSchema);
+            }
+            Node child = children[slot];
+            if (child == null) {
+                // racing threads build equal nodes; final fields make whichever wins safe to publish
+                child = plan.build(this, field, childSchema);
+                children[slot] = child;
+            }
+            return child;
+        }
+
+        /**
+         * @return the branches of this union node, resolved with the converters of its children
+         */
+        UnionBranches unionBranches() {
+            UnionBranches branches = unionBranches;
+            if (branches == null) {
+                List<Schema> types = schema.getTypes();
+                List<AvroTypeConverter> converters = new ArrayList<>(types.size());
+                for (Schema type : types) {
+                    // union branches are reached under the union's own field name, so no field is needed
+                    converters.add(child(null, type).converter);
+                }
+                branches = new UnionBranches(schema, converters);
+                unionBranches = branches;
+            }
+            return branches;
+        }
+
+        Deque<String> path() {
+            Deque<String> path = new ArrayDeque<>();
+            for (Node node = this; node != null; node = node.parent) {
+                if (node.segment != null) {
+                    path.addFirst(node.segment);
+                }
+            }
+            return path;
+        }
+
+        private int slotOf(Schema.Field field, Schema childSchema) {
+            switch (schema.getType()) {
+                case RECORD:
+                    if (field != null && field.pos() < children.length) {
+                        Schema.Field own = schema.getFields().get(field.pos());
+                        if ((own == field || own.name().equals(field.name())) && sameSchema(own.schema(), childSchema)) {
+                            return field.pos();
+                        }
+                    }
+                    return -1;
+                case ARRAY:
+                    return sameSchema(schema.getElementType(), childSchema) ? 0 : -1;
+                case MAP:
+                    return sameSchema(schema.getValueType(), childSchema) ? 0 : -1;
+                case UNION:
+                    List<Schema> types = schema.getTypes();
+                    for (int i = 0; i < types.size(); i++) {
+                        if (types.get(i) == childSchema) {
+                            return i;
+                        }
+                    }
+                    for (int i = 0; i < types.size(); i++) {
+                        if (types.get(i).equals(childSchema)) {
+                            return i;
+                        }
+                    }
+                    return -1;
+                default:
+                    return -1;
+            }
+        }
+
+        /**
+         * Plans are cached by schema equality, so a caller may walk one with an equal schema parsed separately; its
+         * children are then equal rather than the same objects and still find their node.
+         */
+        private static boolean sameSchema(Schema own, Schema other) {
+            return own == other || own.equals(other);
+        }
+
+        private static int slotCount(Schema schema) {
+            switch (schema.getType()) {
+                case RECORD:
+                    return schema.getFields().size();
+                case ARRAY:
+                case MAP:
+                    return 1;
+                case UNION:
+                    return schema.getTypes().size();
+                default:
+                    return 0;
+            }
+        }
+    }
+}
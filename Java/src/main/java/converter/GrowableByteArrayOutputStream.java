@@ -0,0 +1,85 @@
+package converter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Unsynchronized byte array output stream that can also rewind and splice bytes in front of already written data,
+ * which lets block counts be written once the number of items is known.
+ */
+public class GrowableByteArrayOutputStream extends OutputStream {
+    private byte[] buf;
+    private int count;
+
+    public GrowableByteArrayOutputStream() {
+        this(256);
+    }
+
+    public GrowableByteArrayOutputStream(int initialCapacity) {
+        this.buf = new byte[initialCapacity];
+    }
+
+    @Override
+    public void write(int b) {
+        ensureCapacity(count + 1);
+        buf[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        ensureCapacity(count + len);
+        System.arraycopy(b, off, buf, count, len);
+        count += len;
+    }
+
+    /**
+     * inserts {@code len} bytes of {@code b} at {@code position}, moving everything written after it
+     */
+    public void insert(int position, byte[] b, int off, int len) {
+        ensureCapacity(count + len);
+        System.arraycopy(buf, position, buf, position + len, count - position);
+        System.arraycopy(b, off, buf, position, len);
+        count += len;
+    }
+
+    /**
+     * drops everything written after {@code position}
+     */
+    public void truncate(int position) {
+        count = position;
+    }
+
+    public void reset() {
+        count = 0;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public int capacity() {
+        return buf.length;
+    }
+
+    /**
+     * @return the backing array, valid up to {@link #size()} and only until the next write
+     */
+    public byte[] array() {
+        return buf;
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(buf, 0, count);
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buf, count);
+    }
+
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity > buf.length) {
+            buf = Arrays.copyOf(buf, Math.max(minCapacity, buf.length << 1));
+        }
+    }
+}
@@ -1,49 +1,82 @@
 package converter;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.avro.AvroRuntimeException;
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericData;
 import org.apache.avro.generic.GenericDatumReader;
 import org.apache.avro.generic.GenericDatumWriter;
 import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.specific.SpecificData;
 import org.apache.avro.specific.SpecificDatumReader;
 import org.apache.avro.specific.SpecificDatumWriter;
 import org.apache.avro.specific.SpecificRecord;
 import org.apache.avro.specific.SpecificRecordBase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.apache.avro.io.BinaryDecoder;
 import org.apache.avro.io.BinaryEncoder;
 import org.apache.avro.io.DatumWriter;
 import org.apache.avro.io.Decoder;
 import org.apache.avro.io.DecoderFactory;
-import org.apache.avro.io.EncoderFactory;
 import org.apache.avro.io.NoWrappingJsonEncoder;
 
+/**
+ * Converts JSON to Avro and back.
+ * <p>
+ * Output buffers, encoders and decoders are reused per thread and datum writers and readers are cached per schema,
+ * so a conversion allocates little more than its result. JSON is written by {@link AvroJsonWriter}, with
+ * {@link NoWrappingJsonEncoder} only reporting the errors of data it cannot write. The overloads taking an {@link OutputStream} or a
+ * {@link ByteBuffer} write the result there instead of returning a copy.
+ */
 public class JsonAvroConverter {
-    private JsonGenericRecordReader recordReader;
+    private static final Logger LOG = LoggerFactory.getLogger(JsonAvroConverter.class);
+
+    private final JsonGenericRecordReader recordReader;
+    private final StreamingJsonAvroEncoder streamingEncoder;
+    private final SchemaKeyedCache<GenericDatumWriter<Object>> writers = new SchemaKeyedCache<>(CompositeJsonToAvroReader.DEFAULT_PLAN_CACHE_SIZE);
+    private final SchemaKeyedCache<SpecificDatumWriter<Object>> specificWriters = new SchemaKeyedCache<>(CompositeJsonToAvroReader.DEFAULT_PLAN_CACHE_SIZE);
+    private final SchemaKeyedCache<GenericDatumReader<GenericRecord>> readers = new SchemaKeyedCache<>(CompositeJsonToAvroReader.DEFAULT_PLAN_CACHE_SIZE);
+    private final SchemaKeyedCache<SpecificData> specificModels = new SchemaKeyedCache<>(CompositeJsonToAvroReader.DEFAULT_PLAN_CACHE_SIZE);
+    private final SpecificRecordBinder specificRecordBinder = new SpecificRecordBinder();
+    private final AvroJsonWriter jsonWriter = new AvroJsonWriter();
+    private final SchemaKeyedCache<Boolean> fallbackSchemas = new SchemaKeyedCache<>(CompositeJsonToAvroReader.DEFAULT_PLAN_CACHE_SIZE);
+    private final LongAdder jsonFallbacks = new LongAdder();
 
     public JsonAvroConverter() {
-        this.recordReader = new JsonGenericRecordReader();
+        this(new JsonGenericRecordReader());
     }
 
     public JsonAvroConverter(ObjectMapper objectMapper) {
-        this.recordReader = new JsonGenericRecordReader(objectMapper);
+        this(new JsonGenericRecordReader(objectMapper));
     }
 
     public JsonAvroConverter(ObjectMapper objectMapper, JsonToAvroReader jsonToAvroReader) {
-        this.recordReader = new JsonGenericRecordReader(objectMapper, jsonToAvroReader);
+        this(new JsonGenericRecordReader(objectMapper, jsonToAvroReader));
     }
 
     public JsonAvroConverter(JsonToAvroReader jsonToAvroReader) {
-        this.recordReader = new JsonGenericRecordReader(jsonToAvroReader);
+        this(new JsonGenericRecordReader(jsonToAvroReader));
     }
 
     public JsonAvroConverter(ObjectMapper objectMapper, UnknownFieldListener unknownFieldListener) {
-        this.recordReader = new JsonGenericRecordReader(objectMapper, unknownFieldListener);
+        this(new JsonGenericRecordReader(objectMapper, unknownFieldListener));
+    }
+
+    private JsonAvroConverter(JsonGenericRecordReader recordReader) {
+        this.recordReader = recordReader;
+        this.streamingEncoder = recordReader.jsonToAvroReader() instanceof CompositeJsonToAvroReader ?
+                new StreamingJsonAvroEncoder(recordReader.mapper(), (CompositeJsonToAvroReader) recordReader.jsonToAvroReader()) :
+                null;
     }
 
     public byte[] convertToAvro(byte[] data, String schema) {
@@ -51,32 +84,124 @@ public class JsonAvroConverter {
     }
 
     public byte[] convertToAvro(byte[] data, Schema schema) {
+        ReusableEncoding encoding = ReusableEncoding.acquire();
+        try {
+            writeAvro(convertToGenericDataRecord(data, schema), encoding.binaryEncoder());
+            return encoding.buffer().toByteArray();
+        } finally {
+            encoding.release();
+        }
+    }
+
+    /**
+     * Writes the Avro binary encoding of the JSON document to {@code out}, which is neither flushed nor closed.
+     */
+    public void convertToAvro(byte[] data, Schema schema, OutputStream out) {
+        ReusableEncoding encoding = ReusableEncoding.acquire();
+        try {
+            writeAvro(convertToGenericDataRecord(data, schema), encoding.binaryEncoder());
+            encoding.buffer().writeTo(out);
+        } catch (IOException e) {
+            throw new AvroConversionException("Failed to convert to AVRO.", e);
+        } finally {
+            encoding.release();
+        }
+    }
+
+    /**
+     * Writes the Avro binary encoding of the JSON document into {@code target} from its position. The record is encoded
+     * into a pooled buffer first and copied once it is known to fit.
+     *
+     * @return the number of bytes written
+     * @throws BufferOverflowException if the encoding does not fit, {@code target} is then left unchanged
+     */
+    public int convertToAvro(byte[] data, Schema schema, ByteBuffer target) {
+        GenericData.Record record = convertToGenericDataRecord(data, schema);
+        ReusableEncoding encoding = ReusableEncoding.acquire();
+        try {
+            writeAvro(record, encoding.binaryEncoder());
+            GrowableByteArrayOutputStream encoded = encoding.buffer();
+            if (encoded.size() > target.remaining()) {
+                throw new BufferOverflowException();
+            }
+            target.put(encoded.array(), 0, encoded.size());
+            return encoded.size();
+        } finally {
+            encoding.release();
+        }
+    }
+
+    private void writeAvro(GenericData.Record record, BinaryEncoder encoder) {
         try {
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            BinaryEncoder encoder = EncoderFactory.get().binaryEncoder(outputStream, null);
-            GenericDatumWriter<Object> writer = new GenericDatumWriter<>(schema);
-            writer.write(convertToGenericDataRecord(data, schema), encoder);
+            writers.get(record.getSchema(), PrimitiveArrayDatumWriter::new).write(record, encoder);
             encoder.flush();
-            return outputStream.toByteArray();
         } catch (IOException e) {
             throw new AvroConversionException("Failed to convert to AVRO.", e);
         }
     }
 
+    public byte[] convertToAvroStreaming(byte[] data, String schema) {
+        return convertToAvroStreaming(data, new Schema.Parser().parse(schema));
+    }
+
+    /**
+     * Encodes straight from the JSON tokens, without the intermediate {@link java.util.Map} and {@link GenericData.Record}
+     * of {@link #convertToAvro(byte[], Schema)}; the result decodes to the same record, though map entries may be
+     * written in another order and errors may be reported differently, see {@link StreamingJsonAvroEncoder}. Falls back
+     * to {@link #convertToAvro(byte[], Schema)} when the converter was built with a {@link JsonToAvroReader} other than
+     * {@link CompositeJsonToAvroReader}.
+     */
+    public byte[] convertToAvroStreaming(byte[] data, Schema schema) {
+        if (streamingEncoder == null) {
+            return convertToAvro(data, schema);
+        }
+        ReusableEncoding encoding = ReusableEncoding.acquire();
+        try {
+            streamingEncoder.encode(data, schema, encoding.buffer());
+            return encoding.buffer().toByteArray();
+        } finally {
+            encoding.release();
+        }
+    }
+
     public GenericData.Record convertToGenericDataRecord(byte[] data, Schema schema) {
         return recordReader.read(data, schema);
     }
 
+    /**
+     * Converts the next JSON value of {@code parser}, which saves serializing and parsing again a value that was
+     * already read, e.g. as a {@link com.fasterxml.jackson.databind.util.TokenBuffer}.
+     */
+    public GenericData.Record convertToGenericDataRecord(JsonParser parser, Schema schema) {
+        return recordReader.read(parser, schema);
+    }
+
+    /**
+     * Builds the specific record straight from the converted values when the schema is the class's own schema, see
+     * {@link SpecificRecordBinder}; any other case takes an Avro binary round trip through the class's reader.
+     */
     public <T extends SpecificRecordBase & SpecificRecord> T convertToSpecificRecord(byte[] jsonData, Class<T> clazz, Schema schema) {
-        byte[] avroBinaryData = this.convertToAvro(jsonData, schema);
-        SpecificDatumReader<T> reader = new SpecificDatumReader<T>(clazz);
-        ByteArrayInputStream inStream = new ByteArrayInputStream(avroBinaryData);
-        Decoder binaryDecoder = DecoderFactory.get().directBinaryDecoder(inStream, null);
+        GenericData.Record record = convertToGenericDataRecord(jsonData, schema);
+        T bound = specificRecordBinder.bind(record, clazz, schema);
+        return bound != null ? bound : readSpecificRecord(record, clazz, schema);
+    }
+
+    /**
+     * the binary round trip {@link #convertToSpecificRecord(byte[], Class, Schema)} falls back to
+     */
+    <T extends SpecificRecordBase & SpecificRecord> T readSpecificRecord(GenericData.Record record, Class<T> clazz, Schema schema) {
+        ReusableEncoding encoding = ReusableEncoding.acquire();
         try {
+            writeAvro(record, encoding.binaryEncoder());
+            GrowableByteArrayOutputStream avro = encoding.buffer();
+            SpecificDatumReader<T> reader = new SpecificDatumReader<T>(clazz);
+            Decoder binaryDecoder = encoding.binaryDecoder(avro.array(), 0, avro.size());
             Decoder decoder = DecoderFactory.get().validatingDecoder(schema, binaryDecoder);
             return reader.read(null, decoder);
         } catch (IOException e) {
             throw new AvroConversionException("Failed to convert to AVRO.", e);
+        } finally {
+            encoding.release();
         }
     }
 
@@ -88,26 +213,129 @@ public class JsonAvroConverter {
         return convertToJson(avro, new Schema.Parser().parse(schema));
     }
 
+    /**
+     * Writes the JSON straight from the Avro binary data, without reading a {@link GenericRecord} first.
+     */
     public byte[] convertToJson(byte[] avro, Schema schema) {
+        ReusableEncoding encoding = ReusableEncoding.acquire();
+        try {
+            transcodeJson(avro, schema, encoding);
+            return encoding.buffer().toByteArray();
+        } finally {
+            encoding.release();
+        }
+    }
+
+    /**
+     * Writes the JSON form of the Avro binary data to {@code out}, which is neither flushed nor closed.
+     */
+    public void convertToJson(byte[] avro, Schema schema, OutputStream out) {
+        ReusableEncoding encoding = ReusableEncoding.acquire();
         try {
-            BinaryDecoder binaryDecoder = DecoderFactory.get().binaryDecoder(avro, null);
-            GenericRecord record = new GenericDatumReader<GenericRecord>(schema).read(null, binaryDecoder);
-            return convertToJson(record);
+            transcodeJson(avro, schema, encoding);
+            encoding.buffer().writeTo(out);
         } catch (IOException e) {
-            throw new AvroConversionException("Failed to create avro structure.", e);
+            throw new AvroConversionException("Failed to convert to JSON.", e);
+        } finally {
+            encoding.release();
         }
     }
 
     public byte[] convertToJson(GenericRecord record) {
+        ReusableEncoding encoding = ReusableEncoding.acquire();
+        try {
+            writeJson(record, encoding);
+            return encoding.buffer().toByteArray();
+        } finally {
+            encoding.release();
+        }
+    }
+
+    /**
+     * Writes the JSON form of the record to {@code out}, which is neither flushed nor closed.
+     */
+    public void convertToJson(GenericRecord record, OutputStream out) {
+        ReusableEncoding encoding = ReusableEncoding.acquire();
+        try {
+            writeJson(record, encoding);
+            encoding.buffer().writeTo(out);
+        } catch (IOException e) {
+            throw new AvroConversionException("Failed to convert to JSON.", e);
+        } finally {
+            encoding.release();
+        }
+    }
+
+    private GenericRecord readAvro(byte[] avro, Schema schema) {
+        ReusableEncoding encoding = ReusableEncoding.acquire();
+        try {
+            BinaryDecoder binaryDecoder = encoding.binaryDecoder(avro, 0, avro.length);
+            return readers.get(schema, GenericDatumReader::new).read(null, binaryDecoder);
+        } catch (IOException e) {
+            throw new AvroConversionException("Failed to create avro structure.", e);
+        } finally {
+            encoding.release();
+        }
+    }
+
+    /**
+     * @return how many conversions to JSON fell back to the Avro reader or datum writer to report invalid data
+     */
+    public long jsonFallbackCount() {
+        return jsonFallbacks.sum();
+    }
+
+    private void transcodeJson(byte[] avro, Schema schema, ReusableEncoding encoding) {
+        try {
+            JsonGenerator generator = encoding.jsonGenerator();
+            jsonWriter.transcode(schema, encoding.binaryDecoder(avro, 0, avro.length), generator);
+            generator.flush();
+        } catch (IOException | AvroRuntimeException | IndexOutOfBoundsException | UnsupportedOperationException e) {
+            // malformed data, let the reader report it
+            fellBack(schema, e);
+            encoding.discardJsonGenerator();
+            encoding.buffer().reset();
+            writeJsonWithEncoder(readAvro(avro, schema), encoding.buffer());
+        }
+    }
+
+    private void writeJson(GenericRecord record, ReusableEncoding encoding) {
+        Schema schema = record.getSchema();
+        GenericData model = record instanceof SpecificRecord ? specificModels.get(schema, SpecificData::getForSchema) : GenericData.get();
+        try {
+            JsonGenerator generator = encoding.jsonGenerator();
+            jsonWriter.write(record, model, generator);
+            generator.flush();
+        } catch (AvroRuntimeException e) {
+            // a value the datum writer rejects, let it report why
+            fellBack(schema, e);
+            encoding.discardJsonGenerator();
+            encoding.buffer().reset();
+            writeJsonWithEncoder(record, encoding.buffer());
+        } catch (IOException e) {
+            throw new AvroConversionException("Failed to convert to JSON.", e);
+        }
+    }
+
+    private void fellBack(Schema schema, Exception e) {
+        jsonFallbacks.increment();
+        if (LOG.isDebugEnabled()) {
+            fallbackSchemas.get(schema, s -> {
+                LOG.debug("Writing {} as JSON failed, falling back to the Avro datum reader and writer", s.getFullName(), e);
+                return Boolean.TRUE;
+            });
+        }
+    }
+
+    private void writeJsonWithEncoder(GenericRecord record, OutputStream out) {
+        Schema schema = record.getSchema();
         try {
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            NoWrappingJsonEncoder jsonEncoder = new NoWrappingJsonEncoder(record.getSchema(), outputStream);
-            DatumWriter<GenericRecord> writer = record instanceof SpecificRecord ?
-                    new SpecificDatumWriter<>(record.getSchema()) :
-                    new GenericDatumWriter<>(record.getSchema());
+            NoWrappingJsonEncoder jsonEncoder = new NoWrappingJsonEncoder(schema, out);
+            DatumWriter<Object> writer = record instanceof SpecificRecord ?
+                    specificWriters.get(schema, SpecificDatumWriter::new) :
+                    writers.get(schema, PrimitiveArrayDatumWriter::new);
             writer.write(record, jsonEncoder);
             jsonEncoder.flush();
-            return outputStream.toByteArray();
         } catch (IOException e) {
             throw new AvroConversionException("Failed to convert to JSON.", e);
         }
@@ -1,5 +1,6 @@
 package converter;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.avro.AvroRuntimeException;
 import org.apache.avro.AvroTypeException;
@@ -44,6 +45,26 @@ public class JsonGenericRecordReader {
         }
     }
 
+    /**
+     * reads the next value of {@code parser}, e.g. the tokens buffered while parsing an enclosing document
+     */
+    @SuppressWarnings("unchecked")
+    public GenericData.Record read(JsonParser parser, Schema schema) {
+        try {
+            return read(mapper.readValue(parser, Map.class), schema);
+        } catch (IOException ex) {
+            throw new AvroConversionException("Failed to parse json to map format.", ex);
+        }
+    }
+
+    ObjectMapper mapper() {
+        return mapper;
+    }
+
+    JsonToAvroReader jsonToAvroReader() {
+        return jsonToAvroReader;
+    }
+
     public GenericData.Record read(Map<String, Object> json, Schema schema) {
         try {
             return this.jsonToAvroReader.read(json, schema);
@@ -1,5 +1,6 @@
 package converter;
 
+import converter.types.UnionBranches;
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericData;
 
@@ -29,4 +30,16 @@ public interface JsonToAvroReader {
      * @return the converted jsonValue
      */
     Object read(Schema.Field field, Schema schema, Object jsonValue, Deque<String> path, boolean silently);
+
+    /**
+     * allow union converters to skip the branches that can not take a value
+     *
+     * @param union the union schema being converted
+     * @param path the path handed to the union converter
+     *
+     * @return the branches of the union by kind of json value, or null to try every branch in order
+     */
+    default UnionBranches unionBranches(Schema union, Deque<String> path) {
+        return null;
+    }
 }
\ No newline at end of file
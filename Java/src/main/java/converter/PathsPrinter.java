@@ -2,19 +2,44 @@ package converter;
 
 import java.util.Deque;
 
-import static java.util.stream.Collectors.joining;
-
 public class PathsPrinter {
 
     public static String print(Deque<String> path) {
-        return path.stream().collect(joining("."));
+        StringBuilder printed = new StringBuilder();
+        appendTo(printed, path);
+        return printed.toString();
     }
 
     public static String print(Deque<String> path, String additionalSegment) {
     	if (path.isEmpty()) {
     		return additionalSegment;
     	}
-        return print(path) + "." + additionalSegment;
+        StringBuilder printed = new StringBuilder();
+        appendTo(printed, path);
+        return printed.append('.').append(additionalSegment).toString();
+    }
+
+    /**
+     * @return "Field" followed by the dotted path when there is one, the subject of conversion error messages
+     */
+    public static String field(Deque<String> path) {
+        if (path.isEmpty()) {
+            return "Field";
+        }
+        StringBuilder printed = new StringBuilder("Field ");
+        appendTo(printed, path);
+        return printed.toString();
+    }
+
+    private static void appendTo(StringBuilder printed, Deque<String> path) {
+        boolean first = true;
+        for (String segment : path) {
+            if (!first) {
+                printed.append('.');
+            }
+            printed.append(segment);
+            first = false;
+        }
     }
 
 }
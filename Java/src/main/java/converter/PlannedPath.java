@@ -0,0 +1,343 @@
+package converter;
+
+import java.util.AbstractCollection;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Field path handed to converters while a {@link ConversionPlan} is walked.
+ * <p>
+ * Only the plan node of the value currently being converted is tracked: entering and leaving a value moves a single
+ * reference, and the field names are read from the node and its parents when a converter looks at the path, which in
+ * practice means when an error or an unknown field is reported.
+ * <p>
+ * Converters may still add segments at either end, e.g. {@code addLast} a key before converting a nested value and
+ * {@code removeLast} it afterwards, or {@code push} and {@code pop}. Those segments are kept apart from the plan's: one
+ * added last stays behind the node it was added at, ahead of the fields entered below it, and only they can be removed
+ * again. Removing a segment the plan entered fails with {@link UnsupportedOperationException}, as do
+ * {@link #removeFirstOccurrence} and {@link #removeLastOccurrence}.
+ */
+class PlannedPath extends AbstractCollection<String> implements Deque<String> {
+    private ConversionPlan.Node current;
+    /**
+     * Segments converters added first, and added last with the node each was added at, null until they add one
+     */
+    private ArrayDeque<String> head;
+    private ArrayDeque<String> tail;
+    private ArrayDeque<ConversionPlan.Node> anchors;
+
+    PlannedPath(ConversionPlan.Node root) {
+        this.current = root;
+    }
+
+    ConversionPlan.Node current() {
+        return current;
+    }
+
+    /**
+     * @param node a child of the current node
+     */
+    void enter(ConversionPlan.Node node) {
+        current = node;
+    }
+
+    void exit(ConversionPlan.Node node) {
+        current = node.parent;
+    }
+
+    @Override
+    public int size() {
+        return size(head) + current.depth + size(tail);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        return new Segments(segments(), false);
+    }
+
+    @Override
+    public Iterator<String> descendingIterator() {
+        if (size(head) + size(tail) > 0) {
+            return new Segments(segments(), true);
+        }
+        return new Iterator<String>() {
+            private ConversionPlan.Node node = current;
+            private int remaining = current.depth;
+
+            @Override
+            public boolean hasNext() {
+                return remaining > 0;
+            }
+
+            @Override
+            public String next() {
+                if (remaining == 0) {
+                    throw new NoSuchElementException();
+                }
+                while (node.segment == null) {
+                    node = node.parent;
+                }
+                String segment = node.segment;
+                node = node.parent;
+                remaining--;
+                return segment;
+            }
+        };
+    }
+
+    @Override
+    public String peekFirst() {
+        if (size(head) > 0) {
+            return head.peekFirst();
+        }
+        if (size(tail) > 0) {
+            return segments()[0];
+        }
+        if (current.depth == 0) {
+            return null;
+        }
+        ConversionPlan.Node node = current;
+        while (node.depth > 1 || node.segment == null) {
+            node = node.parent;
+        }
+        return node.segment;
+    }
+
+    @Override
+    public String peekLast() {
+        if (size(tail) > 0) {
+            String[] segments = segments();
+            return segments[segments.length - 1];
+        }
+        if (current.depth == 0) {
+            return head == null ? null : head.peekLast();
+        }
+        return current.lastSegment;
+    }
+
+    @Override
+    public String getFirst() {
+        return element(peekFirst());
+    }
+
+    @Override
+    public String getLast() {
+        return element(peekLast());
+    }
+
+    @Override
+    public String peek() {
+        return peekFirst();
+    }
+
+    @Override
+    public String element() {
+        return getFirst();
+    }
+
+    @Override
+    public void addFirst(String s) {
+        if (head == null) {
+            head = new ArrayDeque<>();
+        }
+        head.addFirst(s);
+    }
+
+    @Override
+    public void addLast(String s) {
+        if (tail == null) {
+            tail = new ArrayDeque<>();
+            anchors = new ArrayDeque<>();
+        }
+        tail.addLast(s);
+        anchors.addLast(current);
+    }
+
+    @Override
+    public boolean offerFirst(String s) {
+        addFirst(s);
+        return true;
+    }
+
+    @Override
+    public boolean offerLast(String s) {
+        addLast(s);
+        return true;
+    }
+
+    @Override
+    public boolean add(String s) {
+        addLast(s);
+        return true;
+    }
+
+    @Override
+    public boolean offer(String s) {
+        return offerLast(s);
+    }
+
+    @Override
+    public void push(String s) {
+        addFirst(s);
+    }
+
+    @Override
+    public String removeFirst() {
+        return element(pollFirst());
+    }
+
+    @Override
+    public String removeLast() {
+        return element(pollLast());
+    }
+
+    @Override
+    public String pollFirst() {
+        if (size(head) > 0) {
+            return head.pollFirst();
+        }
+        if (current.depth > 0) {
+            throw planned();
+        }
+        if (size(tail) == 0) {
+            return null;
+        }
+        anchors.pollFirst();
+        return tail.pollFirst();
+    }
+
+    @Override
+    public String pollLast() {
+        if (size(tail) > 0 && anchors.peekLast() == current) {
+            anchors.pollLast();
+            return tail.pollLast();
+        }
+        if (current.depth > 0 || size(tail) > 0) {
+            throw planned();
+        }
+        return head == null ? null : head.pollLast();
+    }
+
+    @Override
+    public String remove() {
+        return removeFirst();
+    }
+
+    @Override
+    public String poll() {
+        return pollFirst();
+    }
+
+    @Override
+    public String pop() {
+        return removeFirst();
+    }
+
+    @Override
+    public boolean removeFirstOccurrence(Object o) {
+        throw planned();
+    }
+
+    @Override
+    public boolean removeLastOccurrence(Object o) {
+        throw planned();
+    }
+
+    /**
+     * @return the segments converters added first, then the plan's from the root, each followed by those added last
+     * at its node
+     */
+    private String[] segments() {
+        String[] segments = new String[size()];
+        int i = 0;
+        if (head != null) {
+            for (String segment : head) {
+                segments[i++] = segment;
+            }
+        }
+        if (size(tail) == 0) {
+            int j = i + current.depth;
+            for (ConversionPlan.Node node = current; j > i; node = node.parent) {
+                if (node.segment != null) {
+                    segments[--j] = node.segment;
+                }
+            }
+            return segments;
+        }
+        ArrayDeque<ConversionPlan.Node> nodes = new ArrayDeque<>();
+        for (ConversionPlan.Node node = current; node != null; node = node.parent) {
+            nodes.addFirst(node);
+        }
+        boolean[] written = new boolean[tail.size()];
+        for (ConversionPlan.Node node : nodes) {
+            if (node.segment != null) {
+                segments[i++] = node.segment;
+            }
+            int k = 0;
+            Iterator<ConversionPlan.Node> anchor = anchors.iterator();
+            for (String segment : tail) {
+                if (anchor.next() == node) {
+                    segments[i++] = segment;
+                    written[k] = true;
+                }
+                k++;
+            }
+        }
+        // added at a node that was left since
+        int k = 0;
+        for (String segment : tail) {
+            if (!written[k++]) {
+                segments[i++] = segment;
+            }
+        }
+        return segments;
+    }
+
+    private static int size(ArrayDeque<String> segments) {
+        return segments == null ? 0 : segments.size();
+    }
+
+    private static String element(String segment) {
+        if (segment == null) {
+            throw new NoSuchElementException();
+        }
+        return segment;
+    }
+
+    private static UnsupportedOperationException planned() {
+        return new UnsupportedOperationException("Only segments added by converters can be removed, the others are maintained by the conversion plan");
+    }
+
+    private static final class Segments implements Iterator<String> {
+        private final String[] segments;
+        private final boolean descending;
+        private int next;
+
+        private Segments(String[] segments, boolean descending) {
+            this.segments = segments;
+            this.descending = descending;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < segments.length;
+        }
+
+        @Override
+        public String next() {
+            if (next == segments.length) {
+                throw new NoSuchElementException();
+            }
+            String segment = descending ? segments[segments.length - 1 - next] : segments[next];
+            next++;
+            return segment;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package converter;
+
+import converter.types.PrimitiveArrays;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.io.Encoder;
+
+import java.io.IOException;
+
+/**
+ * {@link GenericDatumWriter} that encodes the arrays of {@link PrimitiveArrays} straight from their primitive storage;
+ * every other value, and elements with a logical type conversion in the model, are written as usual.
+ *
+ * @param <D> type of the datum
+ */
+public class PrimitiveArrayDatumWriter<D> extends GenericDatumWriter<D> {
+
+    public PrimitiveArrayDatumWriter(Schema schema) {
+        super(schema);
+    }
+
+    @Override
+    protected void writeArray(Schema schema, Object datum, Encoder out) throws IOException {
+        Schema elementType = schema.getElementType();
+        if (!(datum instanceof PrimitiveArrays.PrimitiveArray)
+                || (elementType.getLogicalType() != null && getData().getConversionFor(elementType.getLogicalType()) != null)) {
+            super.writeArray(schema, datum, out);
+            return;
+        }
+        int size = ((PrimitiveArrays.PrimitiveArray<?>) datum).size();
+        switch (elementType.getType()) {
+            case INT:
+                if (datum instanceof PrimitiveArrays.IntArray) {
+                    PrimitiveArrays.IntArray array = (PrimitiveArrays.IntArray) datum;
+                    out.writeArrayStart();
+                    out.setItemCount(size);
+                    for (int i = 0; i < size; i++) {
+                        out.startItem();
+                        out.writeInt(array.getInt(i));
+                    }
+                    out.writeArrayEnd();
+                    return;
+                }
+                break;
+            case LONG:
+                if (datum instanceof PrimitiveArrays.LongArray) {
+                    PrimitiveArrays.LongArray array = (PrimitiveArrays.LongArray) datum;
+                    out.writeArrayStart();
+                    out.setItemCount(size);
+                    for (int i = 0; i < size; i++) {
+                        out.startItem();
+                        out.writeLong(array.getLong(i));
+                    }
+                    out.writeArrayEnd();
+                    return;
+                }
+                break;
+            case FLOAT:
+                if (datum instanceof PrimitiveArrays.FloatArray) {
+                    PrimitiveArrays.FloatArray array = (PrimitiveArrays.FloatArray) datum;
+                    out.writeArrayStart();
+                    out.setItemCount(size);
+                    for (int i = 0; i < size; i++) {
+                        out.startItem();
+                        out.writeFloat(array.getFloat(i));
+                    }
+                    out.writeArrayEnd();
+                    return;
+                }
+                break;
+            case DOUBLE:
+                if (datum instanceof PrimitiveArrays.DoubleArray) {
+                    PrimitiveArrays.DoubleArray array = (PrimitiveArrays.DoubleArray) datum;
+                    out.writeArrayStart();
+                    out.setItemCount(size);
+                    for (int i = 0; i < size; i++) {
+                        out.startItem();
+                        out.writeDouble(array.getDouble(i));
+                    }
+                    out.writeArrayEnd();
+                    return;
+                }
+                break;
+            case BOOLEAN:
+                if (datum instanceof PrimitiveArrays.BooleanArray) {
+                    PrimitiveArrays.BooleanArray array = (PrimitiveArrays.BooleanArray) datum;
+                    out.writeArrayStart();
+                    out.setItemCount(size);
+                    for (int i = 0; i < size; i++) {
+                        out.startItem();
+                        out.writeBoolean(array.getBoolean(i));
+                    }
+                    out.writeArrayEnd();
+                    return;
+                }
+                break;
+            default:
+                break;
+        }
+        // the storage does not match the element type of the schema, let the boxed elements be promoted as usual
+        super.writeArray(schema, datum, out);
+    }
+}
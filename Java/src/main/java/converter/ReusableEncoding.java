@@ -0,0 +1,143 @@
+package converter;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.io.EncoderFactory;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+
+/**
+ * Output buffer, encoders, decoder and JSON generator kept per thread so a conversion allocates little more than
+ * its result.
+ * <p>
+ * {@link #acquire()} hands out the thread's instance, or a throwaway one when the thread is already converting (a
+ * custom converter calling back into {@link JsonAvroConverter}); {@link #release()} must be called once done with it.
+ * The buffer is dropped after a conversion that made it grow past {@link #MAX_RETAINED_CAPACITY}, so a single large
+ * payload does not pin memory for the life of the thread.
+ * <p>
+ * A virtual thread usually runs a single request, so an instance kept for it would be garbage once the request is
+ * done. Virtual threads take instances from a pool shared by all of them instead, which holds as many instances as
+ * there are processors, the number of carrier threads that can convert at once; further conversions get a throwaway
+ * instance while the pool is empty and return theirs if it has room.
+ */
+final class ReusableEncoding {
+    static final int MAX_RETAINED_CAPACITY = 1 << 20;
+    static final int POOL_SIZE = Runtime.getRuntime().availableProcessors();
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final ThreadLocal<ReusableEncoding> LOCAL = ThreadLocal.withInitial(() -> new ReusableEncoding(true, null));
+    private static final BlockingDeque<ReusableEncoding> POOL = new LinkedBlockingDeque<>(POOL_SIZE);
+    private static final MethodHandle IS_VIRTUAL = isVirtualHandle();
+
+    private final boolean retained;
+    private final BlockingDeque<ReusableEncoding> pool;
+    private boolean inUse;
+    private GrowableByteArrayOutputStream buffer = new GrowableByteArrayOutputStream(1024);
+    private BinaryEncoder binaryEncoder;
+    private BinaryDecoder binaryDecoder;
+    private JsonGenerator jsonGenerator;
+
+    private ReusableEncoding(boolean retained, BlockingDeque<ReusableEncoding> pool) {
+        this.retained = retained;
+        this.pool = pool;
+    }
+
+    static ReusableEncoding acquire() {
+        if (isVirtual(Thread.currentThread())) {
+            // most recently released first, its buffer is the likeliest to still be in cache
+            ReusableEncoding pooled = POOL.pollFirst();
+            return pooled != null ? pooled : new ReusableEncoding(true, POOL);
+        }
+        ReusableEncoding local = LOCAL.get();
+        if (local.inUse) {
+            return new ReusableEncoding(false, null);
+        }
+        local.inUse = true;
+        return local;
+    }
+
+    void release() {
+        if (!retained) {
+            return;
+        }
+        if (buffer.capacity() > MAX_RETAINED_CAPACITY) {
+            buffer = new GrowableByteArrayOutputStream(1024);
+            binaryEncoder = null;
+            jsonGenerator = null;
+        } else {
+            buffer.reset();
+        }
+        if (pool != null) {
+            pool.offerFirst(this);
+        } else {
+            inUse = false;
+        }
+    }
+
+    /**
+     * @return the empty output buffer of this conversion
+     */
+    GrowableByteArrayOutputStream buffer() {
+        return buffer;
+    }
+
+    /**
+     * @return an unbuffered binary encoder writing to {@link #buffer()}
+     */
+    BinaryEncoder binaryEncoder() {
+        binaryEncoder = EncoderFactory.get().directBinaryEncoder(buffer, binaryEncoder);
+        return binaryEncoder;
+    }
+
+    BinaryDecoder binaryDecoder(byte[] data, int offset, int length) {
+        binaryDecoder = DecoderFactory.get().binaryDecoder(data, offset, length, binaryDecoder);
+        return binaryDecoder;
+    }
+
+    /**
+     * @return a JSON generator writing to {@link #buffer()}; {@link #discardJsonGenerator()} must be called if writing
+     * a value failed, as the generator is then left halfway
+     */
+    JsonGenerator jsonGenerator() throws IOException {
+        if (jsonGenerator == null) {
+            jsonGenerator = JSON_FACTORY.createGenerator(buffer, JsonEncoding.UTF8);
+            // consecutive documents are written to a reset buffer, no separator between them
+            jsonGenerator.setRootValueSeparator(null);
+        }
+        return jsonGenerator;
+    }
+
+    void discardJsonGenerator() {
+        jsonGenerator = null;
+    }
+
+    private static boolean isVirtual(Thread thread) {
+        if (IS_VIRTUAL == null) {
+            return false;
+        }
+        try {
+            return (boolean) IS_VIRTUAL.invokeExact(thread);
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @return {@code Thread.isVirtual()}, or null before Java 21 where every thread is a platform thread
+     */
+    private static MethodHandle isVirtualHandle() {
+        try {
+            return MethodHandles.publicLookup().findVirtual(Thread.class, "isVirtual", MethodType.methodType(boolean.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+}
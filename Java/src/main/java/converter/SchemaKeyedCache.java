@@ -0,0 +1,61 @@
+package converter;
+
+import org.apache.avro.Schema;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of values derived from a {@link Schema}.
+ * <p>
+ * Lookups are lock free; {@link Schema#hashCode()} is cached by Avro and {@link Schema#equals(Object)} short-circuits
+ * on identity, so a hit on a long-lived schema instance costs a single hash probe. Once the cache is full an arbitrary
+ * entry is dropped, which is good enough for the handful of schemas an application works with.
+ *
+ * @param <V> type of the cached value
+ */
+public class SchemaKeyedCache<V> {
+    private final Map<Schema, V> entries = new ConcurrentHashMap<>();
+    private final int maxEntries;
+
+    public SchemaKeyedCache(int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * @param schema the schema the value is derived from
+     * @param loader builds the value on a miss; may run more than once when threads race on the same schema
+     * @return the cached value
+     */
+    public V get(Schema schema, Function<Schema, V> loader) {
+        V value = entries.get(schema);
+        if (value == null) {
+            value = loader.apply(schema);
+            if (entries.size() >= maxEntries) {
+                evictOne();
+            }
+            V raced = entries.putIfAbsent(schema, value);
+            if (raced != null) {
+                value = raced;
+            }
+        }
+        return value;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void evictOne() {
+        Iterator<Schema> keys = entries.keySet().iterator();
+        if (keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package converter;
+
+import org.apache.avro.Conversion;
+import org.apache.avro.Conversions;
+import org.apache.avro.LogicalType;
+import org.apache.avro.Schema;
+import org.apache.avro.UnresolvedUnionException;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericFixed;
+import org.apache.avro.generic.IndexedRecord;
+import org.apache.avro.specific.SpecificData;
+import org.apache.avro.specific.SpecificRecordBase;
+import org.apache.avro.util.Utf8;
+
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Copies a {@link GenericData.Record} into the specific record class generated for its schema, giving the same
+ * result as writing it with a {@link org.apache.avro.generic.GenericDatumWriter} and reading it back with a
+ * {@link org.apache.avro.specific.SpecificDatumReader}, without the binary round trip.
+ * <p>
+ * The copy mirrors what that reader would build: strings become {@link String} or {@link Utf8} following the
+ * {@code avro.java.string} property, enums, fixed and nested records are created through the class's
+ * {@link SpecificData} model, and logical types go through the conversions of the record class or, outside record
+ * fields, of the model. Field positions and conversions are resolved once per class and schema.
+ * <p>
+ * {@link #bind} returns {@code null} when it cannot guarantee that result: the schema is not the class's schema, it
+ * relies on {@code java-class} properties, or a value is missing or not what the writer would accept. Callers then
+ * take the round trip, which also reports the writer's error.
+ */
+final class SpecificRecordBinder {
+    private static final Unbindable UNBINDABLE = new Unbindable();
+
+    private final ClassValue<SchemaKeyedCache<Optional<Binding>>> bindings = new ClassValue<SchemaKeyedCache<Optional<Binding>>>() {
+        @Override
+        protected SchemaKeyedCache<Optional<Binding>> computeValue(Class<?> type) {
+            return new SchemaKeyedCache<>(CompositeJsonToAvroReader.DEFAULT_PLAN_CACHE_SIZE);
+        }
+    };
+
+    /**
+     * @return the specific record, or {@code null} when the record has to take the binary round trip
+     */
+    <T extends SpecificRecordBase> T bind(GenericData.Record record, Class<T> clazz, Schema schema) {
+        Optional<Binding> binding = bindings.get(clazz).get(schema, s -> plan(clazz, s));
+        if (!binding.isPresent()) {
+            return null;
+        }
+        try {
+            return clazz.cast(binding.get().bind(record));
+        } catch (Unbindable | ClassCastException | NullPointerException e) {
+            // not what GenericDatumWriter accepts, the round trip reports why
+            return null;
+        }
+    }
+
+    private static Optional<Binding> plan(Class<?> clazz, Schema schema) {
+        SpecificData model = SpecificData.getForClass(clazz);
+        if (!schema.equals(model.getSchema(clazz))) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(new Planner(model).plan(schema));
+        } catch (Unbindable e) {
+            return Optional.empty();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Binding {
+        Object bind(Object value);
+    }
+
+    private static final class Planner {
+        private final SpecificData model;
+        private final Map<Schema, RecordBinding> records = new IdentityHashMap<>();
+
+        private Planner(SpecificData model) {
+            this.model = model;
+        }
+
+        /**
+         * value as read by {@code GenericDatumReader.read}, converted when the model has a conversion for it
+         */
+        private Binding plan(Schema schema) {
+            Binding binding = planWithoutConversion(schema);
+            LogicalType logicalType = schema.getLogicalType();
+            Conversion<?> conversion = logicalType == null ? null : model.getConversionFor(logicalType);
+            return conversion == null ? binding : converted(binding, schema, conversion);
+        }
+
+        private Binding planWithoutConversion(Schema schema) {
+            switch (schema.getType()) {
+                case RECORD:
+                    return record(schema);
+                case ENUM:
+                    return value -> {
+                        String symbol = value.toString();
+                        if (!schema.hasEnumSymbol(symbol)) {
+                            throw UNBINDABLE;
+                        }
+                        return model.createEnum(symbol, schema);
+                    };
+                case ARRAY:
+                    return array(schema);
+                case MAP:
+                    return map(schema);
+                case UNION:
+                    return union(schema);
+                case FIXED:
+                    return value -> {
+                        byte[] bytes = ((GenericFixed) value).bytes();
+                        if (bytes.length < schema.getFixedSize()) {
+                            throw UNBINDABLE;
+                        }
+                        return model.createFixed(null, bytes, schema);
+                    };
+                case STRING:
+                    return string(schema, SpecificData.CLASS_PROP);
+                case BYTES:
+                    return value -> {
+                        ByteBuffer buffer = ((ByteBuffer) value).duplicate();
+                        byte[] bytes = new byte[buffer.remaining()];
+                        buffer.get(bytes);
+                        return ByteBuffer.wrap(bytes);
+                    };
+                case INT:
+                    return value -> ((Number) value).intValue();
+                case LONG:
+                    return value -> ((Number) value).longValue();
+                case FLOAT:
+                    return value -> ((Number) value).floatValue();
+                case DOUBLE:
+                    return value -> ((Number) value).doubleValue();
+                case BOOLEAN:
+                    return value -> ((Boolean) value).booleanValue();
+                case NULL:
+                    return value -> null;
+                default:
+                    throw UNBINDABLE;
+            }
+        }
+
+        private Binding record(Schema schema) {
+            RecordBinding binding = records.get(schema);
+            if (binding == null) {
+                binding = new RecordBinding(model, schema);
+                records.put(schema, binding);
+                Object prototype = model.newRecord(null, schema);
+                List<Schema.Field> fields = schema.getFields();
+                for (int i = 0; i < fields.size(); i++) {
+                    Schema fieldSchema = fields.get(i).schema();
+                    if (prototype instanceof SpecificRecordBase) {
+                        // SpecificDatumReader.readField: the record class decides on the conversion of its fields
+                        Conversion<?> conversion = ((SpecificRecordBase) prototype).getConversion(i);
+                        Binding field = planWithoutConversion(fieldSchema);
+                        binding.fields[i] = conversion == null ? field : converted(field, fieldSchema, conversion);
+                    } else {
+                        binding.fields[i] = plan(fieldSchema);
+                    }
+                }
+            }
+            return binding;
+        }
+
+        private Binding array(Schema schema) {
+            Binding element = plan(schema.getElementType());
+            return value -> {
+                Collection<?> items = (Collection<?>) value;
+                GenericData.Array<Object> array = new GenericData.Array<>(items.size(), schema);
+                for (Object item : items) {
+                    array.add(element.bind(item));
+                }
+                return array;
+            };
+        }
+
+        private Binding map(Schema schema) {
+            Binding key = string(schema, SpecificData.KEY_CLASS_PROP);
+            Binding valueBinding = plan(schema.getValueType());
+            return value -> {
+                Map<?, ?> entries = (Map<?, ?>) value;
+                Map<Object, Object> map = new HashMap<>(entries.size());
+                for (Map.Entry<?, ?> entry : entries.entrySet()) {
+                    map.put(key.bind(entry.getKey().toString()), valueBinding.bind(entry.getValue()));
+                }
+                return map;
+            };
+        }
+
+        private Binding union(Schema schema) {
+            List<Schema> types = schema.getTypes();
+            Binding[] branches = new Binding[types.size()];
+            for (int i = 0; i < branches.length; i++) {
+                branches[i] = plan(types.get(i));
+            }
+            return value -> {
+                int branch;
+                try {
+                    // the branch GenericDatumWriter would have written
+                    branch = GenericData.get().resolveUnion(schema, value);
+                } catch (UnresolvedUnionException e) {
+                    throw UNBINDABLE;
+                }
+                return branches[branch].bind(value);
+            };
+        }
+
+        private Binding string(Schema schema, String classProperty) {
+            if (schema.getProp(classProperty) != null) {
+                throw UNBINDABLE;
+            }
+            if (GenericData.StringType.String.name().equals(schema.getProp(GenericData.STRING_PROP))) {
+                return value -> ((CharSequence) value).toString();
+            }
+            return value -> new Utf8(((CharSequence) value).toString());
+        }
+
+        private static Binding converted(Binding binding, Schema schema, Conversion<?> conversion) {
+            LogicalType logicalType = schema.getLogicalType();
+            return value -> Conversions.convertToLogicalType(binding.bind(value), schema, logicalType, conversion);
+        }
+    }
+
+    private static final class RecordBinding implements Binding {
+        private final SpecificData model;
+        private final Schema schema;
+        private final Binding[] fields;
+
+        private RecordBinding(SpecificData model, Schema schema) {
+            this.model = model;
+            this.schema = schema;
+            this.fields = new Binding[schema.getFields().size()];
+        }
+
+        @Override
+        public Object bind(Object value) {
+            IndexedRecord source = (IndexedRecord) value;
+            IndexedRecord target = (IndexedRecord) model.newRecord(null, schema);
+            for (int i = 0; i < fields.length; i++) {
+                target.put(i, fields[i].bind(source.get(i)));
+            }
+            return target;
+        }
+    }
+
+    private static final class Unbindable extends RuntimeException {
+        private Unbindable() {
+            super(null, null, false, false);
+        }
+    }
+}
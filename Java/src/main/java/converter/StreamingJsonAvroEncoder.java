@@ -0,0 +1,586 @@
+package converter;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import converter.types.ArrayConverter;
+import converter.types.AvroTypeConverter;
+import converter.types.MapConverter;
+import converter.types.RecordConverter;
+import converter.types.UnionBranches;
+import converter.types.UnionConverter;
+import org.apache.avro.AvroRuntimeException;
+import org.apache.avro.AvroTypeException;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericEnumSymbol;
+import org.apache.avro.generic.GenericFixed;
+import org.apache.avro.io.BinaryData;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.EncoderFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Converts JSON to Avro binary in a single pass over the {@link JsonParser} tokens, without building a {@link Map} or a
+ * {@link GenericData.Record} first.
+ * <p>
+ * Records, arrays, maps and unions are walked by the encoder itself following the {@link ConversionPlan} of the
+ * {@link CompositeJsonToAvroReader}; every other value is handed to the converter the plan resolved for it, so values
+ * are accepted and rejected exactly as {@link JsonGenericRecordReader} does. Record fields arriving ahead of their
+ * schema position are buffered until the fields before them are written, and a complex value inside a union is
+ * buffered so the next branch can be tried when one fails. When a custom converter claims a complex value the value
+ * is materialized the way {@link ObjectMapper} would and passed to that converter.
+ * <p>
+ * Unlike the tree based reader, conversion errors are reported as soon as they are met, so a document that is both
+ * malformed and invalid may report the conversion error instead of the parse error. A repeated record field or map key
+ * keeps its last value as {@link ObjectMapper} does, but every value it was given is converted, also when the field
+ * is repeated while buffered ahead of its position, and passed to the {@link UnknownFieldListener} for unknown fields,
+ * so an invalid value that a later one would have replaced still fails.
+ * Map entries are written in JSON order rather than in the iteration order of the {@link java.util.HashMap} the tree
+ * based reader builds, so the bytes may differ while decoding to equal records.
+ */
+public class StreamingJsonAvroEncoder {
+    private final ObjectMapper mapper;
+    private final CompositeJsonToAvroReader reader;
+    private final SchemaKeyedCache<byte[][]> encodedDefaults = new SchemaKeyedCache<>(CompositeJsonToAvroReader.DEFAULT_PLAN_CACHE_SIZE);
+    private final SchemaKeyedCache<GenericDatumWriter<Object>> writers = new SchemaKeyedCache<>(CompositeJsonToAvroReader.DEFAULT_PLAN_CACHE_SIZE);
+    private final Function<Schema, byte[][]> defaultsEncoder = this::encodeDefaults;
+    private final boolean bigIntegerForInts;
+    private final boolean longForInts;
+    private final boolean bigDecimalForFloats;
+
+    public StreamingJsonAvroEncoder(ObjectMapper mapper, CompositeJsonToAvroReader reader) {
+        this.mapper = mapper;
+        this.reader = reader;
+        this.bigIntegerForInts = mapper.isEnabled(DeserializationFeature.USE_BIG_INTEGER_FOR_INTS);
+        this.longForInts = mapper.isEnabled(DeserializationFeature.USE_LONG_FOR_INTS);
+        this.bigDecimalForFloats = mapper.isEnabled(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+    }
+
+    public byte[] encode(byte[] json, Schema schema) {
+        GrowableByteArrayOutputStream out = new GrowableByteArrayOutputStream(Math.max(64, json.length / 2));
+        encode(json, schema, out);
+        return out.toByteArray();
+    }
+
+    /**
+     * @param json the JSON document, its root must be an object
+     * @param schema the record schema to encode with
+     * @param out receives the Avro binary encoding of the record
+     */
+    public void encode(byte[] json, Schema schema, GrowableByteArrayOutputStream out) {
+        try (JsonParser parser = mapper.getFactory().createParser(json)) {
+            JsonToken root = parser.nextToken();
+            if (root != JsonToken.START_OBJECT && root != JsonToken.VALUE_NULL) {
+                throw MismatchedInputException.from(parser, Map.class, "Cannot deserialize value of type `java.util.Map` from " + root);
+            }
+            ConversionPlan plan = reader.plan(schema);
+            Session session = new Session(out, new PlannedPath(plan.root()));
+            writeNode(plan.root(), null, schema, parser, session);
+            session.encoder.flush();
+        } catch (IOException ex) {
+            throw new AvroConversionException("Failed to parse json to map format.", ex);
+        } catch (AvroTypeException ex) {
+            throw new AvroConversionException("Failed to convert JSON to Avro: " + ex.getMessage(), ex);
+        } catch (AvroRuntimeException ex) {
+            throw new AvroConversionException("Failed to convert JSON to Avro", ex);
+        }
+    }
+
+    private void writeValue(ConversionPlan.Node node, Schema.Field field, Schema schema, JsonParser parser, Session session) throws IOException {
+        if (node.converter == null) {
+            throw new AvroTypeException("Unsupported type: " + field.schema().getType());
+        }
+        session.path.enter(node);
+        try {
+            writeNode(node, field, schema, parser, session);
+        } finally {
+            session.path.exit(node);
+        }
+    }
+
+    private void writeNode(ConversionPlan.Node node, Schema.Field field, Schema schema, JsonParser parser, Session session) throws IOException {
+        AvroTypeConverter converter = node.converter;
+        if (streams(converter, parser.currentToken())) {
+            Class<?> type = converter.getClass();
+            if (type == RecordConverter.class) {
+                writeRecord(node, (RecordConverter) converter, schema, parser, session);
+            } else if (type == ArrayConverter.class) {
+                writeArray(node, field, schema, parser, session);
+            } else if (type == MapConverter.class) {
+                writeMap(node, field, schema, parser, session);
+            } else {
+                writeUnion(node, field, schema, parser, session);
+            }
+            return;
+        }
+        Object value = readJavaValue(parser);
+        writeDatum(schema, converter.convert(field, schema, value, session.path, false), session);
+    }
+
+    private void writeRecord(ConversionPlan.Node node, RecordConverter converter, Schema schema, JsonParser parser, Session session) throws IOException {
+        List<Schema.Field> fields = schema.getFields();
+        int size = fields.size();
+        TokenBuffer[] pending = null;
+        int next = 0;
+        int base = session.top;
+        try {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                parser.nextToken();
+                Schema.Field field = schema.getField(name);
+                if (field == null) {
+                    UnknownFieldListener listener = converter.unknownFieldListener();
+                    if (listener != null) {
+                        listener.onUnknownField(name, readJavaValue(parser), session.path);
+                    } else {
+                        parser.skipChildren();
+                    }
+                } else if (field.pos() == next) {
+                    session.push(session.out.size());
+                    writeValue(node.child(field, field.schema()), field, field.schema(), parser, session);
+                    next++;
+                    while (pending != null && next < size && pending[next] != null) {
+                        session.push(session.out.size());
+                        writeBuffered(node, fields.get(next), pending[next], session);
+                        pending[next++] = null;
+                    }
+                } else if (field.pos() > next) {
+                    if (pending == null) {
+                        pending = new TokenBuffer[size];
+                    } else if (pending[field.pos()] != null) {
+                        // the field is repeated before its turn: the value it replaces is still converted, then dropped
+                        int mark = session.out.size();
+                        writeBuffered(node, field, pending[field.pos()], session);
+                        session.out.truncate(mark);
+                    }
+                    pending[field.pos()] = buffer(parser);
+                } else {
+                    // the field is repeated after it was written: the last value wins, as in the map the tree based reader gets
+                    byte[] tail = cut(base, field.pos(), session);
+                    writeValue(node.child(field, field.schema()), field, field.schema(), parser, session);
+                    paste(base, field.pos(), tail, session);
+                }
+            }
+            for (; next < size; next++) {
+                Schema.Field field = fields.get(next);
+                if (pending != null && pending[next] != null) {
+                    writeBuffered(node, field, pending[next], session);
+                } else {
+                    writeDefault(schema, field, session);
+                }
+            }
+        } finally {
+            session.top = base;
+        }
+    }
+
+    private void writeBuffered(ConversionPlan.Node node, Schema.Field field, TokenBuffer buffer, Session session) throws IOException {
+        try (JsonParser parser = buffer.asParser()) {
+            parser.nextToken();
+            writeValue(node.child(field, field.schema()), field, field.schema(), parser, session);
+        }
+    }
+
+    private void writeDefault(Schema schema, Schema.Field field, Session session) throws IOException {
+        byte[] encoded = encodedDefaults.get(schema, defaultsEncoder)[field.pos()];
+        if (encoded != null) {
+            session.encoder.writeFixed(encoded);
+        } else {
+            // throws the same AvroMissingFieldException as GenericRecordBuilder for fields without default
+            writeDatum(field.schema(), GenericData.get().getDefaultValue(field), session);
+        }
+    }
+
+    private void writeArray(ConversionPlan.Node node, Schema.Field field, Schema schema, JsonParser parser, Session session) throws IOException {
+        Schema elementType = schema.getElementType();
+        ConversionPlan.Node element = node.child(field, elementType);
+        int start = session.out.size();
+        long count = 0;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            writeValue(element, field, elementType, parser, session);
+            count++;
+        }
+        writeBlockCount(start, count, session);
+    }
+
+    private void writeMap(ConversionPlan.Node node, Schema.Field field, Schema schema, JsonParser parser, Session session) throws IOException {
+        Schema valueType = schema.getValueType();
+        ConversionPlan.Node value = node.child(field, valueType);
+        int start = session.out.size();
+        int count = 0;
+        Map<String, Integer> entries = null;
+        int base = session.top;
+        try {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String key = parser.currentName();
+                parser.nextToken();
+                if (entries == null) {
+                    entries = new HashMap<>();
+                }
+                Integer entry = entries.putIfAbsent(key, count);
+                if (entry == null) {
+                    session.push(session.out.size());
+                    session.encoder.writeString(key);
+                    writeValue(value, field, valueType, parser, session);
+                    count++;
+                } else {
+                    // a repeated key replaces the earlier entry, as in the map the tree based reader gets
+                    byte[] tail = cut(base, entry, session);
+                    session.encoder.writeString(key);
+                    writeValue(value, field, valueType, parser, session);
+                    paste(base, entry, tail, session);
+                }
+            }
+        } finally {
+            session.top = base;
+        }
+        writeBlockCount(start, count, session);
+    }
+
+    /**
+     * Truncates the output to the start of item {@code index} of the record or map whose item starts are pushed from
+     * {@code base}, so that item can be written again.
+     *
+     * @return the encoding of the items written after it, for {@link #paste}
+     */
+    private static byte[] cut(int base, int index, Session session) {
+        int start = session.starts[base + index];
+        int end = base + index + 1 < session.top ? session.starts[base + index + 1] : session.out.size();
+        byte[] tail = Arrays.copyOfRange(session.out.array(), end, session.out.size());
+        session.out.truncate(start);
+        return tail;
+    }
+
+    /**
+     * Writes back the items {@link #cut} removed after the rewritten item {@code index}, moving their starts along.
+     */
+    private static void paste(int base, int index, byte[] tail, Session session) {
+        if (base + index + 1 < session.top) {
+            int shift = session.out.size() - session.starts[base + index + 1];
+            for (int i = base + index + 1; i < session.top; i++) {
+                session.starts[i] += shift;
+            }
+        }
+        session.out.write(tail, 0, tail.length);
+    }
+
+    /**
+     * Writes everything after {@code start} as a single block of {@code count} items followed by the end marker.
+     */
+    private void writeBlockCount(int start, long count, Session session) throws IOException {
+        if (count > 0) {
+            int length = BinaryData.encodeLong(count, session.scratch, 0);
+            session.out.insert(start, session.scratch, 0, length);
+        }
+        session.encoder.writeArrayEnd();
+    }
+
+    private void writeUnion(ConversionPlan.Node node, Schema.Field field, Schema schema, JsonParser parser, Session session) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+            writeComplexUnion(node, field, schema, parser, session);
+            return;
+        }
+        Object value = readJavaValue(parser);
+        List<Schema> types = schema.getTypes();
+        int[] candidates = node.unionBranches().candidates(value);
+        if (candidates != null) {
+            for (int i : candidates) {
+                if (writeBranch(node, field, types, i, value, session, null)) {
+                    return;
+                }
+            }
+        }
+        List<String> incompatibleTypes = new ArrayList<>();
+        for (int i = 0; i < types.size(); i++) {
+            if (writeBranch(node, field, types, i, value, session, incompatibleTypes)) {
+                return;
+            }
+        }
+        throw UnionConverter.unionException(field.name(), String.join(", ", incompatibleTypes), session.path);
+    }
+
+    /**
+     * @return true if branch {@code i} took the value and it was written, otherwise the expected type is added to
+     * {@code incompatibleTypes} when the converter reported one
+     */
+    private boolean writeBranch(ConversionPlan.Node node, Schema.Field field, List<Schema> types, int i, Object value,
+                                Session session, List<String> incompatibleTypes) throws IOException {
+        Schema type = types.get(i);
+        ConversionPlan.Node branch = node.child(field, type);
+        Object converted;
+        try {
+            converted = convertSilently(branch, field, type, value, session);
+        } catch (AvroRuntimeException e) {
+            return false;
+        }
+        if (converted instanceof AvroTypeConverter.Incompatible) {
+            if (incompatibleTypes != null) {
+                incompatibleTypes.add(((AvroTypeConverter.Incompatible) converted).expected);
+            }
+            return false;
+        }
+        session.encoder.writeIndex(i);
+        writeDatum(type, converted, session);
+        return true;
+    }
+
+    /**
+     * Streams an object or array into the first branch that takes it. Built-in converters of other branches can only
+     * report such a value as incompatible, so they are skipped, as are record branches missing a field of the object
+     * that has no default; if no branch streams the value it is converted through the union converter, which also
+     * produces the usual error.
+     */
+    private void writeComplexUnion(ConversionPlan.Node node, Schema.Field field, Schema schema, JsonParser parser, Session session) throws IOException {
+        JsonToken token = parser.currentToken();
+        TokenBuffer buffer = buffer(parser);
+        List<Schema> types = schema.getTypes();
+        UnionBranches branches = node.unionBranches();
+        Set<String> fieldNames = null;
+        int mark = session.out.size();
+        for (int i = 0; i < types.size(); i++) {
+            Schema type = types.get(i);
+            ConversionPlan.Node branch = node.child(field, type);
+            if (branch.converter == null || !streams(branch.converter, token)) {
+                if (branch.converter == null || isBuiltIn(branch.converter)) {
+                    continue;
+                }
+                break;
+            }
+            if (token == JsonToken.START_OBJECT && branch.converter.getClass() == RecordConverter.class) {
+                if (fieldNames == null) {
+                    fieldNames = fieldNames(buffer);
+                }
+                if (!branches.mayAcceptFields(i, fieldNames)) {
+                    continue;
+                }
+            }
+            try (JsonParser branchParser = buffer.asParser()) {
+                branchParser.nextToken();
+                session.encoder.writeIndex(i);
+                writeValue(branch, field, type, branchParser, session);
+                return;
+            } catch (AvroRuntimeException e) {
+                session.out.truncate(mark);
+            }
+        }
+        Object value;
+        try (JsonParser valueParser = buffer.asParser()) {
+            valueParser.nextToken();
+            value = mapper.readValue(valueParser, Object.class);
+        }
+        writeDatum(schema, node.converter.convert(field, schema, value, session.path, false), session);
+    }
+
+    private Object convertSilently(ConversionPlan.Node node, Schema.Field field, Schema schema, Object value, Session session) {
+        if (node.converter == null) {
+            throw new AvroTypeException("Unsupported type: " + field.schema().getType());
+        }
+        session.path.enter(node);
+        try {
+            return node.converter.convert(field, schema, value, session.path, true);
+        } finally {
+            session.path.exit(node);
+        }
+    }
+
+    private void writeDatum(Schema schema, Object value, Session session) throws IOException {
+        BinaryEncoder encoder = session.encoder;
+        switch (schema.getType()) {
+            case NULL:
+                if (value == null) {
+                    encoder.writeNull();
+                    return;
+                }
+                break;
+            case BOOLEAN:
+                if (value instanceof Boolean) {
+                    encoder.writeBoolean((Boolean) value);
+                    return;
+                }
+                break;
+            case INT:
+                if (value instanceof Integer) {
+                    encoder.writeInt((Integer) value);
+                    return;
+                }
+                break;
+            case LONG:
+                if (value instanceof Long) {
+                    encoder.writeLong((Long) value);
+                    return;
+                }
+                break;
+            case FLOAT:
+                if (value instanceof Float) {
+                    encoder.writeFloat((Float) value);
+                    return;
+                }
+                break;
+            case DOUBLE:
+                if (value instanceof Double) {
+                    encoder.writeDouble((Double) value);
+                    return;
+                }
+                break;
+            case STRING:
+                if (value instanceof String) {
+                    encoder.writeString((String) value);
+                    return;
+                }
+                break;
+            case BYTES:
+                if (value instanceof ByteBuffer) {
+                    encoder.writeBytes((ByteBuffer) value);
+                    return;
+                }
+                break;
+            case FIXED:
+                if (value instanceof GenericFixed) {
+                    encoder.writeFixed(((GenericFixed) value).bytes(), 0, schema.getFixedSize());
+                    return;
+                }
+                break;
+            case ENUM:
+                if (value instanceof GenericEnumSymbol) {
+                    encoder.writeEnum(schema.getEnumOrdinal(value.toString()));
+                    return;
+                }
+                break;
+            default:
+                break;
+        }
+        writers.get(schema, PrimitiveArrayDatumWriter::new).write(value, encoder);
+    }
+
+    /**
+     * @return the value of the current token the way {@link ObjectMapper} would have put it into a {@link Map}
+     */
+    private Object readJavaValue(JsonParser parser) throws IOException {
+        switch (parser.currentToken()) {
+            case VALUE_STRING:
+                return parser.getText();
+            case VALUE_NUMBER_INT:
+                if (bigIntegerForInts) {
+                    return parser.getBigIntegerValue();
+                }
+                if (longForInts) {
+                    return parser.getLongValue();
+                }
+                return parser.getNumberValue();
+            case VALUE_NUMBER_FLOAT:
+                if (bigDecimalForFloats) {
+                    return parser.getDecimalValue();
+                }
+                return parser.getNumberValue();
+            case VALUE_TRUE:
+                return Boolean.TRUE;
+            case VALUE_FALSE:
+                return Boolean.FALSE;
+            case VALUE_NULL:
+                return null;
+            default:
+                return mapper.readValue(parser, Object.class);
+        }
+    }
+
+    private byte[][] encodeDefaults(Schema schema) {
+        List<Schema.Field> fields = schema.getFields();
+        byte[][] defaults = new byte[fields.size()][];
+        for (Schema.Field field : fields) {
+            if (!field.hasDefaultValue()) {
+                continue;
+            }
+            try {
+                GrowableByteArrayOutputStream out = new GrowableByteArrayOutputStream(16);
+                BinaryEncoder encoder = EncoderFactory.get().directBinaryEncoder(out, null);
+                new GenericDatumWriter<>(field.schema()).write(GenericData.get().getDefaultValue(field), encoder);
+                encoder.flush();
+                defaults[field.pos()] = out.toByteArray();
+            } catch (IOException | AvroRuntimeException e) {
+                // left null, the default is then written value by value and fails the same way
+            }
+        }
+        return defaults;
+    }
+
+    private static TokenBuffer buffer(JsonParser parser) throws IOException {
+        TokenBuffer buffer = new TokenBuffer(parser);
+        buffer.copyCurrentStructure(parser);
+        return buffer;
+    }
+
+    /**
+     * @return the names of the fields of the buffered object, without those of nested objects
+     */
+    private static Set<String> fieldNames(TokenBuffer buffer) throws IOException {
+        Set<String> names = new HashSet<>();
+        try (JsonParser parser = buffer.asParser()) {
+            parser.nextToken();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                names.add(parser.currentName());
+                parser.nextToken();
+                parser.skipChildren();
+            }
+        }
+        return names;
+    }
+
+    private static boolean streams(AvroTypeConverter converter, JsonToken token) {
+        Class<?> type = converter.getClass();
+        if (type == RecordConverter.class || type == MapConverter.class) {
+            return token == JsonToken.START_OBJECT;
+        }
+        if (type == ArrayConverter.class) {
+            return token == JsonToken.START_ARRAY;
+        }
+        return type == UnionConverter.class;
+    }
+
+    /**
+     * built-in converters only accept objects and arrays for record, map and array schemas
+     */
+    private static boolean isBuiltIn(AvroTypeConverter converter) {
+        return converter.getClass().getPackage() == RecordConverter.class.getPackage();
+    }
+
+    private static final class Session {
+        private final GrowableByteArrayOutputStream out;
+        private final BinaryEncoder encoder;
+        private final PlannedPath path;
+        private final byte[] scratch = new byte[10];
+        /**
+         * Output offsets where the items of the records and maps being written start, so a repeated one can be rewritten
+         */
+        private int[] starts = new int[16];
+        private int top;
+
+        private Session(GrowableByteArrayOutputStream out, PlannedPath path) {
+            this.out = out;
+            this.encoder = EncoderFactory.get().directBinaryEncoder(out, null);
+            this.path = path;
+        }
+
+        private void push(int start) {
+            if (top == starts.length) {
+                starts = Arrays.copyOf(starts, top * 2);
+            }
+            starts[top++] = start;
+        }
+    }
+}
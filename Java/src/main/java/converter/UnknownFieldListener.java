@@ -1,6 +1,17 @@
 package converter;
 
+import java.util.Deque;
+
 public interface UnknownFieldListener {
 
 	void onUnknownField(String name, Object value, String path);
+
+	/**
+	 * Called by the converters with the path of the record holding the unknown field, which is only valid during the
+	 * call. It is printed for {@link #onUnknownField(String, Object, String)} by default; listeners that do not use
+	 * the path can override this method and skip printing it.
+	 */
+	default void onUnknownField(String name, Object value, Deque<String> recordPath) {
+		onUnknownField(name, value, PathsPrinter.print(recordPath, name));
+	}
 }
@@ -1,13 +1,16 @@
 package converter.types;
 
 import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
 import converter.JsonToAvroReader;
 
 import java.util.Collection;
 import java.util.Deque;
 
-import static java.util.stream.Collectors.toList;
-
+/**
+ * Converts into a {@link GenericData.Array} sized for the JSON array; elements of a primitive type are kept unboxed,
+ * see {@link PrimitiveArrays}.
+ */
 public class ArrayConverter extends AvroTypeConverterWithStrictJavaTypeCheck<Collection> {
     private final JsonToAvroReader jsonToAvroReader;
 
@@ -19,9 +22,23 @@ public class ArrayConverter extends AvroTypeConverterWithStrictJavaTypeCheck<Col
     @SuppressWarnings("unchecked")
     @Override
     public Object convertValue(Schema.Field field, Schema schema, Collection value, Deque<String> path, boolean silently) {
-        return ((Collection<Object>) value).stream()
-                .map(item -> this.jsonToAvroReader.read(field, schema.getElementType(), item, path, false))
-                .collect(toList());
+        Schema elementType = schema.getElementType();
+        int size = value.size();
+        GenericData.Array<Object> array = PrimitiveArrays.newArray(size, schema);
+        PrimitiveArrays.PrimitiveArray<?> primitive = array instanceof PrimitiveArrays.PrimitiveArray
+                ? (PrimitiveArrays.PrimitiveArray<?>) array : null;
+        for (Object item : (Collection<Object>) value) {
+            Object element = this.jsonToAvroReader.read(field, elementType, item, path, false);
+            if (primitive != null && !primitive.accepts(element)) {
+                // a custom converter gave something else than the boxed primitive, keep every element boxed
+                GenericData.Array<Object> boxed = new GenericData.Array<>(size, schema);
+                boxed.addAll(array);
+                array = boxed;
+                primitive = null;
+            }
+            array.add(element);
+        }
+        return array;
     }
 
     @Override
@@ -1,5 +1,6 @@
 package converter.types;
 
+import converter.PathsPrinter;
 import org.apache.avro.AvroTypeException;
 import org.apache.avro.Schema;
 
@@ -29,6 +30,6 @@ public abstract class AvroTypeConverterWithStrictJavaTypeCheck<T> implements Avr
     public abstract Object convertValue(Schema.Field field, Schema schema, T value, Deque<String> path, boolean silently);
 
     private static AvroTypeException typeException(Deque<String> fieldPath, String expectedType) {
-        return new AvroTypeException("Field is expected to be type: " + expectedType);
+        return new AvroTypeException(PathsPrinter.field(fieldPath) + " is expected to be type: " + expectedType);
     }
 }
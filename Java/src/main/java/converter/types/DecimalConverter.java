@@ -0,0 +1,64 @@
+package converter.types;
+
+import converter.PathsPrinter;
+import org.apache.avro.AvroTypeException;
+import org.apache.avro.LogicalTypes;
+import org.apache.avro.Schema;
+
+import java.math.BigInteger;
+import java.util.Deque;
+
+/**
+ * Converts a JSON number, or a string holding one, to the unscaled value of a decimal logical type.
+ * <p>
+ * Scale and precision are read from the {@link LogicalTypes.Decimal} Avro keeps on the schema rather than from its
+ * properties, and values of up to 18 digits never leave {@code long} arithmetic, see {@link DecimalEncoding}.
+ */
+abstract class DecimalConverter implements AvroTypeConverter {
+    static final String VALID_JSON_FORMAT = "string number, decimal";
+
+    private final Schema.Type avroType;
+
+    DecimalConverter(Schema.Type avroType) {
+        this.avroType = avroType;
+    }
+
+    @Override
+    public Object convert(Schema.Field field, Schema schema, Object jsonValue, Deque<String> path, boolean silently) {
+        if (!(jsonValue instanceof String) && !(jsonValue instanceof Number)) {
+            if (silently) {
+                return new Incompatible(VALID_JSON_FORMAT);
+            }
+            throw new AvroTypeException(PathsPrinter.field(path) + " is expected to be a valid number. current value is " + jsonValue + ".");
+        }
+        LogicalTypes.Decimal decimal = (LogicalTypes.Decimal) schema.getLogicalType();
+        String text = jsonValue.toString();
+        try {
+            long unscaled = DecimalEncoding.unscaledLong(text, decimal);
+            if (unscaled != DecimalEncoding.NO_FAST_PATH) {
+                return encode(schema, unscaled);
+            }
+            return encode(schema, DecimalEncoding.unscaledBigInteger(text, decimal));
+        } catch (NumberFormatException exception) {
+            if (silently) {
+                return new Incompatible(VALID_JSON_FORMAT);
+            }
+            throw new AvroTypeException(PathsPrinter.field(path) + " is expected to be a valid number. current value is " + jsonValue + ".");
+        } catch (ArithmeticException exception) {
+            if (silently) {
+                return new Incompatible(VALID_JSON_FORMAT);
+            }
+            throw new AvroTypeException(PathsPrinter.field(path) + " is expected to be a decimal of precision "
+                    + decimal.getPrecision() + " and scale " + decimal.getScale() + ". current value is " + jsonValue + ".");
+        }
+    }
+
+    @Override
+    public boolean canManage(Schema schema, Deque<String> path) {
+        return avroType.equals(schema.getType()) && schema.getLogicalType() instanceof LogicalTypes.Decimal;
+    }
+
+    abstract Object encode(Schema schema, long unscaled);
+
+    abstract Object encode(Schema schema, BigInteger unscaled);
+}
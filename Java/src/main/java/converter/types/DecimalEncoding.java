@@ -0,0 +1,114 @@
+package converter.types;
+
+import org.apache.avro.LogicalTypes;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Unscaled two's complement value of a JSON number for a decimal logical type.
+ * <p>
+ * Numbers in plain notation whose unscaled value has at most {@link #MAX_LONG_DIGITS} digits are parsed and scaled in
+ * a {@code long}; exponents, wider numbers and more fraction digits than the scale go through {@link BigDecimal}.
+ * Either way the value must fit the scale without rounding and the precision of the schema.
+ */
+final class DecimalEncoding {
+    static final int MAX_LONG_DIGITS = 18;
+    /**
+     * returned by {@link #unscaledLong} when the value needs the {@link BigDecimal} path
+     */
+    static final long NO_FAST_PATH = Long.MIN_VALUE;
+    private static final long[] POWERS_OF_TEN = new long[MAX_LONG_DIGITS + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private DecimalEncoding() {
+    }
+
+    /**
+     * @return the unscaled value, or {@link #NO_FAST_PATH}
+     * @throws ArithmeticException if the value has more digits than the precision
+     */
+    static long unscaledLong(String text, LogicalTypes.Decimal decimal) {
+        int length = text.length();
+        int i = 0;
+        boolean negative = false;
+        if (length > 0 && (text.charAt(0) == '-' || text.charAt(0) == '+')) {
+            negative = text.charAt(0) == '-';
+            i = 1;
+        }
+        long unscaled = 0;
+        int digits = 0;
+        int fraction = -1;
+        boolean anyDigit = false;
+        for (; i < length; i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                anyDigit = true;
+                if (fraction >= 0) {
+                    fraction++;
+                }
+                if (unscaled == 0 && c == '0') {
+                    continue;
+                }
+                if (++digits > MAX_LONG_DIGITS) {
+                    return NO_FAST_PATH;
+                }
+                unscaled = unscaled * 10 + (c - '0');
+            } else if (c == '.' && fraction < 0) {
+                fraction = 0;
+            } else {
+                return NO_FAST_PATH;
+            }
+        }
+        int shift = decimal.getScale() - Math.max(fraction, 0);
+        if (!anyDigit || shift < 0 || digits + shift > MAX_LONG_DIGITS) {
+            return NO_FAST_PATH;
+        }
+        if (unscaled != 0 && digits + shift > decimal.getPrecision()) {
+            throw precisionException(decimal);
+        }
+        unscaled *= POWERS_OF_TEN[shift];
+        return negative ? -unscaled : unscaled;
+    }
+
+    /**
+     * @throws NumberFormatException if the text is not a number
+     * @throws ArithmeticException if the value does not fit the scale or the precision
+     */
+    static BigInteger unscaledBigInteger(String text, LogicalTypes.Decimal decimal) {
+        BigDecimal scaled = new BigDecimal(text).setScale(decimal.getScale());
+        if (scaled.precision() > decimal.getPrecision()) {
+            throw precisionException(decimal);
+        }
+        return scaled.unscaledValue();
+    }
+
+    /**
+     * @return the same bytes as {@link BigInteger#toByteArray()}
+     */
+    static byte[] toByteArray(long unscaled) {
+        byte[] bytes = new byte[(Long.SIZE - Long.numberOfLeadingZeros(unscaled ^ (unscaled >> 63))) / Byte.SIZE + 1];
+        fill(unscaled, bytes);
+        return bytes;
+    }
+
+    /**
+     * writes the value big endian into all of {@code target}, sign extended
+     */
+    static void fill(long unscaled, byte[] target) {
+        for (int i = target.length - 1; i >= 0; i--) {
+            target[i] = (byte) unscaled;
+            unscaled >>= Byte.SIZE;
+        }
+    }
+
+    private static ArithmeticException precisionException(LogicalTypes.Decimal decimal) {
+        return new ArithmeticException("Precision exceeds " + decimal.getPrecision());
+    }
+}
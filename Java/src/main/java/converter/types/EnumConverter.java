@@ -1,16 +1,28 @@
 package converter.types;
 
+import converter.PathsPrinter;
+import converter.SchemaKeyedCache;
 import org.apache.avro.AvroTypeException;
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericData;
 
 import java.util.Deque;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
-import static java.util.stream.Collectors.joining;
-
+/**
+ * Looks symbols up in a hash table built once per enum schema, which maps them to a shared {@link GenericData.EnumSymbol};
+ * converting a value allocates nothing.
+ */
 public class EnumConverter extends AvroTypeConverterWithStrictJavaTypeCheck<String> {
     public static final AvroTypeConverter INSTANCE = new EnumConverter();
+    /**
+     * Number of enum schemas for which a symbol table is kept
+     */
+    private static final int MAX_SCHEMAS = 1024;
+
+    private final SchemaKeyedCache<Map<String, GenericData.EnumSymbol>> symbolTables = new SchemaKeyedCache<>(MAX_SCHEMAS);
 
     private EnumConverter() {
         super(String.class);
@@ -18,11 +30,12 @@ public class EnumConverter extends AvroTypeConverterWithStrictJavaTypeCheck<Stri
 
     @Override
     public Object convertValue(Schema.Field field, Schema schema, String value, Deque<String> path, boolean silently) {
-        List<String> symbols = schema.getEnumSymbols();
-        if (symbols.contains(value)) {
-            return new GenericData.EnumSymbol(schema, value);
+        GenericData.EnumSymbol symbol = symbolTables.get(schema, EnumConverter::symbolTable).get(value);
+        if (symbol != null) {
+            return symbol;
         }
-        throw enumException(path, symbols.stream().map(String::valueOf).collect(joining(", ")));
+        // a union trying the enum branch drops the error, so the path is only printed when it is reported
+        throw new UnknownSymbolException(schema, silently ? "Field" : PathsPrinter.field(path));
     }
 
     @Override
@@ -30,7 +43,35 @@ public class EnumConverter extends AvroTypeConverterWithStrictJavaTypeCheck<Stri
         return schema.getType().equals(Schema.Type.ENUM);
     }
 
-    private static AvroTypeException enumException(Deque<String> fieldPath, String expectedSymbols) {
-        return new AvroTypeException("Field is expected to be of enum type and be one of " + expectedSymbols);
+    private static Map<String, GenericData.EnumSymbol> symbolTable(Schema schema) {
+        List<String> symbols = schema.getEnumSymbols();
+        Map<String, GenericData.EnumSymbol> table = new HashMap<>((int) (symbols.size() / 0.75f) + 1);
+        for (String symbol : symbols) {
+            table.put(symbol, new GenericData.EnumSymbol(schema, symbol));
+        }
+        return table;
+    }
+
+    /**
+     * Lists the symbols only once the message is read; unions that try the enum branch and move on never do.
+     */
+    private static final class UnknownSymbolException extends AvroTypeException {
+        private final Schema schema;
+        private final String subject;
+        private String message;
+
+        private UnknownSymbolException(Schema schema, String subject) {
+            super(null);
+            this.schema = schema;
+            this.subject = subject;
+        }
+
+        @Override
+        public String getMessage() {
+            if (message == null) {
+                message = subject + " is expected to be of enum type and be one of " + String.join(", ", schema.getEnumSymbols());
+            }
+            return message;
+        }
     }
 }
@@ -0,0 +1,41 @@
+package converter.types;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+import static org.apache.avro.Schema.Type.FIXED;
+
+/**
+ * Decimals on a {@code fixed} schema: the unscaled value big endian, sign extended to the size of the schema.
+ */
+public class FixedDecimalConverter extends DecimalConverter {
+    public static final AvroTypeConverter INSTANCE = new FixedDecimalConverter();
+
+    private FixedDecimalConverter() {
+        super(FIXED);
+    }
+
+    @Override
+    Object encode(Schema schema, long unscaled) {
+        // Avro only accepts a precision the fixed size can hold, so the checked precision is enough
+        byte[] bytes = new byte[schema.getFixedSize()];
+        DecimalEncoding.fill(unscaled, bytes);
+        return new GenericData.Fixed(schema, bytes);
+    }
+
+    @Override
+    Object encode(Schema schema, BigInteger unscaled) {
+        byte[] minimal = unscaled.toByteArray();
+        byte[] bytes = new byte[schema.getFixedSize()];
+        int padding = bytes.length - minimal.length;
+        if (padding < 0) {
+            throw new ArithmeticException("Decimal does not fit " + bytes.length + " bytes");
+        }
+        Arrays.fill(bytes, 0, padding, unscaled.signum() < 0 ? (byte) -1 : 0);
+        System.arraycopy(minimal, 0, bytes, padding, minimal.length);
+        return new GenericData.Fixed(schema, bytes);
+    }
+}
@@ -0,0 +1,187 @@
+package converter.types;
+
+/**
+ * Parses the common ISO-8601 shapes straight into epoch values, without going through {@code TemporalAccessor}.
+ * <p>
+ * Accepts {@code yyyy-MM-dd} dates and {@code yyyy-MM-ddTHH:mm[:ss[.fffffffff]]} date times followed, where an offset
+ * is expected, by {@code Z}, {@code +HH:mm[:ss]} or {@code -HH:mm[:ss]}, exactly as
+ * {@code DateTimeFormatter.ISO_LOCAL_DATE}, {@code ISO_LOCAL_DATE_TIME} and {@code ISO_OFFSET_DATE_TIME} do for years
+ * 0000 to 9999. Anything else, including invalid dates, gives {@link #NOT_PARSED} so the caller can leave the decision
+ * and the error to the formatter.
+ */
+final class IsoDateTimes {
+    static final long NOT_PARSED = Long.MIN_VALUE;
+    private static final long DAYS_0000_TO_1970 = 719_528;
+    private static final int[] POWERS_OF_TEN = {1, 10, 100, 1_000, 10_000, 100_000, 1_000_000, 10_000_000, 100_000_000, 1_000_000_000};
+    private static final int DATE_LENGTH = 10;
+    private static final int MAX_OFFSET_HOURS = 18;
+
+    private IsoDateTimes() {
+    }
+
+    /**
+     * @return days since 1970-01-01 of a {@code yyyy-MM-dd} date, or {@link #NOT_PARSED}
+     */
+    static long epochDay(String text) {
+        return text.length() == DATE_LENGTH ? epochDay(text, 0) : NOT_PARSED;
+    }
+
+    /**
+     * @return milliseconds since the epoch of a date time with offset, or {@link #NOT_PARSED}
+     */
+    static long epochMillis(String text) {
+        return epoch(text, 1_000, true);
+    }
+
+    /**
+     * @return microseconds since the epoch of a date time with offset, or {@link #NOT_PARSED}
+     */
+    static long epochMicros(String text) {
+        return epoch(text, 1_000_000, true);
+    }
+
+    /**
+     * @return milliseconds since 1970-01-01T00:00 of a date time without offset, or {@link #NOT_PARSED}
+     */
+    static long localEpochMillis(String text) {
+        return epoch(text, 1_000, false);
+    }
+
+    /**
+     * @return microseconds since 1970-01-01T00:00 of a date time without offset, or {@link #NOT_PARSED}
+     */
+    static long localEpochMicros(String text) {
+        return epoch(text, 1_000_000, false);
+    }
+
+    private static long epoch(String text, int unitsPerSecond, boolean withOffset) {
+        int length = text.length();
+        if (length < 16 || (text.charAt(10) != 'T' && text.charAt(10) != 't') || text.charAt(13) != ':') {
+            return NOT_PARSED;
+        }
+        long day = epochDay(text, 0);
+        int hour = digits(text, 11, 2);
+        int minute = digits(text, 14, 2);
+        if (day == NOT_PARSED || hour < 0 || hour > 23 || minute < 0 || minute > 59) {
+            return NOT_PARSED;
+        }
+        int i = 16;
+        int second = 0;
+        int nano = 0;
+        if (i < length && text.charAt(i) == ':') {
+            second = digits(text, i + 1, 2);
+            if (second < 0 || second > 59) {
+                return NOT_PARSED;
+            }
+            i += 3;
+            if (i < length && text.charAt(i) == '.') {
+                int start = ++i;
+                while (i < length && i - start < 9 && isDigit(text.charAt(i))) {
+                    nano = nano * 10 + (text.charAt(i++) - '0');
+                }
+                if (i == start) {
+                    return NOT_PARSED;
+                }
+                nano *= POWERS_OF_TEN[9 - (i - start)];
+            }
+        }
+        int offsetSeconds = 0;
+        if (withOffset) {
+            if (i >= length) {
+                return NOT_PARSED;
+            }
+            char sign = text.charAt(i);
+            if (sign == 'Z' || sign == 'z') {
+                i++;
+            } else if (sign == '+' || sign == '-') {
+                int offsetHours = digits(text, i + 1, 2);
+                int offsetMinutes = i + 3 < length && text.charAt(i + 3) == ':' ? digits(text, i + 4, 2) : -1;
+                if (offsetHours < 0 || offsetMinutes < 0) {
+                    return NOT_PARSED;
+                }
+                i += 6;
+                int offsetSecondsPart = 0;
+                if (i < length && text.charAt(i) == ':') {
+                    offsetSecondsPart = digits(text, i + 1, 2);
+                    i += 3;
+                }
+                if (offsetHours > MAX_OFFSET_HOURS || offsetMinutes > 59 || offsetSecondsPart < 0 || offsetSecondsPart > 59
+                        || (offsetHours == MAX_OFFSET_HOURS && (offsetMinutes | offsetSecondsPart) != 0)) {
+                    return NOT_PARSED;
+                }
+                offsetSeconds = offsetHours * 3_600 + offsetMinutes * 60 + offsetSecondsPart;
+                if (sign == '-') {
+                    offsetSeconds = -offsetSeconds;
+                }
+            } else {
+                return NOT_PARSED;
+            }
+        }
+        if (i != length) {
+            return NOT_PARSED;
+        }
+        long epochSecond = day * 86_400 + hour * 3_600 + minute * 60 + second - offsetSeconds;
+        return epochSecond * unitsPerSecond + nano / (1_000_000_000 / unitsPerSecond);
+    }
+
+    /**
+     * same arithmetic as {@code LocalDate.toEpochDay}, for years 0000 to 9999
+     */
+    private static long epochDay(String text, int from) {
+        if (text.charAt(from + 4) != '-' || text.charAt(from + 7) != '-') {
+            return NOT_PARSED;
+        }
+        int year = digits(text, from, 4);
+        int month = digits(text, from + 5, 2);
+        int day = digits(text, from + 8, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)) {
+            return NOT_PARSED;
+        }
+        long days = 365L * year + (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400
+                + (367 * month - 362) / 12 + day - 1;
+        if (month > 2) {
+            days -= isLeap(year) ? 1 : 2;
+        }
+        return days - DAYS_0000_TO_1970;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                return isLeap(year) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    private static boolean isLeap(int year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    /**
+     * @return the value of {@code count} decimal digits, or -1 if they are not all digits
+     */
+    private static int digits(String text, int from, int count) {
+        if (from + count > text.length()) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = from; i < from + count; i++) {
+            char c = text.charAt(i);
+            if (!isDigit(c)) {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
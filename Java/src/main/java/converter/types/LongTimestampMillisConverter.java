@@ -1,14 +1,22 @@
 package converter.types;
+import converter.PathsPrinter;
 import org.apache.avro.AvroTypeException;
 import org.apache.avro.Schema;
 
 
+import java.time.DateTimeException;
 import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
 import java.util.Deque;
 
 import static org.apache.avro.Schema.Type.LONG;
+
+/**
+ * Converts {@code timestamp-millis} values, keeping the milliseconds of date time strings. With the default
+ * {@link DateTimeFormatter#ISO_DATE_TIME} the common shapes are parsed by {@link IsoDateTimes}, the formatter is only
+ * used for what that does not cover.
+ */
 public class LongTimestampMillisConverter implements AvroTypeConverter {
     public static final AvroTypeConverter INSTANCE = new LongTimestampMillisConverter(DateTimeFormatter.ISO_DATE_TIME);
     public static final String VALID_JSON_FORMAT = "date time string, timestamp number";
@@ -23,14 +31,22 @@ public class LongTimestampMillisConverter implements AvroTypeConverter {
     public Object convert(Schema.Field field, Schema schema, Object jsonValue, Deque<String> path, boolean silently) {
         if (jsonValue instanceof String) {
             String dateString = (String) jsonValue;
+            if (dateTimeFormatter == DateTimeFormatter.ISO_DATE_TIME) {
+                long millis = IsoDateTimes.epochMillis(dateString);
+                if (millis != IsoDateTimes.NOT_PARSED) {
+                    return millis;
+                }
+            }
             try {
-                long dateTimestamp = dateTimeFormatter.parse(dateString).getLong(ChronoField.INSTANT_SECONDS);
-                return dateTimestamp * 1000;
-            } catch (DateTimeParseException exception) {
+                TemporalAccessor dateTime = dateTimeFormatter.parse(dateString);
+                long millis = dateTime.getLong(ChronoField.INSTANT_SECONDS) * 1000;
+                return dateTime.isSupported(ChronoField.NANO_OF_SECOND)
+                        ? millis + dateTime.getLong(ChronoField.NANO_OF_SECOND) / 1_000_000 : millis;
+            } catch (DateTimeException exception) {
                 if (silently) {
                     return new Incompatible(VALID_JSON_FORMAT);
                 } else {
-                    throw new AvroTypeException("Field should be a valid date time.");
+                    throw new AvroTypeException(PathsPrinter.field(path) + " should be a valid date time.");
                 }
             }
         } else if (jsonValue instanceof Number) {
@@ -40,7 +56,7 @@ public class LongTimestampMillisConverter implements AvroTypeConverter {
         if (silently) {
             return new Incompatible(VALID_JSON_FORMAT);
         } else {
-            throw new AvroTypeException("Field is expected to be type: java.lang.String or java.lang.Number.");
+            throw new AvroTypeException(PathsPrinter.field(path) + " is expected to be type: java.lang.String or java.lang.Number.");
         }
     }
 
@@ -18,7 +18,8 @@ public class MapConverter extends AvroTypeConverterWithStrictJavaTypeCheck<Map>
     @SuppressWarnings("unchecked")
     @Override
     public Object convertValue(Schema.Field field, Schema schema, Map jsonValue, Deque<String> path, boolean silently) {
-        Map<String, Object> result = new HashMap<>(jsonValue.size());
+        // sized so that the table is not resized while it is filled
+        Map<String, Object> result = new HashMap<>((int) (jsonValue.size() / 0.75f) + 1);
         ((Map<String, Object>)jsonValue).forEach((k, v) ->
                 result.put(k, this.recordRecord.read(field, schema.getValueType(), v, path, false))
         );
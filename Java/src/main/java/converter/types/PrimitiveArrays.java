@@ -0,0 +1,430 @@
+package converter.types;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * {@link GenericData.Array}s of {@code int}, {@code long}, {@code float}, {@code double} and {@code boolean} elements
+ * that store them unboxed. They behave as any other {@link GenericData.Array}, boxing elements only when they are
+ * read as objects, and expose typed getters that {@code PrimitiveArrayDatumWriter} encodes from. Unlike a plain
+ * {@link GenericData.Array}, they do not take null elements.
+ */
+public final class PrimitiveArrays {
+    private static final int MIN_CAPACITY = 10;
+
+    private PrimitiveArrays() {
+    }
+
+    /**
+     * @param capacity number of elements the array takes before it grows
+     * @param arraySchema the array schema
+     * @return an empty array, backed by primitive storage when the elements are of a primitive type
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static GenericData.Array<Object> newArray(int capacity, Schema arraySchema) {
+        switch (arraySchema.getElementType().getType()) {
+            case INT:
+                return (GenericData.Array) new IntArray(capacity, arraySchema);
+            case LONG:
+                return (GenericData.Array) new LongArray(capacity, arraySchema);
+            case FLOAT:
+                return (GenericData.Array) new FloatArray(capacity, arraySchema);
+            case DOUBLE:
+                return (GenericData.Array) new DoubleArray(capacity, arraySchema);
+            case BOOLEAN:
+                return (GenericData.Array) new BooleanArray(capacity, arraySchema);
+            default:
+                return new GenericData.Array<>(capacity, arraySchema);
+        }
+    }
+
+    /**
+     * Keeps the size and implements the list operations over the storage of a subclass.
+     */
+    public abstract static class PrimitiveArray<T> extends GenericData.Array<T> {
+        int size;
+
+        PrimitiveArray(Schema schema) {
+            super(0, schema);
+        }
+
+        /**
+         * @return true if {@code value} is the boxed type of the elements, and so can be added
+         */
+        public abstract boolean accepts(Object value);
+
+        abstract int capacity();
+
+        abstract void resize(int capacity);
+
+        abstract void move(int from, int to, int length);
+
+        abstract void swap(int i, int j);
+
+        abstract T box(int i);
+
+        abstract void store(int i, T value);
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void clear() {
+            size = 0;
+        }
+
+        @Override
+        public void prune() {
+            // primitive storage holds no elements to release
+        }
+
+        @Override
+        public T peek() {
+            // there is no element instance to reuse
+            return null;
+        }
+
+        @Override
+        public T get(int i) {
+            checkIndex(i);
+            return box(i);
+        }
+
+        @Override
+        public boolean add(T value) {
+            ensureCapacity(size + 1);
+            store(size, value);
+            size++;
+            return true;
+        }
+
+        @Override
+        public void add(int location, T value) {
+            if (location < 0 || location > size) {
+                throw new IndexOutOfBoundsException("Index " + location + " out of bounds for length " + size);
+            }
+            ensureCapacity(size + 1);
+            move(location, location + 1, size - location);
+            store(location, value);
+            size++;
+        }
+
+        @Override
+        public T set(int i, T value) {
+            checkIndex(i);
+            T previous = box(i);
+            store(i, value);
+            return previous;
+        }
+
+        @Override
+        public T remove(int i) {
+            checkIndex(i);
+            T removed = box(i);
+            move(i + 1, i, size - i - 1);
+            size--;
+            return removed;
+        }
+
+        @Override
+        public void reverse() {
+            for (int i = 0, j = size - 1; i < j; i++, j--) {
+                swap(i, j);
+            }
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return new Iterator<T>() {
+                private int next;
+
+                @Override
+                public boolean hasNext() {
+                    return next < size;
+                }
+
+                @Override
+                public T next() {
+                    if (next >= size) {
+                        throw new NoSuchElementException();
+                    }
+                    return box(next++);
+                }
+            };
+        }
+
+        void checkIndex(int i) {
+            if (i < 0 || i >= size) {
+                throw new IndexOutOfBoundsException("Index " + i + " out of bounds for length " + size);
+            }
+        }
+
+        private void ensureCapacity(int required) {
+            int capacity = capacity();
+            if (required > capacity) {
+                resize(Math.max(required, Math.max(MIN_CAPACITY, capacity + (capacity >> 1))));
+            }
+        }
+    }
+
+    public static final class IntArray extends PrimitiveArray<Integer> {
+        private int[] elements;
+
+        public IntArray(int capacity, Schema schema) {
+            super(schema);
+            this.elements = new int[capacity];
+        }
+
+        public int getInt(int i) {
+            checkIndex(i);
+            return elements[i];
+        }
+
+        @Override
+        public boolean accepts(Object value) {
+            return value instanceof Integer;
+        }
+
+        @Override
+        int capacity() {
+            return elements.length;
+        }
+
+        @Override
+        void resize(int capacity) {
+            elements = Arrays.copyOf(elements, capacity);
+        }
+
+        @Override
+        void move(int from, int to, int length) {
+            System.arraycopy(elements, from, elements, to, length);
+        }
+
+        @Override
+        void swap(int i, int j) {
+            int element = elements[i];
+            elements[i] = elements[j];
+            elements[j] = element;
+        }
+
+        @Override
+        Integer box(int i) {
+            return elements[i];
+        }
+
+        @Override
+        void store(int i, Integer value) {
+            elements[i] = value;
+        }
+    }
+
+    public static final class LongArray extends PrimitiveArray<Long> {
+        private long[] elements;
+
+        public LongArray(int capacity, Schema schema) {
+            super(schema);
+            this.elements = new long[capacity];
+        }
+
+        public long getLong(int i) {
+            checkIndex(i);
+            return elements[i];
+        }
+
+        @Override
+        public boolean accepts(Object value) {
+            return value instanceof Long;
+        }
+
+        @Override
+        int capacity() {
+            return elements.length;
+        }
+
+        @Override
+        void resize(int capacity) {
+            elements = Arrays.copyOf(elements, capacity);
+        }
+
+        @Override
+        void move(int from, int to, int length) {
+            System.arraycopy(elements, from, elements, to, length);
+        }
+
+        @Override
+        void swap(int i, int j) {
+            long element = elements[i];
+            elements[i] = elements[j];
+            elements[j] = element;
+        }
+
+        @Override
+        Long box(int i) {
+            return elements[i];
+        }
+
+        @Override
+        void store(int i, Long value) {
+            elements[i] = value;
+        }
+    }
+
+    public static final class FloatArray extends PrimitiveArray<Float> {
+        private float[] elements;
+
+        public FloatArray(int capacity, Schema schema) {
+            super(schema);
+            this.elements = new float[capacity];
+        }
+
+        public float getFloat(int i) {
+            checkIndex(i);
+            return elements[i];
+        }
+
+        @Override
+        public boolean accepts(Object value) {
+            return value instanceof Float;
+        }
+
+        @Override
+        int capacity() {
+            return elements.length;
+        }
+
+        @Override
+        void resize(int capacity) {
+            elements = Arrays.copyOf(elements, capacity);
+        }
+
+        @Override
+        void move(int from, int to, int length) {
+            System.arraycopy(elements, from, elements, to, length);
+        }
+
+        @Override
+        void swap(int i, int j) {
+            float element = elements[i];
+            elements[i] = elements[j];
+            elements[j] = element;
+        }
+
+        @Override
+        Float box(int i) {
+            return elements[i];
+        }
+
+        @Override
+        void store(int i, Float value) {
+            elements[i] = value;
+        }
+    }
+
+    public static final class DoubleArray extends PrimitiveArray<Double> {
+        private double[] elements;
+
+        public DoubleArray(int capacity, Schema schema) {
+            super(schema);
+            this.elements = new double[capacity];
+        }
+
+        public double getDouble(int i) {
+            checkIndex(i);
+            return elements[i];
+        }
+
+        @Override
+        public boolean accepts(Object value) {
+            return value instanceof Double;
+        }
+
+        @Override
+        int capacity() {
+            return elements.length;
+        }
+
+        @Override
+        void resize(int capacity) {
+            elements = Arrays.copyOf(elements, capacity);
+        }
+
+        @Override
+        void move(int from, int to, int length) {
+            System.arraycopy(elements, from, elements, to, length);
+        }
+
+        @Override
+        void swap(int i, int j) {
+            double element = elements[i];
+            elements[i] = elements[j];
+            elements[j] = element;
+        }
+
+        @Override
+        Double box(int i) {
+            return elements[i];
+        }
+
+        @Override
+        void store(int i, Double value) {
+            elements[i] = value;
+        }
+    }
+
+    public static final class BooleanArray extends PrimitiveArray<Boolean> {
+        private boolean[] elements;
+
+        public BooleanArray(int capacity, Schema schema) {
+            super(schema);
+            this.elements = new boolean[capacity];
+        }
+
+        public boolean getBoolean(int i) {
+            checkIndex(i);
+            return elements[i];
+        }
+
+        @Override
+        public boolean accepts(Object value) {
+            return value instanceof Boolean;
+        }
+
+        @Override
+        int capacity() {
+            return elements.length;
+        }
+
+        @Override
+        void resize(int capacity) {
+            elements = Arrays.copyOf(elements, capacity);
+        }
+
+        @Override
+        void move(int from, int to, int length) {
+            System.arraycopy(elements, from, elements, to, length);
+        }
+
+        @Override
+        void swap(int i, int j) {
+            boolean element = elements[i];
+            elements[i] = elements[j];
+            elements[j] = element;
+        }
+
+        @Override
+        Boolean box(int i) {
+            return elements[i];
+        }
+
+        @Override
+        void store(int i, Boolean value) {
+            elements[i] = value;
+        }
+    }
+}
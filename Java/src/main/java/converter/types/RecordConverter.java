@@ -1,17 +1,30 @@
 package converter.types;
 
-import org.apache.avro.Schema;
-import org.apache.avro.generic.GenericRecordBuilder;
 import converter.JsonToAvroReader;
-import converter.PathsPrinter;
+import converter.SchemaKeyedCache;
 import converter.UnknownFieldListener;
+import org.apache.avro.AvroRuntimeException;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
 
 import java.util.Deque;
+import java.util.List;
 import java.util.Map;
 
+/**
+ * Writes converted fields straight into a {@link GenericData.Record} by position. The fields and their default values
+ * are resolved once per record schema; fields the JSON leaves out are tracked in a bitset and filled in afterwards with
+ * the same values and errors as {@code GenericRecordBuilder}.
+ */
 public class RecordConverter extends AvroTypeConverterWithStrictJavaTypeCheck<Map> {
+    /**
+     * Number of record schemas for which a layout is kept
+     */
+    private static final int MAX_SCHEMAS = 1024;
+
     private final JsonToAvroReader jsonToAvroReader;
     private final UnknownFieldListener unknownFieldListener;
+    private final SchemaKeyedCache<Layout> layouts = new SchemaKeyedCache<>(MAX_SCHEMAS);
 
     public RecordConverter(JsonToAvroReader jsonToAvroReader, UnknownFieldListener unknownFieldListener) {
         super(Map.class);
@@ -22,20 +35,133 @@ public class RecordConverter extends AvroTypeConverterWithStrictJavaTypeCheck<Ma
     @SuppressWarnings("unchecked")
     @Override
     public Object convertValue(Schema.Field field, Schema schema, Map jsonValue, Deque<String> path, boolean silently) {
-        GenericRecordBuilder record = new GenericRecordBuilder(schema);
-        ((Map<String, Object>)jsonValue).forEach((key, value) -> {
-            Schema.Field subField = schema.getField(key);
-            if (subField != null) {
-                record.set(subField, this.jsonToAvroReader.read(subField, subField.schema(), value, path, false));
-            } else if (unknownFieldListener != null) {
-                unknownFieldListener.onUnknownField(key, value, PathsPrinter.print(path, key));
-            }
-        });
-        return record.build();
+        Layout layout = layouts.get(schema, Layout::new);
+        Schema.Field[] fields = layout.fields;
+        GenericData.Record record = new GenericData.Record(schema);
+        long assigned = 0;
+        long[] assignedBeyond = null;
+        int next = 0;
+        for (Map.Entry<String, Object> entry : ((Map<String, Object>) jsonValue).entrySet()) {
+            String key = entry.getKey();
+            // keys usually come in schema order, so the field after the last one set is tried before the lookup
+            Schema.Field subField = next < fields.length && fields[next].name().equals(key) ? fields[next] : schema.getField(key);
+            if (subField == null) {
+                if (unknownFieldListener != null) {
+                    unknownFieldListener.onUnknownField(key, entry.getValue(), path);
+                }
+                continue;
+            }
+            int pos = subField.pos();
+            Object value = this.jsonToAvroReader.read(subField, subField.schema(), entry.getValue(), path, false);
+            if (value == null && layout.rejectsNull[pos]) {
+                throw new AvroRuntimeException("Field " + subField + " does not accept null values");
+            }
+            record.put(pos, value);
+            if (pos < Long.SIZE) {
+                assigned |= 1L << pos;
+            } else {
+                if (assignedBeyond == null) {
+                    assignedBeyond = new long[layout.words - 1];
+                }
+                assignedBeyond[pos / Long.SIZE - 1] |= 1L << pos;
+            }
+            next = pos + 1;
+        }
+        layout.fillUnassigned(record, 0, assigned);
+        for (int word = 1; word < layout.words; word++) {
+            layout.fillUnassigned(record, word, assignedBeyond == null ? 0 : assignedBeyond[word - 1]);
+        }
+        return record;
+    }
+
+    public UnknownFieldListener unknownFieldListener() {
+        return unknownFieldListener;
     }
 
     @Override
     public boolean canManage(Schema schema, Deque<String> path) {
         return schema.getType().equals(Schema.Type.RECORD);
     }
-}
\ No newline at end of file
+
+    /**
+     * Fields of a record schema by position, with their defaults resolved once. Defaults of immutable types are shared
+     * by every record, the others are copied for each record so that no two records share a mutable value.
+     */
+    private static final class Layout {
+        final Schema.Field[] fields;
+        /**
+         * number of 64 bit words in the bitset of assigned fields
+         */
+        final int words;
+        /**
+         * fields without default that do not take null, rejected by {@code GenericRecordBuilder.set} as well
+         */
+        final boolean[] rejectsNull;
+        private final Object[] defaults;
+        private final boolean[] copiedDefaults;
+        private final long[] fieldMasks;
+
+        private Layout(Schema schema) {
+            List<Schema.Field> fieldList = schema.getFields();
+            int size = fieldList.size();
+            this.fields = fieldList.toArray(new Schema.Field[0]);
+            this.words = Math.max(1, (size + Long.SIZE - 1) / Long.SIZE);
+            this.rejectsNull = new boolean[size];
+            this.defaults = new Object[size];
+            this.copiedDefaults = new boolean[size];
+            this.fieldMasks = new long[words];
+            for (int pos = 0; pos < size; pos++) {
+                Schema.Field field = fields[pos];
+                fieldMasks[pos / Long.SIZE] |= 1L << pos;
+                if (field.hasDefaultValue()) {
+                    Object value = GenericData.get().getDefaultValue(field);
+                    defaults[pos] = value;
+                    copiedDefaults[pos] = !isImmutable(value);
+                } else {
+                    rejectsNull[pos] = !acceptsNull(field.schema());
+                }
+            }
+        }
+
+        /**
+         * sets the default of every field of {@code word} that is not in {@code assigned}, in position order
+         */
+        void fillUnassigned(GenericData.Record record, int word, long assigned) {
+            long unassigned = fieldMasks[word] & ~assigned;
+            while (unassigned != 0) {
+                int pos = word * Long.SIZE + Long.numberOfTrailingZeros(unassigned);
+                unassigned &= unassigned - 1;
+                record.put(pos, defaultValue(pos));
+            }
+        }
+
+        private Object defaultValue(int pos) {
+            Schema.Field field = fields[pos];
+            if (!field.hasDefaultValue()) {
+                // throws the same AvroMissingFieldException as GenericRecordBuilder
+                return GenericData.get().getDefaultValue(field);
+            }
+            Object value = defaults[pos];
+            return copiedDefaults[pos] ? GenericData.get().deepCopy(field.schema(), value) : value;
+        }
+
+        private static boolean isImmutable(Object value) {
+            return value == null || value instanceof String || value instanceof Number || value instanceof Boolean
+                    || value instanceof GenericData.EnumSymbol;
+        }
+
+        private static boolean acceptsNull(Schema schema) {
+            if (schema.getType() == Schema.Type.NULL) {
+                return true;
+            }
+            if (schema.getType() == Schema.Type.UNION) {
+                for (Schema type : schema.getTypes()) {
+                    if (type.getType() == Schema.Type.NULL) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+}
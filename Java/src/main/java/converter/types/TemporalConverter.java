@@ -0,0 +1,109 @@
+package converter.types;
+
+import converter.PathsPrinter;
+import org.apache.avro.AvroTypeException;
+import org.apache.avro.Schema;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.util.Deque;
+import java.util.function.ToLongFunction;
+
+/**
+ * Converts the date and time logical types other than {@code timestamp-millis}. A JSON number is taken as the raw
+ * value, a string is parsed from its ISO-8601 form; dates and timestamps by {@link IsoDateTimes} where it can, by
+ * {@code java.time} otherwise.
+ */
+public class TemporalConverter implements AvroTypeConverter {
+    public static final AvroTypeConverter DATE = new TemporalConverter(Schema.Type.INT, "date",
+            "date string, day number", TemporalConverter::epochDay);
+    public static final AvroTypeConverter TIME_MILLIS = new TemporalConverter(Schema.Type.INT, "time-millis",
+            "time string, millisecond number", text -> LocalTime.parse(text).toNanoOfDay() / 1_000_000);
+    public static final AvroTypeConverter TIME_MICROS = new TemporalConverter(Schema.Type.LONG, "time-micros",
+            "time string, microsecond number", text -> LocalTime.parse(text).toNanoOfDay() / 1_000);
+    public static final AvroTypeConverter TIMESTAMP_MICROS = new TemporalConverter(Schema.Type.LONG, "timestamp-micros",
+            "date time string, timestamp number", TemporalConverter::epochMicros);
+    public static final AvroTypeConverter LOCAL_TIMESTAMP_MILLIS = new TemporalConverter(Schema.Type.LONG, "local-timestamp-millis",
+            "local date time string, timestamp number", TemporalConverter::localEpochMillis);
+    public static final AvroTypeConverter LOCAL_TIMESTAMP_MICROS = new TemporalConverter(Schema.Type.LONG, "local-timestamp-micros",
+            "local date time string, timestamp number", TemporalConverter::localEpochMicros);
+
+    private final Schema.Type avroType;
+    private final String logicalType;
+    private final String validJsonFormat;
+    private final ToLongFunction<String> parser;
+
+    protected TemporalConverter(Schema.Type avroType, String logicalType, String validJsonFormat, ToLongFunction<String> parser) {
+        this.avroType = avroType;
+        this.logicalType = logicalType;
+        this.validJsonFormat = validJsonFormat;
+        this.parser = parser;
+    }
+
+    @Override
+    public Object convert(Schema.Field field, Schema schema, Object jsonValue, Deque<String> path, boolean silently) {
+        if (jsonValue instanceof Number) {
+            Number number = (Number) jsonValue;
+            return avroType == Schema.Type.INT ? (Object) number.intValue() : (Object) number.longValue();
+        }
+        if (jsonValue instanceof String) {
+            try {
+                long value = parser.applyAsLong((String) jsonValue);
+                return avroType == Schema.Type.INT ? (Object) Math.toIntExact(value) : (Object) value;
+            } catch (DateTimeException | ArithmeticException exception) {
+                if (silently) {
+                    return new Incompatible(validJsonFormat);
+                }
+                throw new AvroTypeException(PathsPrinter.field(path) + " should be a valid " + logicalType + ".");
+            }
+        }
+        if (silently) {
+            return new Incompatible(validJsonFormat);
+        }
+        throw new AvroTypeException(PathsPrinter.field(path) + " is expected to be type: java.lang.String or java.lang.Number.");
+    }
+
+    @Override
+    public boolean canManage(Schema schema, Deque<String> path) {
+        return avroType.equals(schema.getType()) && AvroTypeConverter.isLogicalType(schema, logicalType);
+    }
+
+    private static long epochDay(String text) {
+        long day = IsoDateTimes.epochDay(text);
+        return day != IsoDateTimes.NOT_PARSED ? day : LocalDate.parse(text).toEpochDay();
+    }
+
+    private static long epochMicros(String text) {
+        long micros = IsoDateTimes.epochMicros(text);
+        if (micros != IsoDateTimes.NOT_PARSED) {
+            return micros;
+        }
+        TemporalAccessor dateTime = DateTimeFormatter.ISO_DATE_TIME.parse(text);
+        return Math.addExact(Math.multiplyExact(dateTime.getLong(ChronoField.INSTANT_SECONDS), 1_000_000L),
+                dateTime.getLong(ChronoField.NANO_OF_SECOND) / 1_000);
+    }
+
+    private static long localEpochMillis(String text) {
+        long millis = IsoDateTimes.localEpochMillis(text);
+        if (millis != IsoDateTimes.NOT_PARSED) {
+            return millis;
+        }
+        LocalDateTime dateTime = LocalDateTime.parse(text);
+        return Math.addExact(Math.multiplyExact(dateTime.toEpochSecond(ZoneOffset.UTC), 1_000L), dateTime.getNano() / 1_000_000);
+    }
+
+    private static long localEpochMicros(String text) {
+        long micros = IsoDateTimes.localEpochMicros(text);
+        if (micros != IsoDateTimes.NOT_PARSED) {
+            return micros;
+        }
+        LocalDateTime dateTime = LocalDateTime.parse(text);
+        return Math.addExact(Math.multiplyExact(dateTime.toEpochSecond(ZoneOffset.UTC), 1_000_000L), dateTime.getNano() / 1_000);
+    }
+}
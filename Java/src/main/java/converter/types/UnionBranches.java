@@ -0,0 +1,158 @@
+package converter.types;
+
+import org.apache.avro.Schema;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Branches of a union that can take a JSON value, by kind of value.
+ * <p>
+ * What a built-in converter accepts only depends on the Java type of the value, so for every kind (null, boolean,
+ * number, string, object, array) only the branches whose converter can take it are kept, in union order. A record
+ * branch is also ruled out for an object that lacks one of its fields without default. Branches handled by any other
+ * converter are kept for every kind.
+ */
+public final class UnionBranches {
+    private static final int NULL = 0;
+    private static final int BOOLEAN = 1;
+    private static final int NUMBER = 2;
+    private static final int STRING = 3;
+    private static final int OBJECT = 4;
+    private static final int ARRAY = 5;
+    private static final int KINDS = 6;
+
+    private final int[][] candidates = new int[KINDS][];
+    /**
+     * names of the fields without default, per branch; null for branches that are not built-in records
+     */
+    private final String[][] requiredFields;
+
+    /**
+     * @param union the union schema
+     * @param converters the converter of every branch, in union order, null for branches no converter can manage
+     */
+    public UnionBranches(Schema union, List<AvroTypeConverter> converters) {
+        List<Schema> types = union.getTypes();
+        List<List<Integer>> byKind = new ArrayList<>(KINDS);
+        for (int kind = 0; kind < KINDS; kind++) {
+            byKind.add(new ArrayList<>());
+        }
+        requiredFields = new String[types.size()][];
+        for (int branch = 0; branch < types.size(); branch++) {
+            AvroTypeConverter converter = converters.get(branch);
+            for (int kind : kinds(converter)) {
+                byKind.get(kind).add(branch);
+            }
+            if (converter != null && converter.getClass() == RecordConverter.class) {
+                requiredFields[branch] = requiredFields(types.get(branch));
+            }
+        }
+        for (int kind = 0; kind < KINDS; kind++) {
+            candidates[kind] = byKind.get(kind).stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    /**
+     * @return the branches that can take the value, in union order, or null if the kind of the value is not known
+     */
+    public int[] candidates(Object jsonValue) {
+        int kind = kind(jsonValue);
+        return kind < 0 ? null : candidates[kind];
+    }
+
+    /**
+     * @return false if the branch certainly rejects the value
+     */
+    public boolean mayAccept(int branch, Object jsonValue) {
+        String[] required = requiredFields[branch];
+        if (required == null || !(jsonValue instanceof Map)) {
+            return true;
+        }
+        return containsAll(((Map<?, ?>) jsonValue).keySet(), required);
+    }
+
+    /**
+     * @param fieldNames names of the fields of a JSON object
+     * @return false if the branch certainly rejects an object with these fields
+     */
+    public boolean mayAcceptFields(int branch, Set<String> fieldNames) {
+        String[] required = requiredFields[branch];
+        return required == null || containsAll(fieldNames, required);
+    }
+
+    private static boolean containsAll(Set<?> names, String[] required) {
+        for (String name : required) {
+            if (!names.contains(name)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int kind(Object jsonValue) {
+        if (jsonValue == null) {
+            return NULL;
+        }
+        if (jsonValue instanceof String) {
+            return STRING;
+        }
+        if (jsonValue instanceof Number) {
+            return NUMBER;
+        }
+        if (jsonValue instanceof Boolean) {
+            return BOOLEAN;
+        }
+        if (jsonValue instanceof Map) {
+            return OBJECT;
+        }
+        if (jsonValue instanceof Collection) {
+            return ARRAY;
+        }
+        return -1;
+    }
+
+    private static int[] kinds(AvroTypeConverter converter) {
+        if (converter == null) {
+            // reading the branch fails with an unsupported type
+            return new int[0];
+        }
+        if (converter == NullConverter.INSTANCE) {
+            return new int[]{NULL};
+        }
+        if (converter == PrimitiveConverter.BOOLEAN) {
+            return new int[]{BOOLEAN};
+        }
+        if (converter == PrimitiveConverter.INT || converter == PrimitiveConverter.LONG
+                || converter == PrimitiveConverter.FLOAT || converter == PrimitiveConverter.DOUBLE) {
+            return new int[]{NUMBER};
+        }
+        if (converter == PrimitiveConverter.STRING || converter == PrimitiveConverter.BYTES
+                || converter == EnumConverter.INSTANCE || converter == UuidConverter.INSTANCE) {
+            return new int[]{STRING};
+        }
+        Class<?> type = converter.getClass();
+        if (type == LongTimestampMillisConverter.class || type == TemporalConverter.class
+                || converter instanceof DecimalConverter) {
+            return new int[]{NUMBER, STRING};
+        }
+        if (type == RecordConverter.class || type == MapConverter.class) {
+            return new int[]{OBJECT};
+        }
+        if (type == ArrayConverter.class) {
+            return new int[]{ARRAY};
+        }
+        // unknown converters may take anything
+        return new int[]{NULL, BOOLEAN, NUMBER, STRING, OBJECT, ARRAY};
+    }
+
+    private static String[] requiredFields(Schema record) {
+        return record.getFields().stream()
+                .filter(field -> !field.hasDefaultValue())
+                .map(Schema.Field::name)
+                .toArray(String[]::new);
+    }
+}
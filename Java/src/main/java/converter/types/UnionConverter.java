@@ -1,6 +1,7 @@
 package converter.types;
 
 import converter.JsonToAvroReader;
+import converter.PathsPrinter;
 import org.apache.avro.AvroRuntimeException;
 import org.apache.avro.AvroTypeException;
 import org.apache.avro.Schema;
@@ -19,6 +20,24 @@ public class UnionConverter implements AvroTypeConverter {
     @Override
     public Object convert(Schema.Field field, Schema schema, Object jsonValue, Deque<String> path, boolean silently) {
         List<Schema> types = schema.getTypes();
+        UnionBranches branches = this.jsonToAvroReader.unionBranches(schema, path);
+        int[] candidates = branches == null ? null : branches.candidates(jsonValue);
+        if (candidates != null) {
+            for (int branch : candidates) {
+                if (!branches.mayAccept(branch, jsonValue)) {
+                    continue;
+                }
+                try {
+                    Object nestedValue = this.jsonToAvroReader.read(field, types.get(branch), jsonValue, path, true);
+                    if (!(nestedValue instanceof Incompatible)) {
+                        return nestedValue;
+                    }
+                } catch (AvroRuntimeException e) {
+                    // a nested value did not fit, the next candidate may take it
+                }
+            }
+            // every other branch rejects the value, trying them all below only builds the usual error
+        }
         List<String> incompatibleTypes = new ArrayList<>();
         for (Schema type : types) {
             try {
@@ -41,11 +60,13 @@ public class UnionConverter implements AvroTypeConverter {
         return schema.getType().equals(Schema.Type.UNION);
     }
 
-    private static AvroTypeException unionException(String fieldName, String expectedTypes, Deque<String> offendingPath) {
+    public static AvroTypeException unionException(String fieldName, String expectedTypes, Deque<String> offendingPath) {
         return new AvroTypeException("Could not evaluate union, field " +
                 fieldName +
                 " is expected to be one of these: " +
                 expectedTypes +
-                ". If this is a complex type, check if offending field: adheres to schema.");
+                ". If this is a complex type, check if offending field: " +
+                PathsPrinter.print(offendingPath) +
+                " adheres to schema.");
     }
 }
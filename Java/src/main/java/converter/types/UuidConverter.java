@@ -0,0 +1,54 @@
+package converter.types;
+
+import converter.PathsPrinter;
+import org.apache.avro.AvroTypeException;
+import org.apache.avro.Schema;
+
+import java.util.Deque;
+
+import static org.apache.avro.Schema.Type.STRING;
+
+/**
+ * Checks {@code uuid} strings are in the canonical 8-4-4-4-12 hex form and keeps the string as is, no
+ * {@link java.util.UUID} is created.
+ */
+public class UuidConverter extends AvroTypeConverterWithStrictJavaTypeCheck<String> {
+    public static final AvroTypeConverter INSTANCE = new UuidConverter();
+    private static final int LENGTH = 36;
+
+    private UuidConverter() {
+        super(String.class);
+    }
+
+    @Override
+    public Object convertValue(Schema.Field field, Schema schema, String value, Deque<String> path, boolean silently) {
+        if (isCanonical(value)) {
+            return value;
+        }
+        if (silently) {
+            return new Incompatible("uuid string");
+        }
+        throw new AvroTypeException(PathsPrinter.field(path) + " should be a valid uuid. current value is " + value + ".");
+    }
+
+    @Override
+    public boolean canManage(Schema schema, Deque<String> path) {
+        return STRING.equals(schema.getType()) && AvroTypeConverter.isLogicalType(schema, "uuid");
+    }
+
+    static boolean isCanonical(String value) {
+        if (value.length() != LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < LENGTH; i++) {
+            char c = value.charAt(i);
+            boolean valid = i == 8 || i == 13 || i == 18 || i == 23
+                    ? c == '-'
+                    : (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+            if (!valid) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
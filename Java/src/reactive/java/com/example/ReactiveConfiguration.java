@@ -0,0 +1,32 @@
+package com.example;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+@Configuration
+@Profile("REACTIVE")
+public class ReactiveConfiguration {
+
+    /**
+     * Netty rather than the Tomcat that spring-boot-starter-web also puts on the classpath.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    /**
+     * Runs schema lookups, conversions and the hand-off to the producer, which blocks once the producer's buffer is
+     * full. Requests beyond {@code queue-size} waiting tasks are rejected, see {@link ReactivePublisher}.
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler publishScheduler(@Value("${app.reactive.publish-threads:8}") int threads,
+                                      @Value("${app.reactive.queue-size:1024}") int queueSize) {
+        return Schedulers.newBoundedElastic(threads, queueSize, "publish");
+    }
+}
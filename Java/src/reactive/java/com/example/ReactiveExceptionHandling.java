@@ -0,0 +1,76 @@
+package com.example;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Same responses as {@link ExceptionHandling} for the reactive controllers, plus {@code 503} when the publish queue is
+ * full. Unexpected failures are answered with {@code 500} rather than the {@code 400} the servlet handler sends.
+ */
+@ControllerAdvice
+@Profile("REACTIVE")
+public class ReactiveExceptionHandling {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReactiveExceptionHandling.class);
+
+    @ExceptionHandler(Throwable.class)
+    protected ResponseEntity<Object> handleGenericThrowable(Throwable ex, ServerWebExchange exchange) {
+        Map<String, Object> ret = body(HttpStatus.INTERNAL_SERVER_ERROR, exchange);
+        ret.put("message", ex.getMessage());
+        LOG.error("Error Handler", ex);
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ret);
+    }
+
+    @ExceptionHandler(TimeoutException.class)
+    protected ResponseEntity<Object> handleAckTimeout(TimeoutException ex, ServerWebExchange exchange) {
+        Map<String, Object> ret = body(HttpStatus.GATEWAY_TIMEOUT, exchange);
+        ret.put("message", "Broker did not acknowledge the message in time");
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(ret);
+    }
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    protected ResponseEntity<Object> handlePublishQueueFull(RejectedExecutionException ex, ServerWebExchange exchange) {
+        Map<String, Object> ret = body(HttpStatus.SERVICE_UNAVAILABLE, exchange);
+        ret.put("message", "Too many messages waiting to be published, retry later");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(ret);
+    }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    protected ResponseEntity<Object> handleBindException(WebExchangeBindException ex, ServerWebExchange exchange) {
+        Map<String, Object> ret = body(HttpStatus.BAD_REQUEST, exchange);
+
+        List<ExceptionHandling.Error> errors = new ArrayList<>();
+        ex.getBindingResult().getAllErrors().forEach((error) -> {
+            errors.add(ExceptionHandling.Error.builder()
+                    .object(error.getObjectName())
+                    .field(((FieldError) error).getField())
+                    .rejectedValue(((FieldError) error).getRejectedValue())
+                    .message(error.getDefaultMessage())
+                    .build());
+        });
+        ret.put("errors", errors);
+        return ResponseEntity.badRequest().body(ret);
+    }
+
+    private static Map<String, Object> body(HttpStatus status, ServerWebExchange exchange) {
+        Map<String, Object> ret = new HashMap<>();
+        ret.put("code", status.getReasonPhrase());
+        ret.put("path", "uri=" + exchange.getRequest().getPath().value());
+        return ret;
+    }
+}
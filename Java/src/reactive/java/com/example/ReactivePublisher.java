@@ -0,0 +1,38 @@
+package com.example;
+
+import com.example.models.DeliveryMode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.messaging.Message;
+import org.springframework.stereotype.Service;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.function.Supplier;
+
+/**
+ * Publishes from the reactive controllers without blocking the event loop.
+ * <p>
+ * Building the message and handing it to the producer run on the bounded {@code publishScheduler}. When the producer's
+ * buffer is full its threads block, tasks queue up, and once the queue is full new requests fail with a
+ * {@link java.util.concurrent.RejectedExecutionException} answered with {@code 503}, so a slow broker pushes back on
+ * clients instead of piling up requests in memory.
+ */
+@Service
+@Profile("REACTIVE")
+@RequiredArgsConstructor
+public class ReactivePublisher {
+
+    private final MessageUtils messageUtils;
+    private final Scheduler publishScheduler;
+
+    public Mono<ResponseEntity<?>> publish(String topic, @Nullable String binding, Supplier<Message<?>> message,
+                                           MimeType mimeType, DeliveryMode deliveryMode) {
+        return Mono.fromCallable(() -> messageUtils.sendMessage(topic, binding, message.get(), mimeType, deliveryMode))
+                .subscribeOn(publishScheduler)
+                .flatMap(Mono::fromFuture);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.controllers;
+
+import com.example.MessageUtils;
+import com.example.ReactivePublisher;
+import com.example.models.SimulateEventRequest;
+import com.example.models.ValidatorGroups;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import static com.example.MessageUtils.MIME_AVRO;
+import static com.example.MessageUtils.MIME_JSON;
+
+@RestController
+@RequestMapping
+@RequiredArgsConstructor
+@Profile("REACTIVE")
+@Validated
+public class ControllerReactive {
+
+    private final MessageUtils messageUtils;
+    private final ReactivePublisher reactivePublisher;
+
+    @PostMapping("/json")
+    public Mono<ResponseEntity<?>> postJSON(@Validated(value = ValidatorGroups.JsonValidator.class) @RequestBody SimulateEventRequest body) {
+        return reactivePublisher.publish(body.getTopic(), "json", () -> {
+            byte[] payload = {};
+            if (body.getPayload() != null) {
+                payload = body.getPayload().toBytes();
+            }
+            return messageUtils.createMessage(payload, body.getHeaders(), MIME_JSON);
+        }, MIME_JSON, body.getDeliveryMode());
+    }
+
+    @PostMapping("/avro")
+    public Mono<ResponseEntity<?>> postAVRO(@Validated(value = ValidatorGroups.AvroValidator.class) @RequestBody SimulateEventRequest body) {
+        return reactivePublisher.publish(body.getTopic(), "avro", () -> messageUtils.constructAvroMessage(body), MIME_AVRO, body.getDeliveryMode());
+    }
+
+}
@@ -0,0 +1,116 @@
+package com.example.controllers;
+
+import com.example.MessageUtils;
+import com.example.ReactiveExceptionHandling;
+import com.example.ReactivePublisher;
+import com.example.models.DeliveryMode;
+import com.example.models.PublishResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+class ControllerReactiveTest {
+
+    private static final String ORDER = "{\"topic\":\"orders\",\"payload\":{\"id\":\"o-1\"},\"deliveryMode\":\"WAIT_FOR_ACK\"}";
+
+    private final MessageUtils messageUtils = Mockito.mock(MessageUtils.class);
+    private final Scheduler publishScheduler = Schedulers.newBoundedElastic(1, 1, "publish-test");
+    private final WebTestClient client = WebTestClient
+            .bindToController(new ControllerReactive(messageUtils, new ReactivePublisher(messageUtils, publishScheduler)))
+            .controllerAdvice(new ReactiveExceptionHandling())
+            .build();
+
+    @AfterEach
+    void tearDown() {
+        publishScheduler.dispose();
+    }
+
+    @Test
+    void testRespondsWithTheAcknowledgement() {
+        CompletableFuture<ResponseEntity<?>> ack = CompletableFuture.completedFuture(ResponseEntity.ok(new PublishResult("orders", 1, 7, 1_000L)));
+        Mockito.when(messageUtils.sendMessage(Mockito.eq("orders"), Mockito.eq("json"), Mockito.any(), Mockito.eq(MessageUtils.MIME_JSON),
+                Mockito.eq(DeliveryMode.WAIT_FOR_ACK))).thenReturn(ack);
+
+        post(ORDER).expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.topic").isEqualTo("orders")
+                .jsonPath("$.partition").isEqualTo(1)
+                .jsonPath("$.offset").isEqualTo(7);
+    }
+
+    @Test
+    void testRespondsWithGatewayTimeoutWithoutAcknowledgement() {
+        CompletableFuture<ResponseEntity<?>> timedOut = new CompletableFuture<>();
+        timedOut.completeExceptionally(new TimeoutException());
+        Mockito.when(messageUtils.sendMessage(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(timedOut);
+
+        post(ORDER).expectStatus().isEqualTo(HttpStatus.GATEWAY_TIMEOUT)
+                .expectBody()
+                .jsonPath("$.code").isEqualTo(HttpStatus.GATEWAY_TIMEOUT.getReasonPhrase())
+                .jsonPath("$.path").isEqualTo("uri=/json");
+    }
+
+    @Test
+    void testRejectsAnInvalidRequest() {
+        post("{\"payload\":{\"id\":\"o-1\"}}").expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.code").isEqualTo(HttpStatus.BAD_REQUEST.getReasonPhrase())
+                .jsonPath("$.errors[0].field").isEqualTo("topic");
+        Mockito.verifyNoInteractions(messageUtils);
+    }
+
+    @Test
+    void testRespondsWithServiceUnavailableWhenThePublishQueueIsFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        publishScheduler.schedule(() -> {
+            started.countDown();
+            await(release);
+        });
+        started.await(5, TimeUnit.SECONDS);
+        publishScheduler.schedule(() -> await(release));
+
+        try {
+            post(ORDER).expectStatus().isEqualTo(HttpStatus.SERVICE_UNAVAILABLE)
+                    .expectBody()
+                    .jsonPath("$.code").isEqualTo(HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase());
+        } finally {
+            release.countDown();
+        }
+        Mockito.verifyNoInteractions(messageUtils);
+    }
+
+    @Test
+    void testRespondsWithInternalServerErrorOnUnexpectedFailures() {
+        Mockito.when(messageUtils.sendMessage(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any()))
+                .thenThrow(new IllegalStateException("producer closed"));
+
+        post(ORDER).expectStatus().isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR)
+                .expectBody()
+                .jsonPath("$.code").isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR.getReasonPhrase())
+                .jsonPath("$.message").isEqualTo("producer closed");
+    }
+
+    private WebTestClient.ResponseSpec post(String body) {
+        return client.post().uri("/json").contentType(MediaType.APPLICATION_JSON).bodyValue(body).exchange();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
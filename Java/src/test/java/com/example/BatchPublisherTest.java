@@ -0,0 +1,63 @@
+package com.example;
+
+import com.example.models.BatchPublishResult;
+import com.example.models.SimulateEventRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.generic.GenericData;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpStatus;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.messaging.Message;
+
+import javax.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+class BatchPublisherTest {
+
+    private static final String SUBJECT = "orders-value";
+    private static final Schema SCHEMA = SchemaBuilder.record("Order").fields().requiredString("id").endRecord();
+
+    private final MessageUtils messageUtils = Mockito.mock(MessageUtils.class);
+    private final BatchPublisher publisher = new BatchPublisher(messageUtils, new ObjectMapper(),
+            Validation.buildDefaultValidatorFactory().getValidator());
+
+    @Test
+    void testReportsEveryLineAndLooksUpEachSchemaOnce() throws Exception {
+        Message<GenericData.Record> message = MessageBuilder.withPayload(new GenericData.Record(SCHEMA)).build();
+        Mockito.when(messageUtils.getSchemaForType(SUBJECT)).thenReturn(SCHEMA);
+        Mockito.when(messageUtils.constructAvroMessage(Mockito.any(SimulateEventRequest.class), Mockito.eq(SCHEMA))).thenReturn(message);
+        Mockito.when(messageUtils.sendMessage("orders", null, message, MessageUtils.MIME_AVRO)).thenReturn(HttpStatus.ACCEPTED);
+        String body = "{\"topic\":\"orders\",\"avroSource\":\"" + SUBJECT + "\",\"payload\":{\"id\":\"o-1\"}}\n"
+                + "{\"topic\":\"orders\",\"avroSource\":\n"
+                + "\n"
+                + "{\"topic\":\"orders\",\"payload\":{\"id\":\"o-3\"}}\n"
+                + "{\"topic\":\"orders\",\"avroSource\":\"" + SUBJECT + "\",\"payload\":{\"id\":\"o-4\"}}\n";
+
+        BatchPublishResult result = publisher.publish(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)),
+                BatchPublisher.Format.AVRO, null).get(1, TimeUnit.SECONDS);
+
+        Assertions.assertEquals(2, result.getAccepted());
+        Assertions.assertEquals(2, result.getFailed());
+        List<BatchPublishResult.RecordResult> records = result.getResults();
+        Assertions.assertEquals(4, records.size());
+        Assertions.assertEquals(1, records.get(0).getLine());
+        Assertions.assertEquals(BatchPublishResult.Status.ACCEPTED, records.get(0).getStatus());
+        Assertions.assertEquals(2, records.get(1).getLine());
+        Assertions.assertEquals(BatchPublishResult.Status.FAILED, records.get(1).getStatus());
+        Assertions.assertTrue(records.get(1).getError().startsWith("Invalid JSON"), records.get(1).getError());
+        Assertions.assertEquals(4, records.get(2).getLine());
+        Assertions.assertEquals(BatchPublishResult.Status.FAILED, records.get(2).getStatus());
+        Assertions.assertEquals("avroSource field is required. It can't be null or blank.", records.get(2).getError());
+        Assertions.assertEquals(5, records.get(3).getLine());
+        Assertions.assertEquals(BatchPublishResult.Status.ACCEPTED, records.get(3).getStatus());
+        Mockito.verify(messageUtils, Mockito.times(1)).getSchemaForType(SUBJECT);
+        Mockito.verify(messageUtils, Mockito.times(2)).sendMessage("orders", null, message, MessageUtils.MIME_AVRO);
+    }
+}
@@ -0,0 +1,86 @@
+package com.example;
+
+import org.apache.kafka.common.errors.UnsupportedForMessageFormatException;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+class ContentTypeDispatcherTest {
+
+    private final Deserializer<String> json = new StringDeserializer();
+    private final Deserializer<byte[]> avro = new ByteArrayDeserializer();
+    private final ContentTypeDispatcher dispatcher = new ContentTypeDispatcher(List.of("contentType", "content-type"), table());
+
+    @Test
+    void testResolvesByContentType() {
+        Assertions.assertSame(json, dispatcher.resolve(headers("contentType", "application/json")));
+        Assertions.assertSame(json, dispatcher.resolve(headers("content-type", "\"application/json\"")));
+        Assertions.assertSame(avro, dispatcher.resolve(headers("contentType", "application/vnd.order.v1+avro")));
+    }
+
+    @Test
+    void testRemembersResolvedValues() {
+        for (int i = 0; i < 10; i++) {
+            dispatcher.resolve(headers("contentType", "application/json"));
+        }
+        Assertions.assertEquals(1, dispatcher.cachedValues());
+
+        for (int i = 0; i < ContentTypeDispatcher.MAX_CACHED_VALUES * 2; i++) {
+            Assertions.assertSame(avro, dispatcher.resolve(headers("contentType", "application/vnd.v" + i + "+avro")));
+        }
+        Assertions.assertEquals(ContentTypeDispatcher.MAX_CACHED_VALUES, dispatcher.cachedValues());
+    }
+
+    @Test
+    void testPrefersFirstHeaderName() {
+        RecordHeaders headers = headers("content-type", "application/json");
+        headers.add("contentType", "application/avro".getBytes(StandardCharsets.UTF_8));
+
+        Assertions.assertSame(avro, dispatcher.resolve(headers));
+    }
+
+    @Test
+    void testRejectsMissingAndUnsupportedContentTypes() {
+        Assertions.assertThrows(MissingEventHeaderException.class, () -> dispatcher.resolve(headers("Content-Type", "application/json")));
+        Assertions.assertThrows(UnsupportedForMessageFormatException.class, () -> dispatcher.resolve(headers("contentType", "text/plain")));
+        Assertions.assertEquals(0, dispatcher.cachedValues());
+    }
+
+    @Test
+    void testDispatchTableFromConfig() {
+        AvroJsonDeserializer deserializer = new AvroJsonDeserializer();
+        deserializer.configure(Map.of(
+                "schema.registry.url", "mock://dispatch",
+                AvroJsonDeserializer.CONTENT_TYPE_HEADERS_CONFIG, "format",
+                AvroJsonDeserializer.CONTENT_TYPE_DESERIALIZERS_CONFIG, "text/*=" + StringDeserializer.class.getName() + ", application/*+avro=avro"
+        ), false);
+
+        Assertions.assertEquals("hello", deserializer.deserialize("topic", headers("format", "text/plain"), "hello".getBytes(StandardCharsets.UTF_8)));
+        Assertions.assertThrows(MissingEventHeaderException.class,
+                () -> deserializer.deserialize("topic", headers("contentType", "text/plain"), new byte[0]));
+        deserializer.close();
+    }
+
+    private Map<MimeType, Deserializer<?>> table() {
+        Map<MimeType, Deserializer<?>> table = new LinkedHashMap<>();
+        table.put(MediaType.APPLICATION_JSON, json);
+        table.put(MimeType.valueOf("application/*+avro"), avro);
+        return table;
+    }
+
+    private static RecordHeaders headers(String key, String value) {
+        RecordHeaders headers = new RecordHeaders();
+        headers.add(key, value.getBytes(StandardCharsets.UTF_8));
+        return headers;
+    }
+}
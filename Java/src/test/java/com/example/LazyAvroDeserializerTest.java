@@ -0,0 +1,95 @@
+package com.example;
+
+import io.confluent.kafka.serializers.KafkaAvroDeserializer;
+import io.confluent.kafka.serializers.KafkaAvroSerializer;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+class LazyAvroDeserializerTest {
+
+    private static final String TOPIC = "orders";
+    private static final Schema CUSTOMER = SchemaBuilder.record("Customer").fields()
+            .requiredString("name").optionalString("email").endRecord();
+    private static final Schema ORDER = SchemaBuilder.record("Order").namespace("test").fields()
+            .requiredString("id")
+            .name("tags").type().array().items().stringType().noDefault()
+            .name("attributes").type().map().values().longType().noDefault()
+            .name("customer").type().unionOf().nullType().and().type(CUSTOMER).endUnion().nullDefault()
+            .requiredDouble("total")
+            .name("notes").type().bytesType().noDefault()
+            .requiredLong("createdAt")
+            .endRecord();
+
+    private final Map<String, ?> configs = Map.of("schema.registry.url", "mock://lazy");
+    private byte[] payload;
+
+    @BeforeEach
+    void setUp() {
+        GenericData.Record customer = new GenericData.Record(CUSTOMER);
+        customer.put("name", "Ada");
+        customer.put("email", null);
+        GenericData.Record order = new GenericData.Record(ORDER);
+        order.put("id", "o-1");
+        order.put("tags", List.of("a", "b"));
+        order.put("attributes", Map.of("weight", 7L));
+        order.put("customer", customer);
+        order.put("total", 12.5);
+        order.put("notes", ByteBuffer.wrap("fragile".getBytes(StandardCharsets.UTF_8)));
+        order.put("createdAt", 1650000000000L);
+        try (KafkaAvroSerializer serializer = new KafkaAvroSerializer()) {
+            serializer.configure(configs, false);
+            payload = serializer.serialize(TOPIC, order);
+        }
+    }
+
+    @Test
+    void testProjectedFieldsMatchFullDecoding() {
+        GenericRecord full = (GenericRecord) fullDeserializer().deserialize(TOPIC, payload);
+        GenericRecord lazy = (GenericRecord) lazyDeserializer("customer, createdAt, missing").deserialize(TOPIC, payload);
+
+        Assertions.assertEquals(2, lazy.getSchema().getFields().size());
+        Assertions.assertEquals(full.get("createdAt"), lazy.get("createdAt"));
+        Assertions.assertEquals(full.get("customer").toString(), lazy.get("customer").toString());
+        Assertions.assertInstanceOf(LazyAvroRecord.class, lazy.get("customer"));
+        Assertions.assertNull(lazy.get("id"));
+    }
+
+    @Test
+    void testWithoutProjectionEveryFieldMatches() {
+        GenericRecord full = (GenericRecord) fullDeserializer().deserialize(TOPIC, payload);
+        LazyAvroRecord lazy = new LazyAvroRecord(LazyAvroRecord.Layout.of(ORDER, null), payload, 5);
+
+        Assertions.assertEquals(lazy, full);
+        Assertions.assertEquals(full.toString(), lazy.toString());
+    }
+
+    @Test
+    void testNotConfiguredBehavesLikeKafkaAvroDeserializer() {
+        LazyAvroDeserializer deserializer = new LazyAvroDeserializer();
+        deserializer.configure(configs, false);
+
+        Assertions.assertInstanceOf(GenericData.Record.class, deserializer.deserialize(TOPIC, payload));
+    }
+
+    private KafkaAvroDeserializer fullDeserializer() {
+        KafkaAvroDeserializer deserializer = new KafkaAvroDeserializer();
+        deserializer.configure(configs, false);
+        return deserializer;
+    }
+
+    private LazyAvroDeserializer lazyDeserializer(String projection) {
+        LazyAvroDeserializer deserializer = new LazyAvroDeserializer();
+        deserializer.configure(Map.of("schema.registry.url", "mock://lazy", AvroJsonDeserializer.PROJECTION_CONFIG, projection), false);
+        return deserializer;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+
+class LazyJsonObjectTest {
+
+    private static final byte[] JSON = ("{\"id\":\"o-1\",\"quantity\":3,\"total\":12.5,\"big\":12345678901234,\"vip\":true,"
+            + "\"note\":null,\"customer\":{\"name\":\"Ada\",\"tags\":[1,2]},\"lines\":[{\"sku\":\"s-1\"}]}")
+            .getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void testMatchesObjectMapperWithoutProjection() throws IOException {
+        Map<?, ?> expected = new ObjectMapper().readValue(JSON, Map.class);
+
+        Assertions.assertEquals(expected, new LazyJsonObject(JSON, null));
+        Assertions.assertEquals(expected.get("customer"), new LazyJsonObject(JSON, null).get("customer"));
+    }
+
+    @Test
+    void testOnlyExposesProjectedFields() throws IOException {
+        Map<?, ?> expected = new ObjectMapper().readValue(JSON, Map.class);
+        LazyJsonObject lazy = new LazyJsonObject(JSON, Set.of("quantity", "lines", "note"));
+
+        Assertions.assertEquals(3, lazy.size());
+        Assertions.assertEquals(expected.get("lines"), lazy.get("lines"));
+        Assertions.assertTrue(lazy.containsKey("note"));
+        Assertions.assertFalse(lazy.containsKey("customer"));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> lazy.put("id", "o-2"));
+    }
+}
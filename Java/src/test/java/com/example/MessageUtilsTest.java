@@ -0,0 +1,87 @@
+package com.example;
+
+import com.example.models.DeliveryMode;
+import com.example.models.PublishResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.cloud.stream.function.StreamOperations;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.integration.IntegrationMessageHeaderAccessor;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageDeliveryException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+class MessageUtilsTest {
+
+    private static final String TOPIC = "orders";
+
+    private final StreamOperations streamBridge = Mockito.mock(StreamOperations.class);
+    private final PublishTracker tracker = new PublishTracker(Duration.ofSeconds(10));
+    private MessageUtils messageUtils;
+    private Message<byte[]> body;
+
+    @BeforeEach
+    void setUp() {
+        messageUtils = new MessageUtils(streamBridge, null, tracker, new PublishMetrics(new SimpleMeterRegistry(), 200));
+        body = MessageBuilder.withPayload("{}".getBytes()).build();
+    }
+
+    @Test
+    void testFireAndForgetRespondsOnceHandedToTheProducer() throws Exception {
+        Mockito.when(streamBridge.send(Mockito.eq(TOPIC), Mockito.isNull(), Mockito.any(), Mockito.any())).thenReturn(true);
+
+        CompletableFuture<ResponseEntity<?>> response = messageUtils.sendMessage(TOPIC, null, body, MessageUtils.MIME_JSON,
+                DeliveryMode.FIRE_AND_FORGET);
+
+        Assertions.assertTrue(response.isDone());
+        Assertions.assertEquals(HttpStatus.ACCEPTED, response.get().getStatusCode());
+        Assertions.assertEquals(0, tracker.pendingCount());
+        Mockito.verify(streamBridge).send(TOPIC, null, body, MessageUtils.MIME_JSON);
+    }
+
+    @Test
+    void testWaitForAckRespondsWithTheAcknowledgement() throws Exception {
+        Mockito.when(streamBridge.send(Mockito.eq(TOPIC), Mockito.isNull(), Mockito.any(), Mockito.any())).thenReturn(true);
+
+        CompletableFuture<ResponseEntity<?>> response = messageUtils.sendMessage(TOPIC, null, body, MessageUtils.MIME_JSON,
+                DeliveryMode.WAIT_FOR_ACK);
+
+        Assertions.assertFalse(response.isDone());
+        ArgumentCaptor<Object> sent = ArgumentCaptor.forClass(Object.class);
+        Mockito.verify(streamBridge).send(Mockito.eq(TOPIC), Mockito.isNull(), sent.capture(), Mockito.eq(MessageUtils.MIME_JSON));
+        Object correlationId = ((Message<?>) sent.getValue()).getHeaders().get(IntegrationMessageHeaderAccessor.CORRELATION_ID);
+        tracker.onAcknowledged(MessageBuilder.withPayload("{}")
+                .setHeader(IntegrationMessageHeaderAccessor.CORRELATION_ID, correlationId)
+                .setHeader(KafkaHeaders.RECORD_METADATA, new RecordMetadata(new TopicPartition(TOPIC, 1), 7, 0L, 1_000L, null, 0, 0))
+                .build());
+
+        ResponseEntity<?> entity = response.get(1, TimeUnit.SECONDS);
+        Assertions.assertEquals(HttpStatus.OK, entity.getStatusCode());
+        Assertions.assertEquals(new PublishResult(TOPIC, 1, 7, 1_000L), entity.getBody());
+    }
+
+    @Test
+    void testWaitForAckFailsWhenTheProducerRefusesTheMessage() {
+        Mockito.when(streamBridge.send(Mockito.eq(TOPIC), Mockito.isNull(), Mockito.any(), Mockito.any())).thenReturn(false);
+
+        CompletableFuture<ResponseEntity<?>> response = messageUtils.sendMessage(TOPIC, null, body, MessageUtils.MIME_JSON,
+                DeliveryMode.WAIT_FOR_ACK);
+
+        ExecutionException e = Assertions.assertThrows(ExecutionException.class, () -> response.get(1, TimeUnit.SECONDS));
+        Assertions.assertTrue(e.getCause() instanceof MessageDeliveryException);
+        Assertions.assertEquals(0, tracker.pendingCount());
+    }
+}
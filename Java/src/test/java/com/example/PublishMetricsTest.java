@@ -0,0 +1,82 @@
+package com.example;
+
+import converter.AvroConversionException;
+import converter.JsonAvroConverter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+class PublishMetricsTest {
+
+    private static final Schema ORDER = SchemaBuilder.record("Order").fields()
+            .requiredString("id").requiredInt("quantity").endRecord();
+
+    private static final int MAX_TAG_VALUES = 3;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final PublishMetrics metrics = new PublishMetrics(registry, MAX_TAG_VALUES);
+
+    @BeforeEach
+    void setUp() {
+        MetricsConfiguration configuration = new MetricsConfiguration();
+        registry.config()
+                .meterFilter(configuration.publisherTopicLimit(MAX_TAG_VALUES))
+                .meterFilter(configuration.publisherSubjectLimit(MAX_TAG_VALUES));
+    }
+
+    @Test
+    void testTagsTheConversionTimer() {
+        metrics.conversion("orders-value", "orders", "application/*+avro").record(5, TimeUnit.MILLISECONDS);
+
+        Timer timer = registry.get(PublishMetrics.PREFIX + "conversion")
+                .tag(PublishMetrics.TAG_SUBJECT, "orders-value")
+                .tag(PublishMetrics.TAG_TOPIC, "orders")
+                .tag(PublishMetrics.TAG_CONTENT_TYPE, "application/*+avro")
+                .timer();
+        Assertions.assertEquals(1, timer.count());
+        Assertions.assertSame(timer, metrics.conversion("orders-value", "orders", "application/*+avro"));
+    }
+
+    @Test
+    void testCapsTopicsAndSubjects() {
+        for (int i = 0; i < 1_000; i++) {
+            metrics.send("topic-" + i, "application/json", true).record(1, TimeUnit.MILLISECONDS);
+            metrics.conversion("subject-" + i, "topic-" + i, "application/*+avro").record(1, TimeUnit.MILLISECONDS);
+            metrics.fieldCount("subject-" + i).record(1);
+        }
+
+        Assertions.assertEquals(MAX_TAG_VALUES, registry.find(PublishMetrics.PREFIX + "send").timers().size());
+        Assertions.assertEquals(MAX_TAG_VALUES, registry.find(PublishMetrics.PREFIX + "conversion").timers().size());
+        Assertions.assertEquals(MAX_TAG_VALUES, registry.find(PublishMetrics.PREFIX + "record.fields").summaries().size());
+        Assertions.assertEquals(1, registry.get(PublishMetrics.PREFIX + "send").tag(PublishMetrics.TAG_TOPIC, "topic-0").timer().count());
+        Assertions.assertTrue(metrics.cachedMeters() <= 3 * MAX_TAG_VALUES * PublishMetrics.CACHED_METERS_PER_TAG_VALUE);
+    }
+
+    @Test
+    void testCountsConversionFailuresByRootCause() {
+        JsonAvroConverter converter = new JsonAvroConverter();
+        for (String json : new String[]{"{\"id\":", "{\"id\":\"o-1\",\"quantity\":\"many\"}", "{\"id\":\"o-1\"}", "{\"id\":\"o-2\"}"}) {
+            AvroConversionException e = Assertions.assertThrows(AvroConversionException.class,
+                    () -> converter.convertToGenericDataRecord(json.getBytes(StandardCharsets.UTF_8), ORDER));
+            metrics.conversionFailed("orders-value", e);
+        }
+
+        Set<String> exceptions = registry.find(PublishMetrics.PREFIX + "conversion.failures").counters().stream()
+                .map(counter -> counter.getId().getTag(PublishMetrics.TAG_EXCEPTION))
+                .collect(Collectors.toSet());
+        Assertions.assertEquals(Set.of("JsonEOFException", "AvroTypeException", "AvroMissingFieldException"), exceptions);
+        Counter missingField = registry.get(PublishMetrics.PREFIX + "conversion.failures")
+                .tag(PublishMetrics.TAG_EXCEPTION, "AvroMissingFieldException").counter();
+        Assertions.assertEquals(2, missingField.count());
+    }
+}
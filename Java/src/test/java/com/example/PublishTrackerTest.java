@@ -0,0 +1,85 @@
+package com.example;
+
+import com.example.models.PublishResult;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.integration.IntegrationMessageHeaderAccessor;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.support.ErrorMessage;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+class PublishTrackerTest {
+
+    private final PublishTracker tracker = new PublishTracker(Duration.ofSeconds(10));
+
+    @Test
+    void testCompletesTheSendWithTheSameCorrelationId() throws Exception {
+        CompletableFuture<PublishResult> first = tracker.track("first");
+        CompletableFuture<PublishResult> second = tracker.track("second");
+
+        tracker.onAcknowledged(ack("second", new RecordMetadata(new TopicPartition("orders", 3), 40, 2L, 1_000L, null, 0, 0)));
+
+        Assertions.assertFalse(first.isDone());
+        Assertions.assertEquals(new PublishResult("orders", 3, 42, 1_000L), second.get(1, TimeUnit.SECONDS));
+        Assertions.assertEquals(1, tracker.pendingCount());
+    }
+
+    @Test
+    void testKeepsTheSendPendingWithoutRecordMetadata() {
+        CompletableFuture<PublishResult> result = tracker.track("first");
+
+        tracker.onAcknowledged(ack("first", null));
+        tracker.onAcknowledged(ack(null, new RecordMetadata(new TopicPartition("orders", 0), 0, 0L, 0L, null, 0, 0)));
+
+        Assertions.assertFalse(result.isDone());
+        Assertions.assertEquals(1, tracker.pendingCount());
+    }
+
+    @Test
+    void testFailsTheSendRoutedToTheErrorChannel() {
+        CompletableFuture<PublishResult> result = tracker.track("first");
+        IllegalStateException cause = new IllegalStateException("broker unavailable");
+        Message<?> failed = MessageBuilder.withPayload("{}")
+                .setHeader(IntegrationMessageHeaderAccessor.CORRELATION_ID, "first")
+                .build();
+
+        tracker.onFailed(new ErrorMessage(new MessageDeliveryException(failed, "Send failed", cause)));
+
+        ExecutionException e = Assertions.assertThrows(ExecutionException.class, () -> result.get(1, TimeUnit.SECONDS));
+        Assertions.assertSame(cause, e.getCause());
+        Assertions.assertEquals(0, tracker.pendingCount());
+    }
+
+    @Test
+    void testTimesOutAsGatewayTimeout() {
+        PublishTracker tracker = new PublishTracker(Duration.ofMillis(20));
+        CompletableFuture<PublishResult> result = tracker.track("first");
+
+        ExecutionException e = Assertions.assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        ResponseEntity<Object> response = new ExceptionHandling()
+                .handleAckTimeout((TimeoutException) e.getCause(), new ServletWebRequest(new MockHttpServletRequest()));
+
+        Assertions.assertEquals(HttpStatus.GATEWAY_TIMEOUT, response.getStatusCode());
+    }
+
+    private static Message<?> ack(String correlationId, RecordMetadata metadata) {
+        return MessageBuilder.withPayload("{}")
+                .setHeader(IntegrationMessageHeaderAccessor.CORRELATION_ID, correlationId)
+                .setHeader(KafkaHeaders.RECORD_METADATA, metadata)
+                .build();
+    }
+}
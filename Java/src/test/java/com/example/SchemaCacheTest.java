@@ -0,0 +1,154 @@
+package com.example;
+
+import converter.ProcessingException;
+import io.confluent.kafka.schemaregistry.avro.AvroSchema;
+import io.confluent.kafka.schemaregistry.client.MockSchemaRegistryClient;
+import io.confluent.kafka.schemaregistry.client.SchemaMetadata;
+import io.confluent.kafka.schemaregistry.client.rest.exceptions.RestClientException;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+class SchemaCacheTest {
+
+    private static final String SUBJECT = "orders-value";
+    private static final Schema V1 = SchemaBuilder.record("Order").fields().requiredString("id").endRecord();
+    private static final Schema V2 = SchemaBuilder.record("Order").fields().requiredString("id").optionalLong("amount").endRecord();
+
+    private CountingRegistryClient registry;
+    private final AtomicLong clock = new AtomicLong();
+    private final Queue<Runnable> refreshTasks = new ArrayDeque<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        registry = new CountingRegistryClient();
+        registry.register(SUBJECT, new AvroSchema(V1));
+    }
+
+    @Test
+    void testSteadyStateDoesNotCallRegistry() {
+        SchemaCache cache = cache(Duration.ofMinutes(4), Duration.ofMinutes(5));
+
+        for (int i = 0; i < 1_000; i++) {
+            Assertions.assertEquals(V1, cache.getSchema(SUBJECT));
+            clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        }
+
+        Assertions.assertEquals(1, registry.latestLookups.get());
+        Assertions.assertTrue(refreshTasks.isEmpty());
+    }
+
+    @Test
+    void testConcurrentMissesShareOneFetch() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        registry.gate = release;
+        SchemaCache cache = cache(Duration.ofMinutes(4), Duration.ofMinutes(5));
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            Queue<Future<Schema>> results = new ArrayDeque<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(callers.submit(() -> cache.getSchema(SUBJECT)));
+            }
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<Schema> result : results) {
+                Assertions.assertEquals(V1, result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        Assertions.assertEquals(1, registry.latestLookups.get());
+    }
+
+    @Test
+    void testRefreshAheadServesCachedSchemaWhileFetching() throws Exception {
+        SchemaCache cache = cache(Duration.ofMinutes(4), Duration.ofMinutes(5));
+        Assertions.assertEquals(V1, cache.getSchema(SUBJECT));
+        registry.register(SUBJECT, new AvroSchema(V2));
+
+        clock.addAndGet(Duration.ofMinutes(4).toNanos());
+        Assertions.assertEquals(V1, cache.getSchema(SUBJECT));
+        Assertions.assertEquals(V1, cache.getSchema(SUBJECT));
+        Assertions.assertEquals(1, refreshTasks.size(), "a single refresh is scheduled");
+        Assertions.assertEquals(1, registry.latestLookups.get(), "the refresh runs off the request path");
+
+        refreshTasks.poll().run();
+        Assertions.assertEquals(V2, cache.getSchema(SUBJECT));
+        Assertions.assertEquals(2, registry.latestLookups.get());
+    }
+
+    @Test
+    void testServesLastKnownSchemaWhenRegistryFails() {
+        SchemaCache cache = cache(Duration.ofMinutes(4), Duration.ofMinutes(5));
+        Assertions.assertEquals(V1, cache.getSchema(SUBJECT));
+
+        registry.failing = true;
+        clock.addAndGet(Duration.ofMinutes(10).toNanos());
+        Assertions.assertEquals(V1, cache.getSchema(SUBJECT));
+        refreshTasks.poll().run();
+        Assertions.assertEquals(V1, cache.getSchema(SUBJECT));
+        Assertions.assertTrue(refreshTasks.isEmpty(), "failed refreshes back off");
+    }
+
+    @Test
+    void testUnknownSubjectIsNotCached() {
+        SchemaCache cache = cache(Duration.ofMinutes(4), Duration.ofMinutes(5));
+
+        Assertions.assertThrows(ProcessingException.class, () -> cache.getSchema("missing-value"));
+        Assertions.assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testCacheIsBounded() throws Exception {
+        SchemaCache cache = new SchemaCache(registry, refreshTasks::add, Duration.ofMinutes(4), Duration.ofMinutes(5),
+                Duration.ZERO, 2, clock::get);
+        for (int i = 0; i < 5; i++) {
+            registry.register("subject-" + i, new AvroSchema(V1));
+            cache.getSchema("subject-" + i);
+            clock.incrementAndGet();
+        }
+
+        Assertions.assertEquals(2, cache.size());
+    }
+
+    private SchemaCache cache(Duration refreshAfter, Duration ttl) {
+        return new SchemaCache(registry, refreshTasks::add, refreshAfter, ttl, Duration.ZERO, 100, clock::get);
+    }
+
+    private static class CountingRegistryClient extends MockSchemaRegistryClient {
+        private final AtomicInteger latestLookups = new AtomicInteger();
+        private volatile CountDownLatch gate;
+        private volatile boolean failing;
+
+        @Override
+        public SchemaMetadata getLatestSchemaMetadata(String subject) throws IOException, RestClientException {
+            latestLookups.incrementAndGet();
+            if (gate != null) {
+                try {
+                    gate.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (failing) {
+                throw new IOException("registry unavailable");
+            }
+            return super.getLatestSchemaMetadata(subject);
+        }
+    }
+}
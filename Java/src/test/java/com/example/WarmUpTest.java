@@ -0,0 +1,124 @@
+package com.example;
+
+import com.example.hermetic.HermeticSchemas;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import converter.JsonAvroConverter;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.stream.binder.test.OutputDestination;
+import org.springframework.cloud.stream.binder.test.TestChannelBinderConfiguration;
+import org.springframework.cloud.stream.binding.BindingService;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+class WarmUpTest {
+
+    private static final String SUBJECT = "com.example.warmup.Order";
+    private static final Schema SCHEMA = SchemaBuilder.record("Order").namespace("com.example.warmup").fields()
+            .requiredString("id").optionalLong("amount").endRecord();
+
+    @Test
+    void testOutOfServiceUntilWarmedUp() throws Exception {
+        MessageUtils messageUtils = Mockito.mock(MessageUtils.class);
+        CountDownLatch fetching = new CountDownLatch(1);
+        CountDownLatch registry = new CountDownLatch(1);
+        Mockito.when(messageUtils.avroConverter()).thenReturn(new JsonAvroConverter());
+        Mockito.when(messageUtils.getSchemaForType(SUBJECT)).thenAnswer(invocation -> {
+            fetching.countDown();
+            registry.await(5, TimeUnit.SECONDS);
+            return SCHEMA;
+        });
+        WarmUp warmUp = new WarmUp(messageUtils, new ObjectMapper(), List.of(SUBJECT), 2, Duration.ofSeconds(30));
+
+        Assertions.assertEquals(Status.OUT_OF_SERVICE, warmUp.health().getStatus());
+        Thread runner = new Thread(() -> warmUp.run(new DefaultApplicationArguments()));
+        runner.start();
+        Assertions.assertTrue(fetching.await(5, TimeUnit.SECONDS));
+        Health fetchingSchemas = warmUp.health();
+        registry.countDown();
+        runner.join(TimeUnit.SECONDS.toMillis(30));
+
+        Assertions.assertEquals(Status.OUT_OF_SERVICE, fetchingSchemas.getStatus());
+        Assertions.assertEquals(WarmUp.Phase.SCHEMAS, fetchingSchemas.getDetails().get("phase"));
+        Health done = warmUp.health();
+        Assertions.assertEquals(Status.UP, done.getStatus());
+        Assertions.assertEquals(WarmUp.Phase.DONE, done.getDetails().get("phase"));
+        Assertions.assertEquals("1/1", done.getDetails().get("schemas"));
+        Assertions.assertEquals(0, done.getDetails().get("failures"));
+        Assertions.assertTrue((Long) done.getDetails().get("conversions") > 0);
+    }
+
+    /**
+     * The documented setup: subjects warmed up by {@link WarmUp}, topics bound through
+     * {@code spring.cloud.stream.output-bindings}.
+     */
+    @Nested
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+            "app.warm-up.enabled=true",
+            "app.warm-up.subjects=${app.hermetic.subject}",
+            "app.warm-up.max-rounds=2",
+            "spring.cloud.stream.output-bindings=warm-up-orders"
+    })
+    @ActiveProfiles({"AVRO", "hermetic"})
+    @Import({TestChannelBinderConfiguration.class, HermeticSchemas.class})
+    class Startup {
+
+        @Autowired
+        private WarmUp warmUp;
+
+        @Autowired
+        private ApplicationAvailability availability;
+
+        @Autowired
+        private BindingService bindingService;
+
+        @Autowired
+        private MessageUtils messageUtils;
+
+        @Autowired
+        private OutputDestination output;
+
+        @Test
+        void testAcceptsTrafficOnceWarmedUp() {
+            Health health = warmUp.health();
+
+            Assertions.assertEquals(ReadinessState.ACCEPTING_TRAFFIC, availability.getReadinessState());
+            Assertions.assertEquals(Status.UP, health.getStatus());
+            Assertions.assertEquals("1/1", health.getDetails().get("schemas"));
+            Assertions.assertEquals(0, health.getDetails().get("failures"));
+        }
+
+        @Test
+        void testSendsThroughTheTopicBoundAtStartup() {
+            Assertions.assertTrue(Arrays.asList(bindingService.getProducerBindingNames()).contains("warm-up-orders"),
+                    () -> Arrays.toString(bindingService.getProducerBindingNames()));
+
+            HttpStatus status = messageUtils.sendMessage("warm-up-orders", null,
+                    messageUtils.createMessage("{}".getBytes(StandardCharsets.UTF_8), Map.of(), MessageUtils.MIME_JSON),
+                    MessageUtils.MIME_JSON);
+
+            Assertions.assertEquals(HttpStatus.ACCEPTED, status);
+            Assertions.assertNotNull(output.receive(Duration.ofSeconds(1).toMillis(), "warm-up-orders"));
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.hermetic;
+
+import com.example.AvroJsonDeserializer;
+import com.example.MessageUtils;
+import com.example.load.LoadGenerator;
+import com.example.load.RandomPayloads;
+import com.example.load.SizeDistribution;
+import com.example.models.LoadReport;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.confluent.kafka.serializers.AbstractKafkaSchemaSerDeConfig;
+import org.apache.avro.Schema;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.cloud.stream.binder.test.OutputDestination;
+import org.springframework.cloud.stream.binder.test.TestChannelBinderConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.messaging.Message;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * End-to-end throughput harness: random payloads for {@code app.hermetic.subject} go over HTTP through the real
+ * controllers, conversion and {@code StreamBridge} into the test binder, and everything published is read back
+ * through {@link AvroJsonDeserializer}. Schemas come from {@link HermeticSchemas} and the mock registry, so neither
+ * Kafka nor a registry is needed.
+ * <p>
+ * Fails when the achieved throughput falls below {@code app.hermetic.min-throughput} messages per second or the p99
+ * latency exceeds {@code app.hermetic.max-p99-millis}. The traffic and floors are set in
+ * {@code application-hermetic.yml} and can be overridden with system properties.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Import({TestChannelBinderConfiguration.class, HermeticSchemas.class})
+abstract class AbstractThroughputHarness {
+    private static final Duration RECEIVE_TIMEOUT = Duration.ofSeconds(1);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private MessageUtils messageUtils;
+
+    @Autowired
+    private OutputDestination output;
+
+    @Value("${spring.cloud.stream.kafka.binder.producer-properties.schema.registry.url}")
+    private String registryUrl;
+
+    @Value("${app.hermetic.subject}")
+    private String subject;
+
+    @Value("${app.hermetic.topic}")
+    private String topic;
+
+    @Value("${app.hermetic.messages}")
+    private long messages;
+
+    @Value("${app.hermetic.rate}")
+    private double rate;
+
+    @Value("${app.hermetic.concurrency}")
+    private int concurrency;
+
+    @Value("${app.hermetic.distinct-payloads}")
+    private int distinctPayloads;
+
+    @Value("${app.hermetic.seed}")
+    private long seed;
+
+    @Value("${app.hermetic.min-throughput}")
+    private double minThroughput;
+
+    @Value("${app.hermetic.max-p99-millis}")
+    private double maxP99Millis;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final ExecutorService workers = Executors.newCachedThreadPool();
+    private final AvroJsonDeserializer deserializer = new AvroJsonDeserializer();
+
+    /**
+     * @return the controller path the requests are posted to
+     */
+    abstract String path();
+
+    /**
+     * @return the published payload as the bytes a Kafka consumer would read
+     */
+    abstract byte[] serialize(Message<?> message);
+
+    /**
+     * Checks a payload read back through {@link AvroJsonDeserializer}
+     */
+    abstract void verify(Object deserialized, Schema schema);
+
+    @AfterEach
+    void tearDown() {
+        workers.shutdownNow();
+        deserializer.close();
+    }
+
+    @Test
+    void testThroughputAndLatencyFloors() throws Exception {
+        Schema schema = messageUtils.getSchemaForType(subject);
+        byte[][] bodies = requestBodies(schema);
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(workers)
+                .build();
+        URI uri = URI.create("http://localhost:" + port + path());
+
+        LoadReport report = new LoadGenerator(workers, concurrency)
+                .run(sequence -> post(client, uri, bodies[(int) (sequence % bodies.length)]), rate, Duration.ofMinutes(10), messages);
+
+        Assertions.assertEquals(messages, report.getSent());
+        Assertions.assertEquals(0, report.getFailed(), () -> "Failed requests in " + report);
+        Assertions.assertTrue(report.getAchievedRate() >= minThroughput,
+                () -> "Throughput below " + minThroughput + " msg/s: " + report);
+        Assertions.assertTrue(report.getP99Millis() <= maxP99Millis,
+                () -> "p99 latency above " + maxP99Millis + " ms: " + report);
+
+        deserializer.configure(deserializerConfigs(schema), false);
+        long received = 0;
+        for (Message<?> message = receive(); message != null; message = receive()) {
+            verify(deserializer.deserialize(topic, headers(message), serialize(message)), schema);
+            received++;
+        }
+        Assertions.assertEquals(messages, received);
+    }
+
+    String registryUrl() {
+        return registryUrl;
+    }
+
+    /**
+     * @return the consumer configs {@link AvroJsonDeserializer} is configured with
+     */
+    Map<String, Object> deserializerConfigs(Schema schema) {
+        Map<String, Object> configs = new HashMap<>();
+        configs.put(AbstractKafkaSchemaSerDeConfig.SCHEMA_REGISTRY_URL_CONFIG, registryUrl);
+        return configs;
+    }
+
+    private byte[][] requestBodies(Schema schema) throws IOException {
+        RandomPayloads payloads = new RandomPayloads(new Random(seed), SizeDistribution.parse("0..5"), SizeDistribution.parse("1..32"));
+        byte[][] bodies = new byte[distinctPayloads][];
+        for (int i = 0; i < bodies.length; i++) {
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("topic", topic);
+            body.put("avroSource", subject);
+            body.put("payload", payloads.payload(schema));
+            bodies[i] = mapper.writeValueAsBytes(body);
+        }
+        return bodies;
+    }
+
+    private CompletableFuture<?> post(HttpClient client, URI uri, byte[] body) {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofString()).thenApply(response -> {
+            if (response.statusCode() / 100 != 2) {
+                throw new CompletionException(new IllegalStateException(response.statusCode() + " " + response.body()));
+            }
+            return response;
+        });
+    }
+
+    private Message<?> receive() {
+        return output.receive(RECEIVE_TIMEOUT.toMillis(), topic);
+    }
+
+    private static Headers headers(Message<?> message) {
+        Headers headers = new RecordHeaders();
+        Object contentType = message.getHeaders().get(MessageUtils.CONTENT_TYPE);
+        if (contentType != null) {
+            headers.add(MessageUtils.CONTENT_TYPE, contentType.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        return headers;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.hermetic;
+
+import io.confluent.kafka.serializers.AbstractKafkaSchemaSerDeConfig;
+import io.confluent.kafka.serializers.KafkaAvroSerializer;
+import io.confluent.kafka.serializers.subject.RecordNameStrategy;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.springframework.messaging.Message;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Map;
+
+/**
+ * AVRO through {@code /avro}: the binder hands over the converted record, which is serialized the way the AVRO
+ * profile's {@link KafkaAvroSerializer} would before it is read back.
+ */
+@ActiveProfiles({"AVRO", "hermetic"})
+class AvroThroughputTest extends AbstractThroughputHarness {
+
+    private KafkaAvroSerializer serializer;
+
+    @Override
+    String path() {
+        return "/avro";
+    }
+
+    @Override
+    byte[] serialize(Message<?> message) {
+        if (serializer == null) {
+            serializer = new KafkaAvroSerializer();
+            serializer.configure(Map.of(
+                    AbstractKafkaSchemaSerDeConfig.SCHEMA_REGISTRY_URL_CONFIG, registryUrl(),
+                    AbstractKafkaSchemaSerDeConfig.AUTO_REGISTER_SCHEMAS, false,
+                    AbstractKafkaSchemaSerDeConfig.USE_LATEST_VERSION, true,
+                    AbstractKafkaSchemaSerDeConfig.VALUE_SUBJECT_NAME_STRATEGY, RecordNameStrategy.class.getName()), false);
+        }
+        return serializer.serialize(null, message.getPayload());
+    }
+
+    @Override
+    void verify(Object deserialized, Schema schema) {
+        Assertions.assertTrue(deserialized instanceof GenericRecord, () -> "Not a record: " + deserialized);
+        Assertions.assertEquals(schema.getFullName(), ((GenericRecord) deserialized).getSchema().getFullName());
+    }
+
+    @AfterEach
+    void closeSerializer() {
+        if (serializer != null) {
+            serializer.close();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.hermetic;
+
+import io.confluent.kafka.schemaregistry.avro.AvroSchema;
+import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import io.confluent.kafka.schemaregistry.client.rest.exceptions.RestClientException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.Schema;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Registers every {@code schemas/*.avsc} test resource with the mock registry under its full record name, the subject
+ * both the {@code avroSource} lookup and the {@code RecordNameStrategy} of the AVRO profile use.
+ */
+@Slf4j
+@TestConfiguration(proxyBeanMethods = false)
+public class HermeticSchemas {
+    static final String LOCATION = "classpath*:schemas/*.avsc";
+
+    private final SchemaRegistryClient schemaRegistryClient;
+
+    public HermeticSchemas(SchemaRegistryClient schemaRegistryClient) {
+        this.schemaRegistryClient = schemaRegistryClient;
+    }
+
+    @PostConstruct
+    void register() throws IOException, RestClientException {
+        for (Resource resource : new PathMatchingResourcePatternResolver().getResources(LOCATION)) {
+            Schema schema;
+            try (InputStream in = resource.getInputStream()) {
+                schema = new Schema.Parser().parse(in);
+            }
+            int id = schemaRegistryClient.register(schema.getFullName(), new AvroSchema(schema));
+            log.info("Registered {} from {} as schema {}", schema.getFullName(), resource.getFilename(), id);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.hermetic;
+
+import com.example.AvroJsonDeserializer;
+import org.apache.avro.Schema;
+import org.junit.jupiter.api.Assertions;
+import org.springframework.messaging.Message;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * JSON through {@code /json}: the payload is published as the request's bytes. Without a type header the consumer
+ * reads it through a projection of the schema's top level fields.
+ */
+@ActiveProfiles({"JSON", "hermetic"})
+class JsonThroughputTest extends AbstractThroughputHarness {
+
+    @Override
+    String path() {
+        return "/json";
+    }
+
+    @Override
+    Map<String, Object> deserializerConfigs(Schema schema) {
+        Map<String, Object> configs = super.deserializerConfigs(schema);
+        configs.put(AvroJsonDeserializer.PROJECTION_CONFIG,
+                schema.getFields().stream().map(Schema.Field::name).collect(Collectors.joining(",")));
+        return configs;
+    }
+
+    @Override
+    byte[] serialize(Message<?> message) {
+        return (byte[]) message.getPayload();
+    }
+
+    @Override
+    void verify(Object deserialized, Schema schema) {
+        Assertions.assertTrue(deserialized instanceof Map, () -> "Not a JSON object: " + deserialized);
+        Map<?, ?> object = (Map<?, ?>) deserialized;
+        for (Schema.Field field : schema.getFields()) {
+            Assertions.assertTrue(object.containsKey(field.name()), field::name);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.load;
+
+import com.example.models.LoadReport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class LoadGeneratorTest {
+
+    private final ExecutorService workers = Executors.newFixedThreadPool(4);
+    private final ScheduledExecutorService broker = Executors.newScheduledThreadPool(2);
+
+    @AfterEach
+    void tearDown() {
+        workers.shutdownNow();
+        broker.shutdownNow();
+    }
+
+    @Test
+    void testKeepsTargetRate() throws Exception {
+        LoadReport report = new LoadGenerator(workers, 100).run(sequence -> ackAfter(5), 200, Duration.ofSeconds(1), 0);
+
+        Assertions.assertEquals(200, report.getSent(), 2);
+        Assertions.assertEquals(0, report.getFailed());
+        Assertions.assertTrue(report.getP50Millis() >= 5, report::toString);
+    }
+
+    @Test
+    void testLatencyIncludesTimeBehindSchedule() throws Exception {
+        // one message in flight at a time, each taking 20 ms, while one is due every 10 ms
+        LoadReport report = new LoadGenerator(workers, 1).run(sequence -> ackAfter(20), 100, Duration.ofMillis(500), 20);
+
+        Assertions.assertEquals(20, report.getSent());
+        Assertions.assertTrue(report.getMaxMillis() >= 150, report::toString);
+    }
+
+    @Test
+    void testFullSpeedCountsFailures() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        LoadReport report = new LoadGenerator(workers, 16).run(sequence -> {
+            calls.incrementAndGet();
+            if (sequence % 10 == 0) {
+                throw new IllegalStateException("failed " + sequence);
+            }
+            return CompletableFuture.completedFuture(null);
+        }, 0, Duration.ofSeconds(10), 1_000);
+
+        Assertions.assertEquals(1_000, report.getSent());
+        Assertions.assertEquals(1_000, calls.get());
+        Assertions.assertEquals(100, report.getFailed());
+    }
+
+    private CompletableFuture<?> ackAfter(long millis) {
+        CompletableFuture<Void> ack = new CompletableFuture<>();
+        broker.schedule(() -> ack.complete(null), millis, TimeUnit.MILLISECONDS);
+        return ack;
+    }
+}
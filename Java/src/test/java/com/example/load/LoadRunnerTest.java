@@ -0,0 +1,49 @@
+package com.example.load;
+
+import com.example.models.LoadReport;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.stream.binder.test.OutputDestination;
+import org.springframework.cloud.stream.binder.test.TestChannelBinderConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.messaging.Message;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Runs the load generation mode against the test binder and a mock registry.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "app.load.enabled=true",
+        "app.load.subject=com.example.hermetic.Order",
+        "app.load.schema-file=classpath:schemas/order.avsc",
+        "app.load.topic=load-orders",
+        "app.load.max-messages=500",
+        "app.load.distinct-payloads=50",
+        "app.load.seed=1"
+})
+@ActiveProfiles({"AVRO", "hermetic"})
+@Import(TestChannelBinderConfiguration.class)
+class LoadRunnerTest {
+
+    @Autowired
+    private LoadRunner loadRunner;
+
+    @Autowired
+    private OutputDestination output;
+
+    @Test
+    void testPublishesThroughMessageUtils() {
+        LoadReport report = loadRunner.lastReport();
+
+        Assertions.assertNotNull(report);
+        Assertions.assertEquals(500, report.getSent());
+        Assertions.assertEquals(0, report.getFailed());
+        Assertions.assertTrue(report.getAchievedRate() > 0);
+
+        Message<?> first = output.receive(1_000, "load-orders");
+        Assertions.assertNotNull(first);
+        Assertions.assertNotNull(first.getPayload());
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.load;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+class RandomPayloadsTest {
+
+    private final Schema order = schema("/schemas/order.avsc");
+
+    @Test
+    void testRecordsAreSchemaValid() {
+        RandomPayloads payloads = new RandomPayloads(new Random(42), SizeDistribution.uniform(0, 4), SizeDistribution.uniform(1, 16));
+
+        for (int i = 0; i < 500; i++) {
+            GenericData.Record record = payloads.record(order);
+
+            Assertions.assertTrue(GenericData.get().validate(order, record), record::toString);
+            // 12 digits with a scale of 2
+            BigInteger amount = new BigInteger(bytes((ByteBuffer) record.get("amount")));
+            Assertions.assertTrue(amount.abs().compareTo(BigInteger.TEN.pow(12)) < 0, amount::toString);
+            Assertions.assertTrue(((List<?>) record.get("lines")).size() <= 4);
+        }
+    }
+
+    @Test
+    void testSameSeedSamePayloads() {
+        RandomPayloads first = new RandomPayloads(new Random(7), SizeDistribution.fixed(2), SizeDistribution.fixed(8));
+        RandomPayloads second = new RandomPayloads(new Random(7), SizeDistribution.fixed(2), SizeDistribution.fixed(8));
+
+        for (int i = 0; i < 10; i++) {
+            Assertions.assertArrayEquals(first.json(order), second.json(order));
+        }
+    }
+
+    @Test
+    void testCollectionSizesFollowDistribution() {
+        RandomPayloads payloads = new RandomPayloads(new Random(1), SizeDistribution.fixed(3), SizeDistribution.fixed(5));
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> payload = (Map<String, Object>) payloads.payload(order);
+
+        Assertions.assertEquals(3, ((List<?>) payload.get("lines")).size());
+        Assertions.assertEquals(3, ((Map<?, ?>) payload.get("attributes")).size());
+        Assertions.assertEquals(5, ((String) ((Map<?, ?>) ((List<?>) payload.get("lines")).get(0)).get("sku")).length());
+    }
+
+    @Test
+    void testParsesSizeDistributions() {
+        Random random = new Random(3);
+        Assertions.assertEquals(4, SizeDistribution.parse("4").next(random));
+        for (int i = 0; i < 100; i++) {
+            int uniform = SizeDistribution.parse("2..5").next(random);
+            Assertions.assertTrue(uniform >= 2 && uniform <= 5);
+            int exponential = SizeDistribution.parse("exp(3)").next(random);
+            Assertions.assertTrue(exponential >= 0 && exponential <= 3 * SizeDistribution.MAX_EXPONENTIAL);
+        }
+        Assertions.assertThrows(IllegalArgumentException.class, () -> SizeDistribution.parse("5..2"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> SizeDistribution.parse("many"));
+    }
+
+    private static byte[] bytes(ByteBuffer buffer) {
+        ByteBuffer copy = buffer.duplicate();
+        byte[] bytes = new byte[copy.remaining()];
+        copy.get(bytes);
+        return bytes;
+    }
+
+    private static Schema schema(String resource) {
+        try (InputStream in = RandomPayloadsTest.class.getResourceAsStream(resource)) {
+            return new Schema.Parser().parse(in);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.models;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import converter.JsonAvroConverter;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+class RawJsonPayloadTest {
+
+    private static final String PAYLOAD = "{\"id\":\"ördér-1\",\"amount\":12.5,\"lines\":[{\"sku\":\"a\",\"qty\":2}]}";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void testKeepsPayloadAsUtf8Json() throws Exception {
+        SimulateEventRequest request = read("{\"topic\":\"orders\",\"payload\": " + PAYLOAD + " ,\"deliveryMode\":\"WAIT_FOR_ACK\"}");
+
+        Assertions.assertArrayEquals(PAYLOAD.getBytes(StandardCharsets.UTF_8), request.getPayload().toBytes());
+        Assertions.assertEquals(PAYLOAD.getBytes(StandardCharsets.UTF_8).length, request.getPayload().size());
+        Assertions.assertEquals(DeliveryMode.WAIT_FOR_ACK, request.getDeliveryMode());
+    }
+
+    @Test
+    void testNullPayload() throws Exception {
+        Assertions.assertNull(read("{\"topic\":\"orders\",\"payload\":null}").getPayload());
+        Assertions.assertNull(read("{\"topic\":\"orders\"}").getPayload());
+    }
+
+    @Test
+    void testConvertsBufferedTokensLikeBytes() throws Exception {
+        Schema schema = SchemaBuilder.record("Order").fields()
+                .requiredString("id")
+                .requiredDouble("amount")
+                .name("lines").type().array().items().record("Line").fields()
+                .requiredString("sku").requiredInt("qty").endRecord().noDefault()
+                .endRecord();
+        JsonAvroConverter converter = new JsonAvroConverter();
+        RawJsonPayload payload = read("{\"payload\":" + PAYLOAD + "}").getPayload();
+
+        Assertions.assertEquals(converter.convertToGenericDataRecord(PAYLOAD.getBytes(StandardCharsets.UTF_8), schema),
+                converter.convertToGenericDataRecord(payload.asParser(), schema));
+        // the tokens can be replayed
+        Assertions.assertEquals(converter.convertToGenericDataRecord(payload.asParser(), schema),
+                converter.convertToGenericDataRecord(payload.asParser(), schema));
+    }
+
+    @Test
+    void testRoundTrip() throws Exception {
+        SimulateEventRequest request = read("{\"topic\":\"orders\",\"payload\":" + PAYLOAD + "}");
+
+        Assertions.assertEquals(request, mapper.readValue(mapper.writeValueAsBytes(request), SimulateEventRequest.class));
+        Assertions.assertEquals(RawJsonPayload.of(PAYLOAD.getBytes(StandardCharsets.UTF_8)), request.getPayload());
+    }
+
+    private SimulateEventRequest read(String json) throws Exception {
+        return mapper.readValue(json.getBytes(StandardCharsets.UTF_8), SimulateEventRequest.class);
+    }
+}
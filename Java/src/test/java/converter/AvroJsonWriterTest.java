@@ -0,0 +1,148 @@
+package converter;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.apache.avro.AvroRuntimeException;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.DatumWriter;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.io.EncoderFactory;
+import org.apache.avro.io.NoWrappingJsonEncoder;
+import org.apache.avro.specific.SpecificDatumWriter;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+class AvroJsonWriterTest {
+
+    private static final Schema SCHEMA = new Schema.Parser().parse("{"
+            + "\"type\":\"record\",\"name\":\"Event\",\"namespace\":\"test\",\"fields\":["
+            + "{\"name\":\"id\",\"type\":\"string\"},"
+            + "{\"name\":\"count\",\"type\":\"int\"},"
+            + "{\"name\":\"offset\",\"type\":\"long\"},"
+            + "{\"name\":\"ratio\",\"type\":\"float\"},"
+            + "{\"name\":\"score\",\"type\":\"double\"},"
+            + "{\"name\":\"active\",\"type\":\"boolean\"},"
+            + "{\"name\":\"raw\",\"type\":\"bytes\"},"
+            + "{\"name\":\"hash\",\"type\":{\"type\":\"fixed\",\"name\":\"Hash\",\"size\":4}},"
+            + "{\"name\":\"kind\",\"type\":{\"type\":\"enum\",\"name\":\"Kind\",\"symbols\":[\"A\",\"B\"]}},"
+            + "{\"name\":\"tags\",\"type\":{\"type\":\"array\",\"items\":\"string\"}},"
+            + "{\"name\":\"attributes\",\"type\":{\"type\":\"map\",\"values\":[\"null\",\"double\"]}},"
+            + "{\"name\":\"source\",\"type\":[\"null\",{\"type\":\"record\",\"name\":\"Source\",\"fields\":["
+            + "{\"name\":\"host\",\"type\":\"string\"},{\"name\":\"parent\",\"type\":[\"null\",\"Source\"]}]}]},"
+            + "{\"name\":\"note\",\"type\":[\"null\",\"string\",\"long\"]}"
+            + "]}");
+
+    private final AvroJsonWriter writer = new AvroJsonWriter();
+
+    @Test
+    void testMatchesJsonEncoderForGenericRecords() throws IOException {
+        GenericRecord record = event();
+
+        Assertions.assertEquals(encoderJson(record, new GenericDatumWriter<>(SCHEMA)), writerJson(record));
+    }
+
+    @Test
+    void testTranscodesBinaryLikeJsonEncoder() throws IOException {
+        GenericRecord record = event();
+        ByteArrayOutputStream avro = new ByteArrayOutputStream();
+        BinaryEncoder encoder = EncoderFactory.get().directBinaryEncoder(avro, null);
+        new GenericDatumWriter<GenericRecord>(SCHEMA).write(record, encoder);
+
+        ByteArrayOutputStream json = new ByteArrayOutputStream();
+        try (JsonGenerator generator = new JsonFactory().createGenerator(json)) {
+            writer.transcode(SCHEMA, DecoderFactory.get().binaryDecoder(avro.toByteArray(), null), generator);
+        }
+
+        Assertions.assertEquals(encoderJson(record, new GenericDatumWriter<>(SCHEMA)), json.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testMatchesJsonEncoderForSpecificRecords() throws IOException {
+        TestOrder order = new TestOrder();
+        order.put(0, "o-1");
+        order.put(1, null);
+        order.put(2, new BigDecimal("12.50"));
+        order.put(3, 1650000000000L);
+        order.put(4, new GenericData.EnumSymbol(TestOrder.SCHEMA$.getField("status").schema(), "DONE"));
+        order.put(5, new GenericData.Array<>(0, TestOrder.SCHEMA$.getField("lines").schema()));
+        order.put(6, Map.of("weight", 7L));
+
+        String expected = encoderJson(order, new SpecificDatumWriter<>(TestOrder.SCHEMA$));
+        Assertions.assertEquals(expected, new String(new JsonAvroConverter().convertToJson(order), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testReportsDatumWriterErrors() {
+        GenericRecord record = event();
+        record.put("count", "three");
+
+        JsonAvroConverter converter = new JsonAvroConverter();
+
+        Assertions.assertThrows(ClassCastException.class, () -> converter.convertToJson(record));
+        Assertions.assertEquals(1, converter.jsonFallbackCount());
+        record.put("count", null);
+        Assertions.assertThrows(NullPointerException.class, () -> converter.convertToJson(record));
+        Assertions.assertEquals(2, converter.jsonFallbackCount());
+    }
+
+    @Test
+    void testRejectsInvalidDatumsAsAvroErrors() {
+        GenericRecord record = event();
+        record.put("count", null);
+
+        Assertions.assertThrows(AvroRuntimeException.class, () -> writerJson(record));
+    }
+
+    private String writerJson(GenericRecord record) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator generator = new JsonFactory().createGenerator(out)) {
+            writer.write(record, GenericData.get(), generator);
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static String encoderJson(GenericRecord record, DatumWriter<Object> datumWriter) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        NoWrappingJsonEncoder encoder = new NoWrappingJsonEncoder(record.getSchema(), out);
+        datumWriter.write(record, encoder);
+        encoder.flush();
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static GenericRecord event() {
+        Schema sourceSchema = SCHEMA.getField("source").schema().getTypes().get(1);
+        GenericData.Record parent = new GenericData.Record(sourceSchema);
+        parent.put("host", "upstream");
+        GenericData.Record source = new GenericData.Record(sourceSchema);
+        source.put("host", "edge \"1\"\n");
+        source.put("parent", parent);
+
+        GenericData.Record record = new GenericData.Record(SCHEMA);
+        record.put("id", "é-1");
+        record.put("count", 3);
+        record.put("offset", 1L << 40);
+        record.put("ratio", 0.1f);
+        record.put("score", 2.5);
+        record.put("active", true);
+        record.put("raw", ByteBuffer.wrap(new byte[]{0, (byte) 0xff, 'a'}));
+        record.put("hash", new GenericData.Fixed(SCHEMA.getField("hash").schema(), new byte[]{1, 2, 3, (byte) 0x80}));
+        record.put("kind", new GenericData.EnumSymbol(SCHEMA.getField("kind").schema(), "B"));
+        record.put("tags", List.of("x", "y"));
+        record.put("attributes", Map.of("weight", 1.5));
+        record.put("source", source);
+        record.put("note", 42L);
+        return record;
+    }
+}
@@ -0,0 +1,92 @@
+package converter;
+
+import converter.types.AvroTypeConverter;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+class ConversionPlanTest {
+
+    private static final String SCHEMA = "{"
+            + "\"type\":\"record\",\"name\":\"Order\",\"namespace\":\"test\",\"fields\":["
+            + "{\"name\":\"id\",\"type\":\"string\"},"
+            + "{\"name\":\"customer\",\"type\":{\"type\":\"record\",\"name\":\"Customer\",\"fields\":["
+            + "{\"name\":\"name\",\"type\":\"string\"},{\"name\":\"tags\",\"type\":{\"type\":\"array\",\"items\":\"string\"}}]}},"
+            + "{\"name\":\"note\",\"type\":[\"null\",\"string\"],\"default\":null}"
+            + "]}";
+
+    @Test
+    void testEqualSchemasReuseTheNodes() {
+        CompositeJsonToAvroReader reader = new CompositeJsonToAvroReader();
+        Schema first = new Schema.Parser().parse(SCHEMA);
+        Schema second = new Schema.Parser().parse(SCHEMA);
+        ConversionPlan plan = reader.plan(first);
+
+        Assertions.assertNotSame(first, second);
+        Assertions.assertSame(plan, reader.plan(second));
+        List<ConversionPlan.Node> firstNodes = walk(plan.root(), first);
+        List<ConversionPlan.Node> secondNodes = walk(plan.root(), second);
+        for (int i = 0; i < firstNodes.size(); i++) {
+            Assertions.assertSame(firstNodes.get(i), secondNodes.get(i), "node " + i);
+        }
+    }
+
+    @Test
+    void testPathDependentConverterIsPickedForEqualSchema() {
+        CompositeJsonToAvroReader reader = new CompositeJsonToAvroReader(Collections.singletonList(new CustomerNameConverter()), null);
+        Map<String, Object> customer = new LinkedHashMap<>();
+        customer.put("name", "Ada");
+        customer.put("tags", Collections.singletonList("vip"));
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("id", "o-1");
+        json.put("customer", customer);
+
+        for (Schema schema : Arrays.asList(new Schema.Parser().parse(SCHEMA), new Schema.Parser().parse(SCHEMA))) {
+            GenericData.Record record = reader.read(json, schema);
+            Assertions.assertEquals("o-1", record.get("id"));
+            Assertions.assertEquals("customer:Ada", ((GenericData.Record) record.get("customer")).get("name"));
+        }
+    }
+
+    private static List<ConversionPlan.Node> walk(ConversionPlan.Node root, Schema schema) {
+        List<ConversionPlan.Node> nodes = new ArrayList<>();
+        Schema.Field customer = schema.getField("customer");
+        ConversionPlan.Node customerNode = root.child(customer, customer.schema());
+        Schema.Field tags = customer.schema().getField("tags");
+        ConversionPlan.Node tagsNode = customerNode.child(tags, tags.schema());
+        Schema.Field note = schema.getField("note");
+        ConversionPlan.Node noteNode = root.child(note, note.schema());
+        nodes.add(customerNode);
+        nodes.add(customerNode.child(customer.schema().getField("name"), customer.schema().getField("name").schema()));
+        nodes.add(tagsNode);
+        nodes.add(tagsNode.child(tags, tags.schema().getElementType()));
+        nodes.add(noteNode);
+        nodes.add(noteNode.child(note, note.schema().getTypes().get(1)));
+        return nodes;
+    }
+
+    /**
+     * Takes over strings under {@code customer.name} only
+     */
+    private static final class CustomerNameConverter implements AvroTypeConverter {
+
+        @Override
+        public Object convert(Schema.Field field, Schema schema, Object jsonValue, Deque<String> path, boolean silently) {
+            return "customer:" + jsonValue;
+        }
+
+        @Override
+        public boolean canManage(Schema schema, Deque<String> path) {
+            return schema.getType() == Schema.Type.STRING && "customer.name".equals(PathsPrinter.print(path));
+        }
+    }
+}
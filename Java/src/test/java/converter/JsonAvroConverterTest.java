@@ -0,0 +1,90 @@
+package converter;
+
+import org.apache.avro.Schema;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+class JsonAvroConverterTest {
+
+    private static final Schema ORDER = new Schema.Parser().parse("{"
+            + "\"type\":\"record\",\"name\":\"Order\",\"namespace\":\"test\",\"fields\":["
+            + "{\"name\":\"id\",\"type\":\"string\"},"
+            + "{\"name\":\"quantity\",\"type\":\"int\"},"
+            + "{\"name\":\"note\",\"type\":[\"null\",\"string\"],\"default\":null}"
+            + "]}");
+    private static final Schema LINE = new Schema.Parser().parse("{"
+            + "\"type\":\"record\",\"name\":\"Line\",\"namespace\":\"test\",\"fields\":["
+            + "{\"name\":\"sku\",\"type\":\"string\"},"
+            + "{\"name\":\"tags\",\"type\":{\"type\":\"array\",\"items\":\"string\"}}"
+            + "]}");
+
+    private final JsonAvroConverter converter = new JsonAvroConverter();
+
+    @Test
+    void testReusedBuffersDoNotLeakBetweenConversions() {
+        byte[] longer = json("{\"id\":\"o-1\",\"quantity\":3,\"note\":\"a rather long note\"}");
+        byte[] shorter = json("{\"id\":\"o-2\",\"quantity\":1}");
+
+        byte[] first = converter.convertToAvro(longer, ORDER);
+        byte[] second = converter.convertToAvro(shorter, ORDER);
+
+        Assertions.assertArrayEquals(first, converter.convertToAvro(longer, ORDER));
+        Assertions.assertEquals("{\"id\":\"o-2\",\"quantity\":1,\"note\":null}", text(converter.convertToJson(second, ORDER)));
+        Assertions.assertEquals("{\"id\":\"o-1\",\"quantity\":3,\"note\":\"a rather long note\"}", text(converter.convertToJson(first, ORDER)));
+    }
+
+    @Test
+    void testJsonEncodersPerSchema() {
+        byte[] order = converter.convertToAvro(json("{\"id\":\"o-1\",\"quantity\":3}"), ORDER);
+        byte[] line = converter.convertToAvro(json("{\"sku\":\"s-1\",\"tags\":[\"a\",\"b\"]}"), LINE);
+
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertEquals("{\"id\":\"o-1\",\"quantity\":3,\"note\":null}", text(converter.convertToJson(order, ORDER)));
+            Assertions.assertEquals("{\"sku\":\"s-1\",\"tags\":[\"a\",\"b\"]}", text(converter.convertToJson(line, LINE)));
+        }
+    }
+
+    @Test
+    void testWritesToCallerSuppliedTargets() {
+        byte[] data = json("{\"id\":\"o-1\",\"quantity\":3,\"note\":\"n\"}");
+        byte[] expected = converter.convertToAvro(data, ORDER);
+
+        ByteBuffer target = ByteBuffer.allocate(64);
+        target.put((byte) 0);
+        Assertions.assertEquals(expected.length, converter.convertToAvro(data, ORDER, target));
+        Assertions.assertArrayEquals(expected, Arrays.copyOfRange(target.array(), 1, target.position()));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        converter.convertToAvro(data, ORDER, out);
+        Assertions.assertArrayEquals(expected, out.toByteArray());
+
+        out.reset();
+        converter.convertToJson(expected, ORDER, out);
+        Assertions.assertEquals("{\"id\":\"o-1\",\"quantity\":3,\"note\":\"n\"}", text(out.toByteArray()));
+    }
+
+    @Test
+    void testByteBufferOverflowLeavesTargetUnchanged() {
+        ByteBuffer target = ByteBuffer.allocate(4);
+        target.put((byte) 0);
+
+        Assertions.assertThrows(BufferOverflowException.class,
+                () -> converter.convertToAvro(json("{\"id\":\"order-0001\",\"quantity\":3}"), ORDER, target));
+        Assertions.assertEquals(1, target.position());
+        Assertions.assertArrayEquals(new byte[4], target.array());
+    }
+
+    private static byte[] json(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String text(byte[] json) {
+        return new String(json, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,111 @@
+package converter;
+
+import org.apache.avro.AvroRuntimeException;
+import org.apache.avro.Conversions;
+import org.apache.avro.LogicalTypes;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericFixed;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Map;
+
+class LogicalTypeConverterTest {
+
+    private static final Schema SCHEMA = new Schema.Parser().parse("{"
+            + "\"type\":\"record\",\"name\":\"Logical\",\"namespace\":\"test\",\"fields\":["
+            + "{\"name\":\"amount\",\"type\":[\"null\",{\"type\":\"bytes\",\"logicalType\":\"decimal\",\"precision\":20,\"scale\":4}],\"default\":null},"
+            + "{\"name\":\"fixedAmount\",\"type\":[\"null\",{\"type\":\"fixed\",\"name\":\"Amount\",\"size\":9,\"logicalType\":\"decimal\",\"precision\":20,\"scale\":4}],\"default\":null},"
+            + "{\"name\":\"day\",\"type\":[\"null\",{\"type\":\"int\",\"logicalType\":\"date\"}],\"default\":null},"
+            + "{\"name\":\"timeMillis\",\"type\":[\"null\",{\"type\":\"int\",\"logicalType\":\"time-millis\"}],\"default\":null},"
+            + "{\"name\":\"timeMicros\",\"type\":[\"null\",{\"type\":\"long\",\"logicalType\":\"time-micros\"}],\"default\":null},"
+            + "{\"name\":\"createdAt\",\"type\":[\"null\",{\"type\":\"long\",\"logicalType\":\"timestamp-millis\"}],\"default\":null},"
+            + "{\"name\":\"occurredAt\",\"type\":[\"null\",{\"type\":\"long\",\"logicalType\":\"timestamp-micros\"}],\"default\":null},"
+            + "{\"name\":\"localMillis\",\"type\":[\"null\",{\"type\":\"long\",\"logicalType\":\"local-timestamp-millis\"}],\"default\":null},"
+            + "{\"name\":\"localMicros\",\"type\":[\"null\",{\"type\":\"long\",\"logicalType\":\"local-timestamp-micros\"}],\"default\":null},"
+            + "{\"name\":\"id\",\"type\":[\"null\",{\"type\":\"string\",\"logicalType\":\"uuid\"}],\"default\":null}"
+            + "]}");
+
+    private final CompositeJsonToAvroReader reader = new CompositeJsonToAvroReader();
+
+    @Test
+    void testBytesDecimalMatchesBigDecimal() {
+        for (Object value : new Object[]{"0", "-0.5", "12.5", "+7", ".25", "1.", "12345678901234.5678",
+                "-1234567890123456.7891", "9999999999999999.9999", "1.2300000", "1e3", 3, -2.75}) {
+            ByteBuffer bytes = (ByteBuffer) read("amount", value);
+            byte[] expected = new BigDecimal(value.toString()).setScale(4).unscaledValue().toByteArray();
+            Assertions.assertArrayEquals(expected, bytes.array(), value::toString);
+        }
+    }
+
+    @Test
+    void testFixedDecimalMatchesAvroConversion() {
+        Schema fixed = SCHEMA.getField("fixedAmount").schema().getTypes().get(1);
+        LogicalTypes.Decimal decimal = (LogicalTypes.Decimal) fixed.getLogicalType();
+        for (String value : new String[]{"0", "-0.0001", "12.5", "-12345678901234.5678", "9999999999999999.9999"}) {
+            GenericFixed expected = new Conversions.DecimalConversion().toFixed(new BigDecimal(value).setScale(4), fixed, decimal);
+            Assertions.assertArrayEquals(expected.bytes(), ((GenericFixed) read("fixedAmount", value)).bytes(), value);
+        }
+    }
+
+    @Test
+    void testDecimalOutOfRange() {
+        Assertions.assertThrows(AvroRuntimeException.class, () -> read("amount", "1.23456"));
+        Assertions.assertThrows(AvroRuntimeException.class, () -> read("amount", "12345678901234567.1"));
+        Assertions.assertThrows(AvroRuntimeException.class, () -> read("fixedAmount", "123456789012345678901"));
+        Assertions.assertThrows(AvroRuntimeException.class, () -> read("amount", "twelve"));
+        Assertions.assertThrows(AvroRuntimeException.class, () -> read("amount", true));
+    }
+
+    @Test
+    void testDateAndTime() {
+        Assertions.assertEquals((int) LocalDate.of(2022, 5, 1).toEpochDay(), read("day", "2022-05-01"));
+        Assertions.assertEquals(19113, read("day", 19113));
+        Assertions.assertEquals(45_045_123, read("timeMillis", "12:30:45.123"));
+        Assertions.assertEquals(LocalTime.of(12, 30, 45, 123_456_000).toNanoOfDay() / 1_000, read("timeMicros", "12:30:45.123456"));
+        Assertions.assertEquals(60_000_000L, read("timeMicros", 60_000_000L));
+        Assertions.assertThrows(AvroRuntimeException.class, () -> read("day", "May 1st"));
+    }
+
+    @Test
+    void testTimestamps() {
+        Assertions.assertEquals(1_651_401_045_123L, read("createdAt", "2022-05-01T12:30:45.123+02:00"));
+        Assertions.assertEquals(1_651_401_045_123L, read("createdAt", "2022-05-01T12:30:45.123+02:00[Europe/Paris]"));
+        Assertions.assertThrows(AvroRuntimeException.class, () -> read("createdAt", "2022-05-01T12:30:45"));
+
+        Instant instant = Instant.parse("2022-05-01T10:30:45.123456Z");
+        long micros = ChronoUnit.MICROS.between(Instant.EPOCH, instant);
+        Assertions.assertEquals(micros, read("occurredAt", "2022-05-01T10:30:45.123456Z"));
+        Assertions.assertEquals(micros, read("occurredAt", "2022-05-01T12:30:45.123456+02:00"));
+        Assertions.assertEquals(micros, read("occurredAt", micros));
+
+        LocalDateTime local = LocalDateTime.of(2022, 5, 1, 12, 30, 45, 123_456_000);
+        Assertions.assertEquals(local.toInstant(ZoneOffset.UTC).toEpochMilli(), read("localMillis", "2022-05-01T12:30:45.123456"));
+        Assertions.assertEquals(ChronoUnit.MICROS.between(Instant.EPOCH, local.toInstant(ZoneOffset.UTC)),
+                read("localMicros", "2022-05-01T12:30:45.123456"));
+    }
+
+    @Test
+    void testUuid() {
+        Assertions.assertEquals("123e4567-e89b-12d3-a456-426614174000", read("id", "123e4567-e89b-12d3-a456-426614174000").toString());
+        Assertions.assertThrows(AvroRuntimeException.class, () -> read("id", "123e4567-e89b-12d3-a456-42661417400"));
+        Assertions.assertThrows(AvroRuntimeException.class, () -> read("id", "123e4567+e89b-12d3-a456-426614174000"));
+    }
+
+    private Object read(String field, Object value) {
+        Map<String, Object> json = new HashMap<>();
+        json.put(field, value);
+        GenericData.Record record = reader.read(json, SCHEMA);
+        return record.get(field);
+    }
+}
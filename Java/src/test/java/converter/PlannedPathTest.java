@@ -0,0 +1,148 @@
+package converter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import converter.types.AvroTypeConverter;
+import org.apache.avro.AvroTypeException;
+import org.apache.avro.Schema;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+class PlannedPathTest {
+
+    private static final Schema SCHEMA = TestOrder.SCHEMA$;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void testReadsLikeTheFieldNamesEntered() {
+        ConversionPlan.Node root = new CompositeJsonToAvroReader().plan(SCHEMA).root();
+        Schema.Field lines = SCHEMA.getField("lines");
+        ConversionPlan.Node array = root.child(lines, lines.schema());
+        ConversionPlan.Node line = array.child(lines, lines.schema().getElementType());
+        Schema.Field sku = line.schema.getField("sku");
+        ConversionPlan.Node leaf = line.child(sku, sku.schema());
+
+        PlannedPath path = new PlannedPath(root);
+        Assertions.assertTrue(path.isEmpty());
+        Assertions.assertNull(path.peekLast());
+        path.enter(array);
+        path.enter(line);
+        path.enter(leaf);
+
+        Assertions.assertEquals(Arrays.asList("lines", "sku"), new ArrayList<>(path));
+        Assertions.assertEquals(2, path.size());
+        Assertions.assertEquals("lines", path.peekFirst());
+        Assertions.assertEquals("sku", path.peekLast());
+        Assertions.assertEquals(Arrays.asList("sku", "lines"), list(path.descendingIterator()));
+        Assertions.assertEquals("lines.sku", PathsPrinter.print(path));
+        Assertions.assertThrows(UnsupportedOperationException.class, path::removeLast);
+
+        path.exit(leaf);
+        path.exit(line);
+        Assertions.assertEquals(Collections.singletonList("lines"), new ArrayList<>(path));
+        Assertions.assertSame(array, path.current());
+    }
+
+    @Test
+    void testKeepsSegmentsAddedByConverters() {
+        ConversionPlan.Node root = new CompositeJsonToAvroReader().plan(SCHEMA).root();
+        Schema.Field lines = SCHEMA.getField("lines");
+        ConversionPlan.Node array = root.child(lines, lines.schema());
+        ConversionPlan.Node line = array.child(lines, lines.schema().getElementType());
+        Schema.Field sku = line.schema.getField("sku");
+        ConversionPlan.Node leaf = line.child(sku, sku.schema());
+
+        PlannedPath path = new PlannedPath(root);
+        path.enter(array);
+        path.enter(line);
+        path.addLast("key");
+        path.enter(leaf);
+        path.push("batch");
+
+        Assertions.assertEquals(Arrays.asList("batch", "lines", "key", "sku"), new ArrayList<>(path));
+        Assertions.assertEquals(4, path.size());
+        Assertions.assertEquals("batch", path.peekFirst());
+        Assertions.assertEquals("sku", path.peekLast());
+        Assertions.assertEquals(Arrays.asList("sku", "key", "lines", "batch"), list(path.descendingIterator()));
+        Assertions.assertThrows(UnsupportedOperationException.class, path::removeLast);
+        Assertions.assertEquals("batch", path.pop());
+        Assertions.assertThrows(UnsupportedOperationException.class, path::pop);
+
+        path.exit(leaf);
+        Assertions.assertEquals("key", path.peekLast());
+        Assertions.assertEquals("key", path.removeLast());
+        Assertions.assertEquals(Collections.singletonList("lines"), new ArrayList<>(path));
+        path.exit(line);
+        path.exit(array);
+        Assertions.assertNull(path.pollLast());
+        Assertions.assertTrue(path.isEmpty());
+    }
+
+    @Test
+    void testCustomConvertersCanExtendThePath() throws IOException {
+        AvroTypeConverter skus = new AvroTypeConverter() {
+            @Override
+            public Object convert(Schema.Field field, Schema schema, Object jsonValue, Deque<String> path, boolean silently) {
+                path.addLast("code");
+                try {
+                    if (!jsonValue.toString().startsWith("SKU-")) {
+                        throw new AvroTypeException(PathsPrinter.field(path) + " is not a known sku");
+                    }
+                    return jsonValue.toString();
+                } finally {
+                    path.removeLast();
+                }
+            }
+
+            @Override
+            public boolean canManage(Schema schema, Deque<String> path) {
+                return schema.getType() == Schema.Type.STRING && "sku".equals(path.peekLast());
+            }
+        };
+        CompositeJsonToAvroReader reader = new CompositeJsonToAvroReader(skus);
+        String json = "{\"id\":\"o-1\",\"amount\":\"1.5\",\"createdAt\":0,\"status\":\"NEW\","
+                + "\"lines\":[{\"sku\":\"%s\",\"quantity\":1}]}";
+
+        reader.read(read(String.format(json, "SKU-1")), SCHEMA);
+        AvroTypeException exception = Assertions.assertThrows(AvroTypeException.class,
+                () -> reader.read(read(String.format(json, "a")), SCHEMA));
+
+        Assertions.assertEquals("Field lines.sku.code is not a known sku", exception.getMessage());
+    }
+
+    @Test
+    void testErrorsAndListenersGetTheOffendingPath() throws IOException {
+        String json = "{\"id\":\"o-1\",\"amount\":\"1.5\",\"createdAt\":0,\"status\":\"NEW\","
+                + "\"lines\":[{\"sku\":\"a\",\"quantity\":%s,\"color\":\"red\"}]}";
+        List<String> unknown = new ArrayList<>();
+        CompositeJsonToAvroReader reader = new CompositeJsonToAvroReader(Collections.emptyList(),
+                (name, value, path) -> unknown.add(path));
+
+        reader.read(read(String.format(json, "1")), SCHEMA);
+        AvroTypeException exception = Assertions.assertThrows(AvroTypeException.class,
+                () -> reader.read(read(String.format(json, "\"three\"")), SCHEMA));
+
+        Assertions.assertEquals(Collections.singletonList("lines.color"), unknown);
+        Assertions.assertEquals("Field lines.quantity is expected to be type: java.lang.Number", exception.getMessage());
+    }
+
+    private static List<String> list(Iterator<String> iterator) {
+        List<String> list = new ArrayList<>();
+        iterator.forEachRemaining(list::add);
+        return list;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> read(String json) throws IOException {
+        return mapper.readValue(json, Map.class);
+    }
+}
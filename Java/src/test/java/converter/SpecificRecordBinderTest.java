@@ -0,0 +1,64 @@
+package converter;
+
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.util.Utf8;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+class SpecificRecordBinderTest {
+
+    private final JsonAvroConverter converter = new JsonAvroConverter();
+    private final SpecificRecordBinder binder = new SpecificRecordBinder();
+
+    @Test
+    void testMatchesBinaryRoundTrip() {
+        GenericData.Record record = convert("{\"id\":\"o-1\",\"note\":\"fragile\",\"amount\":\"12.50\",\"createdAt\":1650000000000,"
+                + "\"status\":\"DONE\",\"lines\":[{\"sku\":\"s-1\",\"quantity\":2},{\"sku\":\"s-2\",\"quantity\":1}],"
+                + "\"attributes\":{\"weight\":7,\"volume\":null}}");
+
+        TestOrder bound = binder.bind(record, TestOrder.class, TestOrder.SCHEMA$);
+
+        Assertions.assertEquals(converter.readSpecificRecord(record, TestOrder.class, TestOrder.SCHEMA$), bound);
+        Assertions.assertEquals(String.class, bound.get(0).getClass());
+        Assertions.assertEquals(Utf8.class, bound.get(1).getClass());
+        Assertions.assertEquals(new BigDecimal("12.50"), bound.get(2));
+        Assertions.assertEquals(1650000000000L, bound.get(3));
+        Assertions.assertEquals(GenericData.EnumSymbol.class, bound.get(4).getClass());
+        Assertions.assertEquals(new Utf8("s-1"), ((GenericData.Record) ((List<?>) bound.get(5)).get(0)).get("sku"));
+    }
+
+    @Test
+    void testMatchesBinaryRoundTripForDefaults() {
+        GenericData.Record record = convert("{\"id\":\"o-2\",\"amount\":1,\"createdAt\":0,\"status\":\"NEW\"}");
+
+        Assertions.assertEquals(converter.readSpecificRecord(record, TestOrder.class, TestOrder.SCHEMA$),
+                binder.bind(record, TestOrder.class, TestOrder.SCHEMA$));
+    }
+
+    @Test
+    void testLeavesOtherSchemasToTheRoundTrip() {
+        Schema other = SchemaBuilder.record("TestOrder").namespace("converter").fields().requiredString("id").endRecord();
+        GenericData.Record record = new GenericData.Record(other);
+        record.put("id", "o-3");
+
+        Assertions.assertNull(binder.bind(record, TestOrder.class, other));
+    }
+
+    @Test
+    void testLeavesValuesTheWriterRejectsToTheRoundTrip() {
+        GenericData.Record record = convert("{\"id\":\"o-4\",\"amount\":1,\"createdAt\":0,\"status\":\"NEW\"}");
+        record.put("id", 4);
+
+        Assertions.assertNull(binder.bind(record, TestOrder.class, TestOrder.SCHEMA$));
+    }
+
+    private GenericData.Record convert(String json) {
+        return converter.convertToGenericDataRecord(json.getBytes(StandardCharsets.UTF_8), TestOrder.SCHEMA$);
+    }
+}
@@ -0,0 +1,124 @@
+package converter;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.DecoderFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+class StreamingJsonAvroEncoderTest {
+
+    private static final Schema SCHEMA = new Schema.Parser().parse("{"
+            + "\"type\":\"record\",\"name\":\"Order\",\"namespace\":\"test\",\"fields\":["
+            + "{\"name\":\"id\",\"type\":\"string\"},"
+            + "{\"name\":\"quantity\",\"type\":\"int\"},"
+            + "{\"name\":\"status\",\"type\":{\"type\":\"enum\",\"name\":\"Status\",\"symbols\":[\"NEW\",\"DONE\"]}},"
+            + "{\"name\":\"price\",\"type\":{\"type\":\"bytes\",\"logicalType\":\"decimal\",\"precision\":10,\"scale\":2}},"
+            + "{\"name\":\"tags\",\"type\":{\"type\":\"array\",\"items\":\"string\"},\"default\":[]},"
+            + "{\"name\":\"attributes\",\"type\":{\"type\":\"map\",\"values\":\"long\"}},"
+            + "{\"name\":\"customer\",\"type\":[\"null\",{\"type\":\"record\",\"name\":\"Customer\",\"fields\":["
+            + "{\"name\":\"name\",\"type\":\"string\"},{\"name\":\"vip\",\"type\":\"boolean\",\"default\":false}]}],\"default\":null},"
+            + "{\"name\":\"note\",\"type\":[\"null\",\"string\",\"long\"],\"default\":null}"
+            + "]}");
+
+    private final JsonAvroConverter converter = new JsonAvroConverter();
+
+    @Test
+    void testMatchesTreeConversionForOutOfOrderFields() throws IOException {
+        String json = "{\"customer\":{\"vip\":true,\"name\":\"Ada\"},\"attributes\":{\"a\":1,\"b\":2},"
+                + "\"note\":42,\"status\":\"DONE\",\"id\":\"o-1\",\"price\":\"12.5\",\"quantity\":3,\"unknown\":[1,2]}";
+
+        assertSameRecord(json);
+    }
+
+    @Test
+    void testMatchesTreeConversionForDefaultsAndNulls() throws IOException {
+        assertSameRecord("{\"id\":\"o-2\",\"quantity\":1,\"status\":\"NEW\",\"price\":7,\"attributes\":{},\"customer\":null}");
+    }
+
+    @Test
+    void testKeepsLastValueOfRepeatedFieldsAndKeys() throws IOException {
+        String json = "{\"id\":\"o-8\",\"quantity\":1,\"status\":\"NEW\",\"quantity\":2,\"price\":1,"
+                + "\"attributes\":{\"a\":1,\"b\":2,\"a\":3,\"c\":4,\"b\":5},\"id\":\"o-9\","
+                + "\"customer\":{\"name\":\"Ada\",\"vip\":true,\"name\":\"Grace\"}}";
+        byte[] data = json.getBytes(StandardCharsets.UTF_8);
+
+        GenericRecord streamed = decode(converter.convertToAvroStreaming(data, SCHEMA));
+
+        assertSameRecord(json);
+        Assertions.assertEquals("o-9", streamed.get("id").toString());
+        Assertions.assertEquals(2, streamed.get("quantity"));
+        Assertions.assertEquals(3, ((Map<?, ?>) streamed.get("attributes")).size());
+        Assertions.assertEquals("Grace", ((GenericRecord) streamed.get("customer")).get("name").toString());
+    }
+
+    @Test
+    void testConvertsEveryValueOfRepeatedOutOfOrderFields() throws IOException {
+        String json = "{\"quantity\":1,\"customer\":{\"name\":\"Ada\"},\"quantity\":2,\"customer\":{\"name\":\"Grace\"},"
+                + "\"id\":\"o-10\",\"status\":\"NEW\",\"price\":1,\"attributes\":{}}";
+        byte[] data = json.getBytes(StandardCharsets.UTF_8);
+        byte[] invalid = json.replace("\"quantity\":1", "\"quantity\":\"one\"").getBytes(StandardCharsets.UTF_8);
+
+        GenericRecord streamed = decode(converter.convertToAvroStreaming(data, SCHEMA));
+
+        assertSameRecord(json);
+        Assertions.assertEquals(2, streamed.get("quantity"));
+        Assertions.assertEquals("Grace", ((GenericRecord) streamed.get("customer")).get("name").toString());
+        AvroConversionException e = Assertions.assertThrows(AvroConversionException.class, () -> converter.convertToAvroStreaming(invalid, SCHEMA));
+        Assertions.assertTrue(e.getMessage().contains("quantity"), e.getMessage());
+    }
+
+    @Test
+    void testSkipsRecordBranchesMissingRequiredFields() throws IOException {
+        Schema schema = new Schema.Parser().parse("{"
+                + "\"type\":\"record\",\"name\":\"Shipment\",\"namespace\":\"test\",\"fields\":["
+                + "{\"name\":\"address\",\"type\":["
+                + "{\"type\":\"record\",\"name\":\"Locker\",\"fields\":[{\"name\":\"locker\",\"type\":\"string\"},"
+                + "{\"name\":\"city\",\"type\":\"string\"}]},"
+                + "{\"type\":\"record\",\"name\":\"Street\",\"fields\":[{\"name\":\"street\",\"type\":\"string\"},"
+                + "{\"name\":\"city\",\"type\":\"string\"}]}]}"
+                + "]}");
+        byte[] data = "{\"address\":{\"city\":\"Turin\",\"street\":\"Via Roma\",\"extra\":{\"locker\":\"L1\"}}}"
+                .getBytes(StandardCharsets.UTF_8);
+
+        GenericRecord streamed = decode(converter.convertToAvroStreaming(data, schema), schema);
+
+        Assertions.assertEquals(decode(converter.convertToAvro(data, schema), schema), streamed);
+        Assertions.assertEquals("Street", ((GenericRecord) streamed.get("address")).getSchema().getName());
+    }
+
+    @Test
+    void testReportsSameErrors() {
+        assertSameError("{\"id\":\"o-3\",\"quantity\":\"three\",\"status\":\"NEW\",\"price\":1,\"attributes\":{}}");
+        assertSameError("{\"id\":\"o-4\",\"quantity\":1,\"status\":\"LOST\",\"price\":1,\"attributes\":{}}");
+        assertSameError("{\"id\":\"o-5\",\"quantity\":1,\"status\":\"NEW\",\"price\":1,\"attributes\":{},\"note\":true}");
+        assertSameError("{\"id\":\"o-6\",\"quantity\":1,\"status\":\"NEW\",\"price\":1,\"attributes\":{},\"customer\":{\"vip\":true}}");
+        assertSameError("{\"id\":\"o-7\",\"quantity\":1,\"status\":\"NEW\",\"price\":1}");
+        assertSameError("[]");
+    }
+
+    private void assertSameRecord(String json) throws IOException {
+        byte[] data = json.getBytes(StandardCharsets.UTF_8);
+        Assertions.assertEquals(decode(converter.convertToAvro(data, SCHEMA)), decode(converter.convertToAvroStreaming(data, SCHEMA)));
+    }
+
+    private void assertSameError(String json) {
+        byte[] data = json.getBytes(StandardCharsets.UTF_8);
+        AvroConversionException tree = Assertions.assertThrows(AvroConversionException.class, () -> converter.convertToAvro(data, SCHEMA));
+        AvroConversionException streamed = Assertions.assertThrows(AvroConversionException.class, () -> converter.convertToAvroStreaming(data, SCHEMA));
+        Assertions.assertEquals(tree.getMessage(), streamed.getMessage());
+    }
+
+    private static GenericRecord decode(byte[] avro) throws IOException {
+        return decode(avro, SCHEMA);
+    }
+
+    private static GenericRecord decode(byte[] avro, Schema schema) throws IOException {
+        return new GenericDatumReader<GenericRecord>(schema).read(null, DecoderFactory.get().binaryDecoder(avro, null));
+    }
+}
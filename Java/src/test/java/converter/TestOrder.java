@@ -0,0 +1,61 @@
+package converter;
+
+import org.apache.avro.Conversion;
+import org.apache.avro.Conversions;
+import org.apache.avro.Schema;
+import org.apache.avro.specific.SpecificData;
+import org.apache.avro.specific.SpecificRecord;
+import org.apache.avro.specific.SpecificRecordBase;
+
+/**
+ * Shaped like a class generated by avro-maven-plugin with {@code enableDecimalLogicalType}: decimals are converted,
+ * timestamps are left as longs. The enum and nested record have no class and stay generic.
+ */
+public class TestOrder extends SpecificRecordBase implements SpecificRecord {
+    public static final Schema SCHEMA$ = new Schema.Parser().parse("{"
+            + "\"type\":\"record\",\"name\":\"TestOrder\",\"namespace\":\"converter\",\"fields\":["
+            + "{\"name\":\"id\",\"type\":{\"type\":\"string\",\"avro.java.string\":\"String\"}},"
+            + "{\"name\":\"note\",\"type\":[\"null\",\"string\"],\"default\":null},"
+            + "{\"name\":\"amount\",\"type\":{\"type\":\"bytes\",\"logicalType\":\"decimal\",\"precision\":10,\"scale\":2}},"
+            + "{\"name\":\"createdAt\",\"type\":{\"type\":\"long\",\"logicalType\":\"timestamp-millis\"}},"
+            + "{\"name\":\"status\",\"type\":{\"type\":\"enum\",\"name\":\"TestOrderStatus\",\"symbols\":[\"NEW\",\"DONE\"]}},"
+            + "{\"name\":\"lines\",\"type\":{\"type\":\"array\",\"items\":{\"type\":\"record\",\"name\":\"TestOrderLine\",\"fields\":["
+            + "{\"name\":\"sku\",\"type\":\"string\"},{\"name\":\"quantity\",\"type\":\"int\"}]}},\"default\":[]},"
+            + "{\"name\":\"attributes\",\"type\":{\"type\":\"map\",\"values\":[\"null\",\"long\"]},\"default\":{}}"
+            + "]}");
+    private static final SpecificData MODEL$ = new SpecificData();
+    private static final Conversion<?>[] conversions = new Conversion<?>[]{
+            null, null, new Conversions.DecimalConversion(), null, null, null, null, null
+    };
+
+    static {
+        MODEL$.addLogicalTypeConversion(new Conversions.DecimalConversion());
+    }
+
+    private final Object[] values = new Object[SCHEMA$.getFields().size()];
+
+    @Override
+    public SpecificData getSpecificData() {
+        return MODEL$;
+    }
+
+    @Override
+    public Schema getSchema() {
+        return SCHEMA$;
+    }
+
+    @Override
+    public Object get(int field) {
+        return values[field];
+    }
+
+    @Override
+    public void put(int field, Object value) {
+        values[field] = value;
+    }
+
+    @Override
+    public Conversion<?> getConversion(int field) {
+        return conversions[field];
+    }
+}
@@ -0,0 +1,72 @@
+package converter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import converter.types.RecordConverter;
+import org.apache.avro.AvroRuntimeException;
+import org.apache.avro.Schema;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Map;
+
+class UnionConverterTest {
+
+    private static final Schema SCHEMA = new Schema.Parser().parse("{"
+            + "\"type\":\"record\",\"name\":\"Shape\",\"namespace\":\"test\",\"fields\":["
+            + "{\"name\":\"value\",\"type\":[\"null\",\"boolean\",\"int\",\"string\","
+            + "{\"type\":\"record\",\"name\":\"Point\",\"fields\":[{\"name\":\"x\",\"type\":\"double\"},{\"name\":\"y\",\"type\":\"double\"}]},"
+            + "{\"type\":\"record\",\"name\":\"Label\",\"fields\":[{\"name\":\"text\",\"type\":\"string\"},{\"name\":\"lang\",\"type\":\"string\",\"default\":\"en\"}]},"
+            + "{\"type\":\"array\",\"items\":\"string\"},"
+            + "{\"type\":\"map\",\"values\":\"long\"}]},"
+            + "{\"name\":\"at\",\"type\":[\"null\",{\"type\":\"long\",\"logicalType\":\"timestamp-millis\"},\"string\"],\"default\":null},"
+            + "{\"name\":\"price\",\"type\":[\"null\",{\"type\":\"bytes\",\"logicalType\":\"decimal\",\"precision\":10,\"scale\":2}],\"default\":null}"
+            + "]}");
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final CompositeJsonToAvroReader reader = new CompositeJsonToAvroReader();
+    private final RecordConverter trialConverter = new RecordConverter(reader, null);
+
+    @Test
+    void testPicksSameBranchAsTryingEveryBranch() throws IOException {
+        assertSameResult("{\"value\":null}");
+        assertSameResult("{\"value\":true}");
+        assertSameResult("{\"value\":7}");
+        assertSameResult("{\"value\":1.5}");
+        assertSameResult("{\"value\":\"text\"}");
+        assertSameResult("{\"value\":{\"x\":1.5,\"y\":2}}");
+        assertSameResult("{\"value\":{\"text\":\"hello\"}}");
+        assertSameResult("{\"value\":{\"text\":\"hello\",\"lang\":\"fr\"}}");
+        assertSameResult("{\"value\":[\"a\",\"b\"]}");
+        assertSameResult("{\"value\":{\"a\":1,\"b\":2}}");
+        assertSameResult("{\"value\":1,\"at\":\"2022-05-01T12:30:45Z\",\"price\":\"12.5\"}");
+        assertSameResult("{\"value\":1,\"at\":\"yesterday\",\"price\":3}");
+    }
+
+    @Test
+    void testReportsSameErrorAsTryingEveryBranch() throws IOException {
+        assertSameError("{\"value\":{\"x\":\"not a number\",\"y\":2}}");
+        assertSameError("{\"value\":{\"a\":\"b\"}}");
+        assertSameError("{\"value\":[1,{}]}");
+        assertSameError("{\"value\":1,\"price\":true}");
+    }
+
+    private void assertSameResult(String json) throws IOException {
+        Map<String, Object> value = read(json);
+        Assertions.assertEquals(trialConverter.convert(null, SCHEMA, value, new ArrayDeque<>(), false), reader.read(value, SCHEMA));
+    }
+
+    private void assertSameError(String json) throws IOException {
+        Map<String, Object> value = read(json);
+        AvroRuntimeException trial = Assertions.assertThrows(AvroRuntimeException.class,
+                () -> trialConverter.convert(null, SCHEMA, value, new ArrayDeque<>(), false));
+        AvroRuntimeException indexed = Assertions.assertThrows(AvroRuntimeException.class, () -> reader.read(value, SCHEMA));
+        Assertions.assertEquals(trial.getMessage(), indexed.getMessage());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> read(String json) throws IOException {
+        return mapper.readValue(json, Map.class);
+    }
+}
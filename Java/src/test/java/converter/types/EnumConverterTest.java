@@ -0,0 +1,32 @@
+package converter.types;
+
+import org.apache.avro.AvroTypeException;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.generic.GenericData;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+
+class EnumConverterTest {
+
+    private static final Schema STATUS = SchemaBuilder.enumeration("Status").namespace("test").symbols("NEW", "PAID", "SHIPPED");
+
+    @Test
+    void testSharesSymbolPerSchema() {
+        Object first = EnumConverter.INSTANCE.convert(null, STATUS, "PAID", new ArrayDeque<>(), false);
+        Object second = EnumConverter.INSTANCE.convert(null, STATUS, "PAID", new ArrayDeque<>(), false);
+
+        Assertions.assertEquals(new GenericData.EnumSymbol(STATUS, "PAID"), first);
+        Assertions.assertSame(first, second);
+    }
+
+    @Test
+    void testUnknownSymbolListsSymbols() {
+        AvroTypeException exception = Assertions.assertThrows(AvroTypeException.class,
+                () -> EnumConverter.INSTANCE.convert(null, STATUS, "LOST", new ArrayDeque<>(), false));
+
+        Assertions.assertEquals("Field is expected to be of enum type and be one of NEW, PAID, SHIPPED", exception.getMessage());
+    }
+}
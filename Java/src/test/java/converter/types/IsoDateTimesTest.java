@@ -0,0 +1,115 @@
+package converter.types;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+class IsoDateTimesTest {
+
+    private static final List<String> SHAPES = Arrays.asList(
+            "2022-05-01T12:30:45.123Z", "2022-05-01T12:30Z", "2022-05-01t12:30:45z", "2022-05-01T12:30:45+02:00",
+            "2022-05-01T12:30:45.123456789-05:30", "2022-05-01T12:30:45+01:02:03", "1969-12-31T23:59:59.9999Z",
+            "0000-01-01T00:00Z", "9999-12-31T23:59:59.999999999+18:00", "2024-02-29T00:00Z", "2022-05-01T12:30:45",
+            "2022-05-01", "2024-02-29");
+    private static final List<String> INVALID = Arrays.asList(
+            "2022-02-29T00:00Z", "2022-05-01T24:00Z", "2022-05-01T12:60Z", "2022-05-01T12:30:60Z", "2022-13-01",
+            "2022-05-01T12:30:45+18:01", "2022-05-01T12:30:45+0200", "2022-05-01T12:30:45.1234567891Z",
+            "2022-05-01T12:30:45.Z", "2022-05-01 12:30:45Z", "2022-5-01", "+2022-05-01", "");
+
+    @Test
+    void testMatchesJavaTime() {
+        List<String> values = new ArrayList<>(SHAPES);
+        values.addAll(INVALID);
+        Random random = new Random(1);
+        for (int i = 0; i < 10_000; i++) {
+            Instant instant = Instant.ofEpochSecond((long) ((random.nextDouble() * 2 - 1) * 1e11), random.nextInt(1_000_000_000));
+            OffsetDateTime dateTime = instant.atOffset(ZoneOffset.ofTotalSeconds((random.nextInt(37) - 18) * 1_800));
+            if (dateTime.getYear() >= 0 && dateTime.getYear() <= 9999) {
+                values.add(dateTime.toString());
+                values.add(dateTime.toLocalDateTime().toString());
+                values.add(dateTime.toLocalDate().toString());
+            }
+        }
+        for (String value : values) {
+            assertFastPathAgrees(millis(value), IsoDateTimes.epochMillis(value), value);
+            assertFastPathAgrees(micros(value), IsoDateTimes.epochMicros(value), value);
+            assertFastPathAgrees(localMillis(value), IsoDateTimes.localEpochMillis(value), value);
+            assertFastPathAgrees(epochDay(value), IsoDateTimes.epochDay(value), value);
+        }
+    }
+
+    @Test
+    void testCommonShapesTakeFastPath() {
+        Assertions.assertEquals(1_651_408_245_123L, IsoDateTimes.epochMillis("2022-05-01T12:30:45.123Z"));
+        Assertions.assertEquals(1_651_401_045_123_456L, IsoDateTimes.epochMicros("2022-05-01T12:30:45.123456+02:00"));
+        Assertions.assertEquals(1_651_408_245_000L, IsoDateTimes.localEpochMillis("2022-05-01T12:30:45"));
+        Assertions.assertEquals(19_113, IsoDateTimes.epochDay("2022-05-01"));
+        Assertions.assertEquals(-1, IsoDateTimes.epochMillis("1969-12-31T23:59:59.9999Z"));
+    }
+
+    @Test
+    void testLeavesOtherShapesToFormatter() {
+        for (String value : INVALID) {
+            Assertions.assertEquals(IsoDateTimes.NOT_PARSED, IsoDateTimes.epochMicros(value), value);
+            Assertions.assertEquals(IsoDateTimes.NOT_PARSED, IsoDateTimes.epochDay(value), value);
+        }
+        Assertions.assertEquals(IsoDateTimes.NOT_PARSED, IsoDateTimes.epochMillis("2022-05-01T12:30:45+02:00[Europe/Paris]"));
+        Assertions.assertEquals(IsoDateTimes.NOT_PARSED, IsoDateTimes.localEpochMillis("2022-05-01T12:30:45Z"));
+    }
+
+    /**
+     * the fast path may leave a value to the formatter, but whatever it parses must match it
+     */
+    private static void assertFastPathAgrees(Long expected, long actual, String value) {
+        if (actual != IsoDateTimes.NOT_PARSED) {
+            Assertions.assertEquals(expected, actual, value);
+        }
+    }
+
+    private static Long millis(String value) {
+        try {
+            TemporalAccessor dateTime = DateTimeFormatter.ISO_DATE_TIME.parse(value);
+            return dateTime.getLong(ChronoField.INSTANT_SECONDS) * 1_000 + dateTime.getLong(ChronoField.NANO_OF_SECOND) / 1_000_000;
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    private static Long micros(String value) {
+        try {
+            TemporalAccessor dateTime = DateTimeFormatter.ISO_DATE_TIME.parse(value);
+            return dateTime.getLong(ChronoField.INSTANT_SECONDS) * 1_000_000 + dateTime.getLong(ChronoField.NANO_OF_SECOND) / 1_000;
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    private static Long localMillis(String value) {
+        try {
+            return LocalDateTime.parse(value).toInstant(ZoneOffset.UTC).toEpochMilli();
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    private static Long epochDay(String value) {
+        try {
+            return LocalDate.parse(value).toEpochDay();
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package converter.types;
+
+import converter.JsonAvroConverter;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.EncoderFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+class PrimitiveArraysTest {
+
+    private static final Schema INTS = SchemaBuilder.array().items().intType();
+    private static final Schema SCHEMA = new Schema.Parser().parse("{"
+            + "\"type\":\"record\",\"name\":\"Samples\",\"namespace\":\"test\",\"fields\":["
+            + "{\"name\":\"ints\",\"type\":{\"type\":\"array\",\"items\":\"int\"}},"
+            + "{\"name\":\"longs\",\"type\":{\"type\":\"array\",\"items\":\"long\"}},"
+            + "{\"name\":\"floats\",\"type\":{\"type\":\"array\",\"items\":\"float\"}},"
+            + "{\"name\":\"doubles\",\"type\":{\"type\":\"array\",\"items\":\"double\"}},"
+            + "{\"name\":\"flags\",\"type\":{\"type\":\"array\",\"items\":\"boolean\"}},"
+            + "{\"name\":\"days\",\"type\":{\"type\":\"array\",\"items\":{\"type\":\"int\",\"logicalType\":\"date\"}}}"
+            + "]}");
+
+    @Test
+    void testBehavesLikeGenericArray() {
+        GenericData.Array<Object> primitive = PrimitiveArrays.newArray(1, INTS);
+        GenericData.Array<Object> boxed = new GenericData.Array<>(1, INTS);
+        for (GenericData.Array<Object> array : Arrays.asList(primitive, boxed)) {
+            for (int i = 0; i < 12; i++) {
+                array.add(i);
+            }
+            array.add(3, -3);
+            array.remove(0);
+            array.set(5, 50);
+            array.reverse();
+        }
+
+        Assertions.assertTrue((Object) primitive instanceof PrimitiveArrays.IntArray);
+        Assertions.assertEquals(boxed, primitive);
+        Assertions.assertEquals(boxed.hashCode(), primitive.hashCode());
+        Assertions.assertEquals(boxed.toString(), primitive.toString());
+        Assertions.assertEquals(boxed.get(4), ((PrimitiveArrays.IntArray) (Object) primitive).getInt(4));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> primitive.get(primitive.size()));
+    }
+
+    @Test
+    void testEncodesLikeBoxedElements() throws IOException {
+        String json = "{\"ints\":[1,-2,300000],\"longs\":[5000000000,-1],\"floats\":[1.5,-0.25],"
+                + "\"doubles\":[3.25,1e300],\"flags\":[true,false,true],\"days\":[\"2022-05-01\",19113]}";
+        JsonAvroConverter converter = new JsonAvroConverter();
+        byte[] data = json.getBytes(StandardCharsets.UTF_8);
+
+        GenericData.Record record = converter.convertToGenericDataRecord(data, SCHEMA);
+
+        Assertions.assertTrue(record.get("ints") instanceof PrimitiveArrays.IntArray);
+        Assertions.assertTrue(record.get("longs") instanceof PrimitiveArrays.LongArray);
+        Assertions.assertTrue(record.get("floats") instanceof PrimitiveArrays.FloatArray);
+        Assertions.assertTrue(record.get("doubles") instanceof PrimitiveArrays.DoubleArray);
+        Assertions.assertTrue(record.get("flags") instanceof PrimitiveArrays.BooleanArray);
+        Assertions.assertTrue(record.get("days") instanceof PrimitiveArrays.IntArray);
+        Assertions.assertArrayEquals(encodeBoxed(record), converter.convertToAvro(data, SCHEMA));
+    }
+
+    private static byte[] encodeBoxed(GenericData.Record record) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryEncoder encoder = EncoderFactory.get().binaryEncoder(out, null);
+        new GenericDatumWriter<>(SCHEMA).write(record, encoder);
+        encoder.flush();
+        return out.toByteArray();
+    }
+}
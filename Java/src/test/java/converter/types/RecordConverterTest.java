@@ -0,0 +1,90 @@
+package converter.types;
+
+import converter.CompositeJsonToAvroReader;
+import org.apache.avro.AvroRuntimeException;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecordBuilder;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+class RecordConverterTest {
+
+    private static final Schema SCHEMA = new Schema.Parser().parse("{"
+            + "\"type\":\"record\",\"name\":\"Defaults\",\"namespace\":\"test\",\"fields\":["
+            + "{\"name\":\"id\",\"type\":\"string\"},"
+            + "{\"name\":\"count\",\"type\":\"int\",\"default\":3},"
+            + "{\"name\":\"label\",\"type\":\"string\",\"default\":\"none\"},"
+            + "{\"name\":\"status\",\"type\":{\"type\":\"enum\",\"name\":\"Status\",\"symbols\":[\"NEW\",\"DONE\"]},\"default\":\"NEW\"},"
+            + "{\"name\":\"tags\",\"type\":{\"type\":\"array\",\"items\":\"string\"},\"default\":[\"a\"]},"
+            + "{\"name\":\"attributes\",\"type\":{\"type\":\"map\",\"values\":\"long\"},\"default\":{}},"
+            + "{\"name\":\"note\",\"type\":[\"null\",\"string\"],\"default\":null},"
+            + "{\"name\":\"origin\",\"type\":{\"type\":\"record\",\"name\":\"Origin\",\"fields\":[{\"name\":\"zone\",\"type\":\"string\",\"default\":\"eu\"}]},"
+            + "\"default\":{\"zone\":\"us\"}}"
+            + "]}");
+    private static final int WIDE_FIELDS = 150;
+
+    private final CompositeJsonToAvroReader reader = new CompositeJsonToAvroReader();
+
+    @Test
+    void testFillsDefaultsLikeGenericRecordBuilder() {
+        Map<String, Object> json = new HashMap<>();
+        json.put("label", "set");
+        json.put("id", "r-1");
+
+        GenericData.Record expected = new GenericRecordBuilder(SCHEMA).set("id", "r-1").set("label", "set").build();
+        Assertions.assertEquals(expected, reader.read(json, SCHEMA));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testDoesNotShareMutableDefaults() {
+        Map<String, Object> json = Collections.singletonMap("id", "r-1");
+
+        GenericData.Record first = reader.read(json, SCHEMA);
+        ((List<Object>) first.get("tags")).add("b");
+        ((GenericData.Record) first.get("origin")).put("zone", "ap");
+        GenericData.Record second = reader.read(json, SCHEMA);
+
+        Assertions.assertEquals(new GenericRecordBuilder(SCHEMA).set("id", "r-1").build(), second);
+    }
+
+    @Test
+    void testReportsMissingFieldLikeGenericRecordBuilder() {
+        Map<String, Object> json = Collections.singletonMap("count", 1);
+
+        AvroRuntimeException builder = Assertions.assertThrows(AvroRuntimeException.class,
+                () -> new GenericRecordBuilder(SCHEMA).set("count", 1).build());
+        AvroRuntimeException converter = Assertions.assertThrows(AvroRuntimeException.class, () -> reader.read(json, SCHEMA));
+        Assertions.assertEquals(builder.getClass(), converter.getClass());
+        Assertions.assertEquals(builder.getMessage(), converter.getMessage());
+    }
+
+    @Test
+    void testTracksFieldsBeyondTheFirstWord() {
+        SchemaBuilder.FieldAssembler<Schema> fields = SchemaBuilder.record("Wide").namespace("test").fields();
+        for (int i = 0; i < WIDE_FIELDS; i++) {
+            fields = i % 50 == 49 ? fields.requiredInt("f" + i) : fields.name("f" + i).type().intType().intDefault(i);
+        }
+        Schema wide = fields.endRecord();
+        Map<String, Object> json = new HashMap<>();
+        json.put("f49", -49);
+        json.put("f99", -99);
+        json.put("f70", -70);
+
+        AvroRuntimeException missing = Assertions.assertThrows(AvroRuntimeException.class, () -> reader.read(json, wide));
+        Assertions.assertTrue(missing.getMessage().startsWith("Field f149 "), missing::getMessage);
+
+        json.put("f149", -149);
+        GenericData.Record record = reader.read(json, wide);
+        for (int i = 0; i < WIDE_FIELDS; i++) {
+            Assertions.assertEquals(json.containsKey("f" + i) ? -i : i, record.get(i), "f" + i);
+        }
+    }
+}